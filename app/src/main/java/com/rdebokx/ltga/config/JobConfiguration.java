@@ -12,6 +12,8 @@ public class JobConfiguration {
     public final GeneticConfiguration GENETIC_CONFIG;
     public final ExecutionConfiguration EXECUTION_CONFIG;
     public final ProblemConfiguration PROBLEM_CONFIG;
+    public final LearningConfiguration LEARNING_CONFIG;
+    public final ParallelConfiguration PARALLEL_CONFIG;
 
     /**
      * Constructor for the JobConfiguration object, being a wrapper object for a Genetic, Execution and Problem configuration object.
@@ -20,9 +22,37 @@ public class JobConfiguration {
      * @param problemConfig The problem configuration for the job.
      */
     public JobConfiguration(GeneticConfiguration genConfig, ExecutionConfiguration execConfig, ProblemConfiguration problemConfig){
+        this(genConfig, execConfig, problemConfig, LearningConfiguration.DEFAULT);
+    }
+    
+    /**
+     * Constructor for the JobConfiguration object, being a wrapper object for a Genetic, Execution, Problem and Learning configuration object.
+     * @param genConfig The generic configuration for the job.
+     * @param execConfig The execution configuration for the job.
+     * @param problemConfig The problem configuration for the job.
+     * @param learningConfig The configuration for learning the linkage models of the job.
+     */
+    public JobConfiguration(GeneticConfiguration genConfig, ExecutionConfiguration execConfig, ProblemConfiguration problemConfig,
+            LearningConfiguration learningConfig){
+        this(genConfig, execConfig, problemConfig, learningConfig, ParallelConfiguration.DEFAULT);
+    }
+    
+    /**
+     * Constructor for the JobConfiguration object, being a wrapper object for a Genetic, Execution, Problem, Learning and
+     * Parallel configuration object.
+     * @param genConfig The generic configuration for the job.
+     * @param execConfig The execution configuration for the job.
+     * @param problemConfig The problem configuration for the job.
+     * @param learningConfig The configuration for learning the linkage models of the job.
+     * @param parallelConfig The configuration for executing the job in parallel.
+     */
+    public JobConfiguration(GeneticConfiguration genConfig, ExecutionConfiguration execConfig, ProblemConfiguration problemConfig,
+            LearningConfiguration learningConfig, ParallelConfiguration parallelConfig){
         GENETIC_CONFIG = genConfig;
         EXECUTION_CONFIG = execConfig;
         PROBLEM_CONFIG = problemConfig;
+        LEARNING_CONFIG = learningConfig;
+        PARALLEL_CONFIG = parallelConfig;
     }
     
     /**
@@ -34,7 +64,20 @@ public class JobConfiguration {
     public JobConfiguration copyForPopSize(int popSize){
         GeneticConfiguration newGenConfig = new GeneticConfiguration(popSize, 
                 GENETIC_CONFIG.TOURNAMENT_SIZE, popSize, GENETIC_CONFIG.NUMBER_OF_PARAMETERS);
-        return new JobConfiguration(newGenConfig, EXECUTION_CONFIG, PROBLEM_CONFIG);
+        return new JobConfiguration(newGenConfig, EXECUTION_CONFIG, PROBLEM_CONFIG, LEARNING_CONFIG, PARALLEL_CONFIG);
+    }
+    
+    /**
+     * This function returns a new JobConfiguration object which is a copy of this configuration object, however
+     * it has a new ExecutionConfiguration in which the amount of threads was set to the given value.
+     * @param threads The value to which the amount of threads in the new JobConfig object has to be set.
+     * @return The new JobConfiguration object.
+     */
+    public JobConfiguration copyForThreads(int threads){
+        ExecutionConfiguration newExecConfig = new ExecutionConfiguration(threads, EXECUTION_CONFIG.MAX_NO_IMPROVEMENT_STRETCH, 
+                EXECUTION_CONFIG.MAX_NUMBER_OF_EVALUATIONS, EXECUTION_CONFIG.USE_VALUE_TO_REACH, EXECUTION_CONFIG.VALUE_TO_REACH, 
+                EXECUTION_CONFIG.FITNESS_VARIANCE_TOLERANCE, EXECUTION_CONFIG.TERMINATION_TIME);
+        return new JobConfiguration(GENETIC_CONFIG, newExecConfig, PROBLEM_CONFIG, LEARNING_CONFIG, PARALLEL_CONFIG);
     }
     
     @Override
@@ -42,6 +85,9 @@ public class JobConfiguration {
         String genString = GENETIC_CONFIG.toString().replace("\n", "\n\t");
         String execString = EXECUTION_CONFIG.toString().replace("\n", "\n\t");
         String problemString = PROBLEM_CONFIG.toString().replace("\n", "\n\t");
-        return "Genetic Config:\n\t" + genString + "\nExecution Config:\n\t" + execString + "\nProblem Config:\n\t" + problemString;
+        String learningString = LEARNING_CONFIG.toString().replace("\n", "\n\t");
+        String parallelString = PARALLEL_CONFIG.toString().replace("\n", "\n\t");
+        return "Genetic Config:\n\t" + genString + "\nExecution Config:\n\t" + execString + "\nProblem Config:\n\t" + problemString +
+                "\nLearning Config:\n\t" + learningString + "\nParallel Config:\n\t" + parallelString;
     }
 }
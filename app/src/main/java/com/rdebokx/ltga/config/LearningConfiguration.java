@@ -0,0 +1,143 @@
+package com.rdebokx.ltga.config;
+
+import com.rdebokx.ltga.shared.MIMatrix;
+
+/**
+ * 
+ * @author Rdebokx
+ *
+ */
+public class LearningConfiguration {
+
+    /**
+     * The configuration that is used when no LearningConfiguration is provided, which stores the full MIMatrix.
+     */
+    public static final LearningConfiguration DEFAULT = new LearningConfiguration(MIMatrix.Storage.FULL);
+
+    /**
+     * The ways in which the pairwise statistics, from which the MIMatrix is computed, are obtained every generation.
+     * REBUILD counts the joint frequencies over the whole population every generation.
+     * INCREMENTAL keeps the joint frequencies alive across generations and updates them from the bits in which every
+     * offspring differs from its parent.
+     * VERIFIED_INCREMENTAL updates the joint frequencies incrementally and checks them against a full count every
+     * generation, which is only meant for testing.
+     */
+    public enum LinkageStatistics {
+        REBUILD, INCREMENTAL, VERIFIED_INCREMENTAL
+    }
+
+    /**
+     * The ways in which the drift of the population since the linkage model was learned can be measured.
+     * UNIVARIATE_FREQUENCY measures the largest change in the frequency of value 1 of any parameter.
+     * CHANGED_INDIVIDUALS measures the fraction of individuals that differ from the individual at the same position.
+     */
+    public enum DriftMeasure {
+        UNIVARIATE_FREQUENCY, CHANGED_INDIVIDUALS
+    }
+
+    /**
+     * The drift threshold that indicates that a new linkage model has to be learned every generation.
+     */
+    public static final double NO_REUSE = 0;
+
+    /**
+     * The error bound that indicates that the MIMatrix has to be computed from every individual of the population.
+     */
+    public static final double NO_SAMPLING = 0;
+
+    /**
+     * The amount of partners per parameter that indicates that the linkage tree has to be learned from the full MIMatrix.
+     */
+    public static final int FULL_MATRIX = 0;
+
+    public final MIMatrix.Storage MATRIX_STORAGE;
+    public final LinkageStatistics LINKAGE_STATISTICS;
+    public final DriftMeasure DRIFT_MEASURE;
+    public final double DRIFT_THRESHOLD;
+    public final int MAX_MODEL_AGE;
+    public final double SAMPLING_ERROR;
+    public final int SPARSE_PARTNERS;
+
+    /**
+     * Constructor, constructing a Learning Configuration object based on the given parameters, which rebuilds the
+     * pairwise statistics every generation.
+     * @param matrixStorage The way in which the MIMatrix has to be stored while learning a linkage model. The packed
+     * storages should be used for long genomes, for which the full matrix does not fit in memory.
+     */
+    public LearningConfiguration(MIMatrix.Storage matrixStorage){
+        this(matrixStorage, LinkageStatistics.REBUILD);
+    }
+
+    /**
+     * Constructor, constructing a Learning Configuration object based on the given parameters.
+     * @param matrixStorage The way in which the MIMatrix has to be stored while learning a linkage model.
+     * @param linkageStatistics The way in which the pairwise statistics are obtained every generation. Incremental
+     * statistics pay off in later generations, in which only a small fraction of the bits changes.
+     */
+    public LearningConfiguration(MIMatrix.Storage matrixStorage, LinkageStatistics linkageStatistics){
+        this(matrixStorage, linkageStatistics, DriftMeasure.UNIVARIATE_FREQUENCY, NO_REUSE, 1);
+    }
+
+    /**
+     * Constructor, constructing a Learning Configuration object based on the given parameters.
+     * @param matrixStorage The way in which the MIMatrix has to be stored while learning a linkage model.
+     * @param linkageStatistics The way in which the pairwise statistics are obtained every generation.
+     * @param driftMeasure The way in which the drift of the population since the linkage model was learned is measured.
+     * @param driftThreshold The drift below which the previous linkage model is reused instead of learning a new one, or
+     * NO_REUSE. Reusing the model pays off near convergence, where the population barely moves between generations.
+     * @param maxModelAge The maximum amount of generations for which a linkage model is used, after which a new model is
+     * learned regardless of the drift.
+     */
+    public LearningConfiguration(MIMatrix.Storage matrixStorage, LinkageStatistics linkageStatistics, DriftMeasure driftMeasure,
+            double driftThreshold, int maxModelAge){
+        this(matrixStorage, linkageStatistics, driftMeasure, driftThreshold, maxModelAge, NO_SAMPLING);
+    }
+
+    /**
+     * Constructor, constructing a Learning Configuration object based on the given parameters.
+     * @param matrixStorage The way in which the MIMatrix has to be stored while learning a linkage model.
+     * @param linkageStatistics The way in which the pairwise statistics are obtained every generation.
+     * @param driftMeasure The way in which the drift of the population since the linkage model was learned is measured.
+     * @param driftThreshold The drift below which the previous linkage model is reused instead of learning a new one, or NO_REUSE.
+     * @param maxModelAge The maximum amount of generations for which a linkage model is used.
+     * @param samplingError The bound on the error of the estimated pairwise frequencies when the MIMatrix is computed from
+     * a random sample of the population, or NO_SAMPLING. The sample size follows from this bound and the number of
+     * parameters, independent of the population size, see BitColumns.getSampleSize. Only used when the pairwise
+     * statistics are rebuilt every generation.
+     */
+    public LearningConfiguration(MIMatrix.Storage matrixStorage, LinkageStatistics linkageStatistics, DriftMeasure driftMeasure,
+            double driftThreshold, int maxModelAge, double samplingError){
+        this(matrixStorage, linkageStatistics, driftMeasure, driftThreshold, maxModelAge, samplingError, FULL_MATRIX);
+    }
+
+    /**
+     * Constructor, constructing a Learning Configuration object based on the given parameters.
+     * @param matrixStorage The way in which the MIMatrix has to be stored while learning a linkage model.
+     * @param linkageStatistics The way in which the pairwise statistics are obtained every generation.
+     * @param driftMeasure The way in which the drift of the population since the linkage model was learned is measured.
+     * @param driftThreshold The drift below which the previous linkage model is reused instead of learning a new one, or NO_REUSE.
+     * @param maxModelAge The maximum amount of generations for which a linkage model is used.
+     * @param samplingError The bound on the error of the estimated pairwise frequencies when the MIMatrix is computed from
+     * a random sample of the population, or NO_SAMPLING.
+     * @param sparsePartners The amount of most dependent partners that is kept per parameter when a SparseLinkageTree is
+     * learned instead of a linkage tree on the full MIMatrix, or FULL_MATRIX. The matrix storage and the linkage
+     * statistics do not apply to a SparseLinkageTree.
+     */
+    public LearningConfiguration(MIMatrix.Storage matrixStorage, LinkageStatistics linkageStatistics, DriftMeasure driftMeasure,
+            double driftThreshold, int maxModelAge, double samplingError, int sparsePartners){
+        MATRIX_STORAGE = matrixStorage;
+        LINKAGE_STATISTICS = linkageStatistics;
+        DRIFT_MEASURE = driftMeasure;
+        DRIFT_THRESHOLD = driftThreshold;
+        MAX_MODEL_AGE = maxModelAge;
+        SAMPLING_ERROR = samplingError;
+        SPARSE_PARTNERS = sparsePartners;
+    }
+
+    @Override
+    public String toString(){
+        return "MatrixStorage: " + MATRIX_STORAGE + "\nLinkageStatistics: " + LINKAGE_STATISTICS + "\nDriftMeasure: " + DRIFT_MEASURE
+                + "\nDriftThreshold: " + DRIFT_THRESHOLD + "\nMaxModelAge: " + MAX_MODEL_AGE + "\nSamplingError: " + SAMPLING_ERROR
+                + "\nSparsePartners: " + SPARSE_PARTNERS;
+    }
+}
@@ -0,0 +1,176 @@
+package com.rdebokx.ltga.config;
+
+/**
+ *
+ * @author Rdebokx
+ *
+ */
+public class ParallelConfiguration {
+
+    /**
+     * The ways in which the perfect parallel engine can execute a job.
+     * GENERATIONAL creates a complete offspring population every generation, learning a new linkage model in between.
+     * STEADY_STATE lets the workers continuously replace solutions in place, while the linkage model is relearned in the
+     * background on a snapshot of the population.
+     * SPECULATIVE executes the job generationally, but mixes the solutions one after another, while evaluating the
+     * crossovers of several upcoming FOS elements of a solution concurrently. Suited for populations that are smaller
+     * than the amount of threads, hence populations of at least the amount of threads are mixed as in GENERATIONAL. The
+     * results are identical to GENERATIONAL.
+     */
+    public enum Mode {
+        GENERATIONAL, STEADY_STATE, SPECULATIVE
+    }
+
+    /**
+     * The topologies along which the islands of the embarrassingly parallel engine can exchange migrants.
+     * ISOLATED lets every island run on its own, RING sends the migrants of an island to the next island, RANDOM sends
+     * them to a randomly chosen other island every migration and FULL sends them to all other islands.
+     */
+    public enum Topology {
+        ISOLATED, RING, RANDOM, FULL
+    }
+
+    /**
+     * The ways in which the migrants of an island are selected. BEST selects the best solutions of the island, RANDOM
+     * selects randomly chosen solutions.
+     */
+    public enum MigrantSelection {
+        BEST, RANDOM
+    }
+
+    /**
+     * The ways in which the dynamic engines continue with a larger population when they run their population sizes one
+     * after another. RESTART initializes the larger population randomly, IN_PLACE carries over the solutions of the
+     * previous population, together with their objective values, and only initializes the added solutions randomly.
+     */
+    public enum PopulationGrowth {
+        RESTART, IN_PLACE
+    }
+
+    /**
+     * The number of populations that indicates that the hybrid engine has to determine the split of its threads itself.
+     */
+    public static final int AUTO_SPLIT = 0;
+
+    /**
+     * The interleaving ratio that indicates that the dynamic engines have to run their population sizes one after another.
+     */
+    public static final int NO_INTERLEAVING = 0;
+
+    /**
+     * The configuration that is used when no ParallelConfiguration is provided, which executes the job generationally,
+     * lets the islands run in isolation, lets the hybrid engine determine its split automatically and lets the dynamic
+     * engines run their population sizes one after another, restarting for every population size.
+     */
+    public static final ParallelConfiguration DEFAULT = new ParallelConfiguration(Mode.GENERATIONAL);
+
+    public final Mode MODE;
+    public final Topology TOPOLOGY;
+    public final int MIGRATION_INTERVAL;
+    public final int NUMBER_OF_MIGRANTS;
+    public final MigrantSelection MIGRANT_SELECTION;
+    public final int NUMBER_OF_POPULATIONS;
+    public final int INTERLEAVING_RATIO;
+    public final PopulationGrowth POPULATION_GROWTH;
+
+    /**
+     * Constructor, constructing a Parallel Configuration object based on the given parameters. The islands of the
+     * embarrassingly parallel engine run in isolation.
+     * @param mode The way in which the perfect parallel engine has to execute the job.
+     */
+    public ParallelConfiguration(Mode mode){
+        this(mode, Topology.ISOLATED, 0, 0, MigrantSelection.BEST);
+    }
+
+    /**
+     * Constructor, constructing a Parallel Configuration object based on the given parameters. The islands of the
+     * embarrassingly parallel engine run in isolation.
+     * @param mode The way in which the perfect parallel engine has to execute the job.
+     * @param numberOfPopulations The number of populations that the hybrid engine runs concurrently, each of them being
+     * parallelized over an equal share of the threads, or AUTO_SPLIT.
+     */
+    public ParallelConfiguration(Mode mode, int numberOfPopulations){
+        this(mode, Topology.ISOLATED, 0, 0, MigrantSelection.BEST, numberOfPopulations);
+    }
+
+    /**
+     * Constructor, constructing a Parallel Configuration object based on the given parameters.
+     * @param mode The way in which the perfect parallel engine has to execute the job.
+     * @param topology The topology along which the islands of the embarrassingly parallel engine exchange migrants.
+     * @param migrationInterval The number of generations between two migrations of an island.
+     * @param numberOfMigrants The number of solutions that an island sends to each of its neighbours per migration.
+     * @param migrantSelection The way in which the migrants of an island are selected.
+     */
+    public ParallelConfiguration(Mode mode, Topology topology, int migrationInterval, int numberOfMigrants, MigrantSelection migrantSelection){
+        this(mode, topology, migrationInterval, numberOfMigrants, migrantSelection, AUTO_SPLIT);
+    }
+
+    /**
+     * Constructor, constructing a Parallel Configuration object based on the given parameters.
+     * @param mode The way in which the perfect parallel engine has to execute the job.
+     * @param topology The topology along which the islands of the embarrassingly parallel engine exchange migrants.
+     * @param migrationInterval The number of generations between two migrations of an island.
+     * @param numberOfMigrants The number of solutions that an island sends to each of its neighbours per migration.
+     * @param migrantSelection The way in which the migrants of an island are selected.
+     * @param numberOfPopulations The number of populations that the hybrid engine runs concurrently, each of them being
+     * parallelized over an equal share of the threads, or AUTO_SPLIT.
+     */
+    public ParallelConfiguration(Mode mode, Topology topology, int migrationInterval, int numberOfMigrants, MigrantSelection migrantSelection,
+            int numberOfPopulations){
+        this(mode, topology, migrationInterval, numberOfMigrants, migrantSelection, numberOfPopulations, NO_INTERLEAVING);
+    }
+
+    /**
+     * Constructor, constructing a Parallel Configuration object based on the given parameters.
+     * @param mode The way in which the perfect parallel engine has to execute the job.
+     * @param topology The topology along which the islands of the embarrassingly parallel engine exchange migrants.
+     * @param migrationInterval The number of generations between two migrations of an island.
+     * @param numberOfMigrants The number of solutions that an island sends to each of its neighbours per migration.
+     * @param migrantSelection The way in which the migrants of an island are selected.
+     * @param numberOfPopulations The number of populations that the hybrid engine runs concurrently, each of them being
+     * parallelized over an equal share of the threads, or AUTO_SPLIT.
+     * @param interleavingRatio The amount of generations that the dynamic engines execute for a population size for every
+     * generation of the next, twice as large, population size, which are run concurrently. NO_INTERLEAVING runs the
+     * population sizes one after another.
+     */
+    public ParallelConfiguration(Mode mode, Topology topology, int migrationInterval, int numberOfMigrants, MigrantSelection migrantSelection,
+            int numberOfPopulations, int interleavingRatio){
+        this(mode, topology, migrationInterval, numberOfMigrants, migrantSelection, numberOfPopulations, interleavingRatio, PopulationGrowth.RESTART);
+    }
+
+    /**
+     * Constructor, constructing a Parallel Configuration object based on the given parameters.
+     * @param mode The way in which the perfect parallel engine has to execute the job.
+     * @param topology The topology along which the islands of the embarrassingly parallel engine exchange migrants.
+     * @param migrationInterval The number of generations between two migrations of an island.
+     * @param numberOfMigrants The number of solutions that an island sends to each of its neighbours per migration.
+     * @param migrantSelection The way in which the migrants of an island are selected.
+     * @param numberOfPopulations The number of populations that the hybrid engine runs concurrently, each of them being
+     * parallelized over an equal share of the threads, or AUTO_SPLIT.
+     * @param interleavingRatio The amount of generations that the dynamic engines execute for a population size for every
+     * generation of the next, twice as large, population size, which are run concurrently. NO_INTERLEAVING runs the
+     * population sizes one after another.
+     * @param populationGrowth The way in which the dynamic engines continue with a larger population when they run their
+     * population sizes one after another.
+     */
+    public ParallelConfiguration(Mode mode, Topology topology, int migrationInterval, int numberOfMigrants, MigrantSelection migrantSelection,
+            int numberOfPopulations, int interleavingRatio, PopulationGrowth populationGrowth){
+        MODE = mode;
+        TOPOLOGY = topology;
+        MIGRATION_INTERVAL = migrationInterval;
+        NUMBER_OF_MIGRANTS = numberOfMigrants;
+        MIGRANT_SELECTION = migrantSelection;
+        NUMBER_OF_POPULATIONS = numberOfPopulations;
+        INTERLEAVING_RATIO = interleavingRatio;
+        POPULATION_GROWTH = populationGrowth;
+    }
+
+    @Override
+    public String toString(){
+        return "Mode: " + MODE + "\nTopology: " + TOPOLOGY + "\nMigration interval: " + MIGRATION_INTERVAL
+                + "\nNumber of migrants: " + NUMBER_OF_MIGRANTS + "\nMigrant selection: " + MIGRANT_SELECTION
+                + "\nNumber of populations: " + (NUMBER_OF_POPULATIONS == AUTO_SPLIT ? "auto" : NUMBER_OF_POPULATIONS)
+                + "\nInterleaving ratio: " + (INTERLEAVING_RATIO == NO_INTERLEAVING ? "none" : INTERLEAVING_RATIO)
+                + "\nPopulation growth: " + POPULATION_GROWTH;
+    }
+}
@@ -1,5 +1,6 @@
 package com.rdebokx.ltga.config.problems;
 
+import com.rdebokx.ltga.shared.CompiledUniformEvaluationFunction;
 import com.rdebokx.ltga.shared.Problem;
 import com.rdebokx.ltga.shared.Solution;
 import com.rdebokx.ltga.shared.UniformEvaluationFunction;
@@ -12,6 +13,7 @@ public class InstancesConfiguration extends ProblemConfiguration {
     public final boolean[] OPTIMAL_SOLUTION;
     public final double OPTIMAL_VALUE;
     public final UniformEvaluationFunction[] SUB_FUNCTIONS;
+    public final CompiledUniformEvaluationFunction COMPILED_FUNCTION;
     
     /**
      * Constructor, constructing an NKLandscapeConfiguration object containing the configuration for an NK_LANDSCAPE problem.
@@ -20,7 +22,7 @@ public class InstancesConfiguration extends ProblemConfiguration {
      * @param numberOfSubfunctions The number of sub-functions.
      * @param optimalSolution The optimal solution for this problem.
      * @param optimalValue The objective value of the optimal solution for this problem.
-     * @param subFunctions The lookup table that represents the sub-functions for this problem.
+     * @param subFunctions The lookup table that represents the sub-functions for this problem. These are also compiled into a single function.
      */
     public InstancesConfiguration(Problem problem, String fileName, int k, int numberOfSubfunctions, boolean[] optimalSolution, double optimalValue, UniformEvaluationFunction[] subFunctions){
         super(problem);
@@ -30,6 +32,7 @@ public class InstancesConfiguration extends ProblemConfiguration {
         OPTIMAL_SOLUTION = optimalSolution;
         OPTIMAL_VALUE = optimalValue;
         SUB_FUNCTIONS = subFunctions;
+        COMPILED_FUNCTION = subFunctions == null ? null : new CompiledUniformEvaluationFunction(subFunctions);
     }
     
     @Override
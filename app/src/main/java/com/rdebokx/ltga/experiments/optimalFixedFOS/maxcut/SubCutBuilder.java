@@ -222,7 +222,7 @@ public class SubCutBuilder {
         ParameterSet cut2 = new ParameterSet(cut2set1, cut2set2);
         for(Integer vertex1 : cut1){
             for(Integer vertex2 : cut2){
-                result += config.WEIGHTS_FUNCTION.getWeights()[vertex1][vertex2];
+                result += config.WEIGHTS_FUNCTION.getWeight(vertex1, vertex2);
             }
         }
         
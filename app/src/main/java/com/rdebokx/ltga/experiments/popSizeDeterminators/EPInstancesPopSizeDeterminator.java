@@ -43,7 +43,7 @@ public class EPInstancesPopSizeDeterminator extends PopSizeDeterminator{
             setPopSizes(popSizes[4]);
             
             
-            int[] evaluations = getEvaluationsStatistics();
+            long[] evaluations = getEvaluationsStatistics();
             Arrays.sort(evaluations);
             SequentialPopSizeDeterminator.printStatistics("EPInstancesPopSizeDeterminator", configs[0], popSizes, evaluations);
         } else {
@@ -198,8 +198,8 @@ public class EPInstancesPopSizeDeterminator extends PopSizeDeterminator{
      * This function returns the evaluation statistics for 100 runs with the current configuration.
      * @return The array of evaluations performed in the 100 runs.
      */
-    private static int[] getEvaluationsStatistics(){
-        int[] evaluations = new int[runs];
+    private static long[] getEvaluationsStatistics(){
+        long[] evaluations = new long[runs];
         for(int i = 0; i < runs; i++){
         	System.out.println("Running run " + i + " for gathering evaluations statistics.");
             EPJobRunner runner = new EPJobRunner(configs[i], false);
@@ -34,7 +34,7 @@ public class EPMaxCutPopSizeDeterminator extends PopSizeDeterminator {
         loadJobConfiguration(args);
         if(configs[0] != null){
             int[][] popSizes = new int[INSTANCES][SEARCHES];
-            int[][] evaluations = new int[INSTANCES][SEARCHES];
+            long[][] evaluations = new long[INSTANCES][SEARCHES];
             for(int i = 0; i < INSTANCES; i++){
                 System.out.println("Investigating for instance " + i);
                 for(int j = 0; j < SEARCHES; j++){
@@ -182,8 +182,8 @@ public class EPMaxCutPopSizeDeterminator extends PopSizeDeterminator {
      * @param config The configuration for which evaluation statistics have to be gathered.
      * @return The array with evaluations made in the 100 runs.
      */
-    private static int[] getEvaluationsStatistics(JobConfiguration config){
-        int[] evaluations = new int[RUNS];
+    private static long[] getEvaluationsStatistics(JobConfiguration config){
+        long[] evaluations = new long[RUNS];
         for(int i = 0; i < RUNS; i++){
             EPJobRunner runner = new EPJobRunner(config, false);
             runner.run();
@@ -198,7 +198,7 @@ public class EPMaxCutPopSizeDeterminator extends PopSizeDeterminator {
      * @param evaluations The sorted array containing the evaluation statistics.
      * @param delimiter The delimiter that should be used to separate values in the output.
      */
-    public static void printStatistics(int[] popSizes, int[] evaluations, String delimiter){
+    public static void printStatistics(int[] popSizes, long[] evaluations, String delimiter){
         //Pop size statistics
         int popSum = 0;
         for(int value : popSizes){
@@ -42,7 +42,7 @@ public class EPPopSizeDeterminator extends PopSizeDeterminator{
             
             Arrays.sort(popSizes);
             config = config.copyForPopSize(popSizes[4]);
-            int[] evaluations = getEvaluationsStatistics(config);
+            long[] evaluations = getEvaluationsStatistics(config);
             Arrays.sort(evaluations);
             
             SequentialPopSizeDeterminator.printStatistics("EPPopSizeDeterminator", config, popSizes, evaluations);
@@ -183,8 +183,8 @@ public class EPPopSizeDeterminator extends PopSizeDeterminator{
      * @param config The configuration for which evaluation statistics have to be gathered.
      * @return The array with evaluations made for the 100 runs.
      */
-    private static int[] getEvaluationsStatistics(JobConfiguration config){
-        int[] evaluations = new int[RUNS];
+    private static long[] getEvaluationsStatistics(JobConfiguration config){
+        long[] evaluations = new long[RUNS];
         for(int i = 0; i < RUNS; i++){
             EPJobRunner runner = new EPJobRunner(config, false);
             runner.run();
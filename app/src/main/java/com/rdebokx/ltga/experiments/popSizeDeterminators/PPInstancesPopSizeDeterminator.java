@@ -42,7 +42,7 @@ public class PPInstancesPopSizeDeterminator extends PopSizeDeterminator{
             Arrays.sort(popSizes);
             setPopSizes(popSizes[4]);
             
-            int[] evaluations = getEvaluationsStatistics();
+            long[] evaluations = getEvaluationsStatistics();
             Arrays.sort(evaluations);
             SequentialPopSizeDeterminator.printStatistics("PPInstancesPopSizeDeterminator", configs[0], popSizes, evaluations);
         } else {
@@ -201,8 +201,8 @@ public class PPInstancesPopSizeDeterminator extends PopSizeDeterminator{
      * This function gathers evaluation statistics for the current configuration, determined over 100 runs.
      * @return The array with evaluations made in the 100 runs.
      */
-    private static int[] getEvaluationsStatistics(){
-        int[] evaluations = new int[runs];
+    private static long[] getEvaluationsStatistics(){
+        long[] evaluations = new long[runs];
         for(int i = 0; i < runs; i++){
             ParallelJobRunner runner = new ParallelJobRunner(configs[i], false);
             runner.run();
@@ -42,7 +42,7 @@ public class PPPopSizeDeterminator extends PopSizeDeterminator{
             
             Arrays.sort(popSizes);
             config = config.copyForPopSize(popSizes[4]);
-            int[] evaluations = getEvaluationsStatistics(config);
+            long[] evaluations = getEvaluationsStatistics(config);
             Arrays.sort(evaluations);
             
             SequentialPopSizeDeterminator.printStatistics("PPPopSizeDeterminator", config, popSizes, evaluations);
@@ -182,8 +182,8 @@ public class PPPopSizeDeterminator extends PopSizeDeterminator{
      * @param config The configuration for which evaluation statistics have to be gathered.
      * @return The array with the evaluations for the 100 runs with the current configuration.
      */
-    private static int[] getEvaluationsStatistics(JobConfiguration config){
-        int[] evaluations = new int[RUNS];
+    private static long[] getEvaluationsStatistics(JobConfiguration config){
+        long[] evaluations = new long[RUNS];
         for(int i = 0; i < RUNS; i++){
             ParallelJobRunner runner = new ParallelJobRunner(config, false);
             runner.run();
@@ -15,7 +15,7 @@ public class PopSizeDeterminator {
      * @param popSizes Sorted array containing the found population sizes.
      * @param evaluations Sorted array containing the found evaluation statistics.
      */
-    public static void printStatistics(String determinator, JobConfiguration config, int[] popSizes, int[] evaluations){
+    public static void printStatistics(String determinator, JobConfiguration config, int[] popSizes, long[] evaluations){
         System.out.println(determinator + " finished for " + config.PROBLEM_CONFIG.PROBLEM + " with l=" + config.GENETIC_CONFIG.NUMBER_OF_PARAMETERS);
         System.out.println("Printing: Pop avg | Pop var | Pop worst | Pop 10% | Pop 50% | Pop 90% | Pop best | "
                 + "Eval avg | Eval var | Eval worst | Eval 10% | Eval 50% | Eval 90% | Eval best");
@@ -43,7 +43,7 @@ public class SequentialInstancesPopSizeDeterminator {
             Arrays.sort(popSizes);
             setPopSizes(popSizes[4]);
             
-            int[] evaluations = getEvaluationsStatistics();
+            long[] evaluations = getEvaluationsStatistics();
             Arrays.sort(evaluations);
             SequentialPopSizeDeterminator.printStatistics("InstancesPopSizeDeterminator", configs[0], popSizes, evaluations);
         } else {
@@ -198,8 +198,8 @@ public class SequentialInstancesPopSizeDeterminator {
      * on 100 runs with the current configuration.
      * @return Array containing the evaluations of 100 test runs. 
      */
-    private static int[] getEvaluationsStatistics(){
-        int[] evaluations = new int[runs];
+    private static long[] getEvaluationsStatistics(){
+        long[] evaluations = new long[runs];
         for(int i = 0; i < runs; i++){
             SequentialJobRunner runner = new SequentialJobRunner(configs[i], false);
             runner.run();
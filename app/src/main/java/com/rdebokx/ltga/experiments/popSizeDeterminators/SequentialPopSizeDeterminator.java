@@ -47,7 +47,7 @@ public class SequentialPopSizeDeterminator extends PopSizeDeterminator {
             }
             Arrays.sort(popSizes);
             config = config.copyForPopSize(popSizes[4]);
-            int[] evaluations = getEvaluationsStatistics(config, seeds);
+            long[] evaluations = getEvaluationsStatistics(config, seeds);
             Arrays.sort(evaluations);
             
             printStatistics("PopSizeDeterminator", config, popSizes, evaluations);
@@ -196,8 +196,8 @@ public class SequentialPopSizeDeterminator extends PopSizeDeterminator {
      * @param seeds Seeds for the Randomizers in the 10 runs. Only the first seeds of every array in will be used.
      * @return Array containing evaluations performed in 100 runs with the given configuration.
      */
-    private static int[] getEvaluationsStatistics(JobConfiguration config, long[][] seeds){
-        int[] evaluations = new int[SEARCHES];
+    private static long[] getEvaluationsStatistics(JobConfiguration config, long[][] seeds){
+        long[] evaluations = new long[SEARCHES];
         for(int i = 0; i < SEARCHES; i++){
             SequentialJobRunner runner = new SequentialJobRunner(config, false, seeds[i][0]);
             runner.run();
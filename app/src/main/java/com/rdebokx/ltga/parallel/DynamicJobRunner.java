@@ -1,10 +1,12 @@
 package com.rdebokx.ltga.parallel;
 
 import com.rdebokx.ltga.config.JobConfiguration;
+import com.rdebokx.ltga.config.ParallelConfiguration;
 import com.rdebokx.ltga.shared.FitnessComparator;
 import com.rdebokx.ltga.shared.JobRunner;
 import com.rdebokx.ltga.shared.JobState;
 import com.rdebokx.ltga.shared.LearningModel;
+import com.rdebokx.ltga.shared.PopulationSizeLadder;
 import com.rdebokx.ltga.shared.Randomizer;
 import com.rdebokx.ltga.shared.Solution;
 
@@ -54,25 +56,41 @@ public class DynamicJobRunner extends JobRunner {
             System.out.println("Jobrunner started");
         }
         
-        boolean stopRunner = false;
-        while(!stopRunner){
-            //Initialize SequentialJobRunner
-            ParallelJobRunner runner = new ParallelJobRunner(currentConfig, false, this.fixedFOS, this.randomizer.generator.nextLong());
-            runner.run();
-            if(printResults){
-                System.out.println("JobRunner finished for n=" + currentConfig.GENETIC_CONFIG.POPULATION_SIZE + " objectiveValue: " + runner.getBestFound().getObjectiveValue());
-            }
-            //Store result if founda
-            if(runner.getBestFound() != null){
-                updateBestFound(runner.getBestFound());
-            } else {
-                stopRunner = true;
-            }
+        //All runners share one scheduler, such that no threads are created for every population size.
+        Scheduler scheduler = new Scheduler(currentConfig.EXECUTION_CONFIG.THREADS);
+        if(CONFIG.PARALLEL_CONFIG.INTERLEAVING_RATIO != ParallelConfiguration.NO_INTERLEAVING){
+            //Run the population sizes concurrently, interleaving their generations on the shared scheduler.
+            PopulationSizeLadder ladder = new PopulationSizeLadder(this, currentConfig, CONFIG.PARALLEL_CONFIG.INTERLEAVING_RATIO, 
+                    currentConfig.EXECUTION_CONFIG.THREADS, (config, seed) -> new ParallelJobRunner(config, false, this.fixedFOS, seed, scheduler));
+            ladder.run();
+            currentConfig = ladder.getLargestConfig();
+        } else {
+            boolean stopRunner = false;
+            JobRunner previous = null;
+            while(!stopRunner){
+                //Initialize SequentialJobRunner
+                ParallelJobRunner runner = new ParallelJobRunner(currentConfig, false, this.fixedFOS, this.randomizer.generator.nextLong(), scheduler);
+                if(previous != null && CONFIG.PARALLEL_CONFIG.POPULATION_GROWTH == ParallelConfiguration.PopulationGrowth.IN_PLACE){
+                    runner.growFrom(previous);
+                }
+                runner.run();
+                previous = runner;
+                if(printResults){
+                    System.out.println("JobRunner finished for n=" + currentConfig.GENETIC_CONFIG.POPULATION_SIZE + " objectiveValue: " + runner.getBestFound().getObjectiveValue());
+                }
+                //Store result if founda
+                if(runner.getBestFound() != null){
+                    updateBestFound(runner.getBestFound());
+                } else {
+                    stopRunner = true;
+                }
         
-            this.jobState.incrementNumberOfEvaluations(runner.getJobState().getNumberOfEvaluations());
-            stopRunner = this.checkTerminationCondition() || runner.getBestFound() == null;
-            currentConfig = currentConfig.copyForPopSize(currentConfig.GENETIC_CONFIG.POPULATION_SIZE * 2);
+                this.jobState.incrementNumberOfEvaluations(runner.getJobState().getNumberOfEvaluations());
+                stopRunner = this.checkTerminationCondition() || runner.getBestFound() == null;
+                currentConfig = currentConfig.copyForPopSize(currentConfig.GENETIC_CONFIG.POPULATION_SIZE * 2);
+            }
         }
+        scheduler.shutdown();
         
         //Print results
         if(printResults){
@@ -6,7 +6,9 @@ import java.util.concurrent.TimeUnit;
 
 import com.rdebokx.ltga.sequential.SequentialJobRunner;
 import com.rdebokx.ltga.config.JobConfiguration;
+import com.rdebokx.ltga.config.ParallelConfiguration;
 import com.rdebokx.ltga.profiler.Profiler;
+import com.rdebokx.ltga.shared.Island;
 import com.rdebokx.ltga.shared.JobRunner;
 import com.rdebokx.ltga.shared.JobState;
 import com.rdebokx.ltga.shared.LearningModel;
@@ -77,14 +79,34 @@ public class EPJobRunner extends JobRunner {
             Profiler.setProgramStart();
         }
         
+        //The islands exchange migrants along the configured topology, isolated islands do not need to be constructed.
+        Island[] islands = CONFIG.PARALLEL_CONFIG.TOPOLOGY == ParallelConfiguration.Topology.ISOLATED ? null :
+            Island.createIslands(CONFIG.EXECUTION_CONFIG.THREADS, CONFIG.PARALLEL_CONFIG, randomizer);
         for(int i = 0; i < CONFIG.EXECUTION_CONFIG.THREADS; i++){
             runners[i] = new SequentialJobRunner(CONFIG, false, fixedFOS);
-            executorService.submit(runners[i]);
+            if(islands != null){
+                runners[i].setIsland(islands[i]);
+            }
+            if(jobState.isCancelled()){
+                runners[i].cancel();
+            }
+        }
+        
+        //The first island that reaches the value to reach stops all other islands.
+        for(int i = 0; i < CONFIG.EXECUTION_CONFIG.THREADS; i++){
+            final SequentialJobRunner runner = runners[i];
+            executorService.submit(() -> {
+                runner.run();
+                if(runner.hasReachedValueToReach()){
+                    cancel();
+                }
+            });
         }
         
         executorService.shutdown();
         try {
             executorService.awaitTermination(365, TimeUnit.DAYS);
+            jobState.incrementNumberOfEvaluations(getNumberOfEvaluations());
             for(int i = 0; i < CONFIG.EXECUTION_CONFIG.THREADS; i++){
                 Solution sol = runners[i].getBestFound();
                 solutions[i] = sol;
@@ -102,10 +124,24 @@ public class EPJobRunner extends JobRunner {
     }
     
     /**
-     * @return The total number of evaluations performed by all executed Sequential JobRunners.
+     * This method requests this JobRunner and all of its islands to stop.
      */
-    public int getNumberOfEvaluations(){
-        int result = 0;
+    @Override
+    public void cancel(){
+        super.cancel();
+        for(int i = 0; i < runners.length; i++){
+            if(runners[i] != null){
+                runners[i].cancel();
+            }
+        }
+    }
+    
+    /**
+     * @return The total number of evaluations performed by all executed Sequential JobRunners. When the islands were
+     * stopped early, these are the evaluations that were actually performed.
+     */
+    public long getNumberOfEvaluations(){
+        long result = 0;
         for(int i = 0; i < CONFIG.EXECUTION_CONFIG.THREADS; i++){
             result += runners[i].getJobState().getNumberOfEvaluations();
         }
@@ -0,0 +1,195 @@
+package com.rdebokx.ltga.parallel;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.rdebokx.ltga.config.JobConfiguration;
+import com.rdebokx.ltga.config.ParallelConfiguration;
+import com.rdebokx.ltga.profiler.Profiler;
+import com.rdebokx.ltga.shared.FitnessComparator;
+import com.rdebokx.ltga.shared.JobRunner;
+import com.rdebokx.ltga.shared.JobState;
+import com.rdebokx.ltga.shared.LearningModel;
+import com.rdebokx.ltga.shared.Randomizer;
+
+/**
+ * JobRunner combining the embarrassingly parallel and the perfect parallel engine. The available threads are split into
+ * K populations of T threads each, where every population is evolved by a ParallelJobRunner. All populations share
+ * one Scheduler of K x T threads, such that idle threads of one population can steal work of the others.
+ * @author Rdebokx
+ *
+ */
+public class HybridJobRunner extends JobRunner {
+    
+    /**
+     * The minimum amount of solutions that every thread of a population should process per generation when the split
+     * is determined automatically. With fewer solutions per thread, the synchronization at the end of every generation
+     * outweighs the gain of an additional thread, so the thread is better spent on an additional population.
+     */
+    public static final int MIN_SOLUTIONS_PER_THREAD = 16;
+    
+    private final int numberOfPopulations;
+    private final int threadsPerPopulation;
+    private ExecutorService executorService;
+    private ParallelJobRunner[] runners;
+    
+    /**
+     * Constructor, constructing a new Hybrid JobRunner. The split of the threads is taken from the ParallelConfiguration
+     * of the given configuration, or determined automatically.
+     * @param config The configuration to be used for this JobRunner. The threads of its ExecutionConfiguration are the
+     * total amount of threads, being shared by all populations.
+     * @param printResults Boolean indicating whether or not profiling should be enabled and results should be printed to console.
+     * @param randomizer The Randomizer object from which the seeds of the populations are drawn.
+     */
+    public HybridJobRunner(JobConfiguration config, boolean printResults, Randomizer randomizer){
+        super(config, new JobState(), printResults, randomizer);
+        int threads = config.EXECUTION_CONFIG.THREADS;
+        int populations = config.PARALLEL_CONFIG.NUMBER_OF_POPULATIONS;
+        this.numberOfPopulations = populations == ParallelConfiguration.AUTO_SPLIT ? 
+                determineNumberOfPopulations(threads, config.GENETIC_CONFIG.POPULATION_SIZE) : Math.max(1, Math.min(populations, threads));
+        this.threadsPerPopulation = Math.max(1, threads / numberOfPopulations);
+        this.executorService = Executors.newFixedThreadPool(numberOfPopulations);
+        this.runners = new ParallelJobRunner[numberOfPopulations];
+    }
+    
+    /**
+     * Constructor, constructing a new Hybrid JobRunner. The split of the threads is taken from the ParallelConfiguration
+     * of the given configuration, or determined automatically.
+     * @param config The configuration to be used for this JobRunner.
+     * @param printResults Boolean indicating whether or not profiling should be enabled and results should be printed to console.
+     */
+    public HybridJobRunner(JobConfiguration config, boolean printResults){
+        this(config, printResults, new Randomizer());
+    }
+    
+    /**
+     * Constructor, constructing a new Hybrid JobRunner. The split of the threads is taken from the ParallelConfiguration
+     * of the given configuration, or determined automatically.
+     * @param config The configuration to be used for this JobRunner.
+     * @param printResults Boolean indicating whether or not profiling should be enabled and results should be printed to console.
+     * @param fixedFOS the FOS that should be used for as a fixed Learning Model for this JobRunner
+     * @param fixedSeed The fixed seed from which the seeds of the populations are drawn.
+     */
+    public HybridJobRunner(JobConfiguration config, boolean printResults, LearningModel fixedFOS, long fixedSeed){
+        this(config, printResults, new Randomizer(fixedSeed));
+        this.fixedFOS = fixedFOS;
+    }
+    
+    /**
+     * This function determines the amount of populations for the given amount of threads and population size. Every
+     * population gets as many threads as possible while every thread still processes at least MIN_SOLUTIONS_PER_THREAD
+     * solutions per generation. The threads that remain are used for additional populations.
+     * @param threads The total amount of threads.
+     * @param populationSize The size of every population.
+     * @return The amount of populations to be run concurrently.
+     */
+    public static int determineNumberOfPopulations(int threads, int populationSize){
+        int maxThreadsPerPopulation = Math.max(1, Math.min(threads, populationSize / MIN_SOLUTIONS_PER_THREAD));
+        return Math.max(1, (threads + maxThreadsPerPopulation - 1) / maxThreadsPerPopulation);
+    }
+    
+    @Override
+    public void run(){
+        if(printResults){
+            Profiler.setProgramStart();
+            System.out.println("Running " + numberOfPopulations + " populations of " + threadsPerPopulation + " threads each.");
+        }
+        
+        Scheduler scheduler = new Scheduler(numberOfPopulations * threadsPerPopulation);
+        JobConfiguration populationConfig = CONFIG.copyForThreads(threadsPerPopulation);
+        for(int i = 0; i < numberOfPopulations; i++){
+            runners[i] = new ParallelJobRunner(populationConfig, false, fixedFOS, randomizer.generator.nextLong(), scheduler);
+            if(jobState.isCancelled()){
+                runners[i].cancel();
+            }
+        }
+        
+        //The first population that reaches the value to reach stops all other populations.
+        for(int i = 0; i < numberOfPopulations; i++){
+            final ParallelJobRunner runner = runners[i];
+            executorService.submit(() -> {
+                runner.run();
+                if(runner.hasReachedValueToReach()){
+                    cancel();
+                }
+            });
+        }
+        
+        executorService.shutdown();
+        try {
+            executorService.awaitTermination(365, TimeUnit.DAYS);
+            jobState.incrementNumberOfEvaluations(getNumberOfEvaluations());
+            for(int i = 0; i < numberOfPopulations; i++){
+                if(bestSoFar == null || FitnessComparator.betterFitness(runners[i].getBestFound().getObjectiveValue(), 
+                        runners[i].getBestFound().getConstraintValue(), bestSoFar.getObjectiveValue(), bestSoFar.getConstraintValue())){
+                    bestSoFar = runners[i].getBestFound();
+                }
+            }
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+        scheduler.shutdown();
+        
+        if(printResults){
+            Profiler.setProgramEnd();
+            //Profiler.printResults();
+            System.out.println("Best found solution: ");
+            System.out.println(bestSoFar);
+        }
+    }
+    
+    /**
+     * This method requests this JobRunner and all of its populations to stop.
+     */
+    @Override
+    public void cancel(){
+        super.cancel();
+        for(int i = 0; i < runners.length; i++){
+            if(runners[i] != null){
+                runners[i].cancel();
+            }
+        }
+    }
+    
+    /**
+     * @return The total number of evaluations performed by all populations.
+     */
+    public long getNumberOfEvaluations(){
+        long result = 0;
+        for(int i = 0; i < numberOfPopulations; i++){
+            result += runners[i].getJobState().getNumberOfEvaluations();
+        }
+        return result;
+    }
+    
+    /**
+     * @return The total number of generations that were traversed by all populations.
+     */
+    public int getNumberOfGenerations(){
+        int result = 0;
+        for(int i = 0; i < numberOfPopulations; i++){
+            result += runners[i].getJobState().getNumberOfGenerations();
+        }
+        return result;
+    }
+    
+    /**
+     * @return The amount of populations that are run concurrently.
+     */
+    public int getNumberOfPopulations(){
+        return numberOfPopulations;
+    }
+    
+    /**
+     * @return The amount of threads over which every population is parallelized.
+     */
+    public int getThreadsPerPopulation(){
+        return threadsPerPopulation;
+    }
+
+    @Override
+    public JobRunner getNewRunnerWithConfig(JobConfiguration config) {
+        return new HybridJobRunner(config, printResults);
+    }
+}
@@ -1,17 +1,13 @@
 package com.rdebokx.ltga.parallel;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-
-import com.rdebokx.ltga.parallel.workers.EntropyWorker;
+import com.rdebokx.ltga.parallel.workers.TriangleTileTask;
 import com.rdebokx.ltga.profiler.Profiler;
 import com.rdebokx.ltga.config.ExecutionConfiguration;
 import com.rdebokx.ltga.config.JobConfiguration;
-import com.rdebokx.ltga.shared.Pair;
+import com.rdebokx.ltga.shared.BitColumns;
+import com.rdebokx.ltga.shared.JointEntropies;
 import com.rdebokx.ltga.shared.ParameterSet;
+import com.rdebokx.ltga.shared.Randomizer;
 
 public class MIMatrix extends com.rdebokx.ltga.shared.MIMatrix {
     
@@ -22,8 +18,34 @@ public class MIMatrix extends com.rdebokx.ltga.shared.MIMatrix {
      * @param jobConfig The job configuration, used to determine the amount of threads available.
      */
     public MIMatrix(ParameterSet[] mpm, Population population, JobConfiguration jobConfig){
-        super(population.getNumberOfParameters());
-        constructMIMatrix(mpm, population, jobConfig);
+        super(population.getNumberOfParameters(), jobConfig.LEARNING_CONFIG.MATRIX_STORAGE);
+        constructMIMatrix(mpm, population, new BitColumns(population), jobConfig);
+    }
+    
+    /**
+     * Constructor, constructing a Mutual Information Matrix based on the given MPM and population, which is estimated from
+     * a random sample of the population if the learning configuration of the job asks for sampling.
+     * @param mpm The Marginal Product Model for which the Mutual Information Matrix was constructed.
+     * @param population The population on which the Mutual Information Matrix has to be based.
+     * @param jobConfig The job configuration, used to determine the amount of threads available and the error bound for sampling.
+     * @param randomizer The Randomizer object that should be used for drawing the sample.
+     */
+    public MIMatrix(ParameterSet[] mpm, Population population, JobConfiguration jobConfig, Randomizer randomizer){
+        super(population.getNumberOfParameters(), jobConfig.LEARNING_CONFIG.MATRIX_STORAGE);
+        constructMIMatrix(mpm, population, BitColumns.forLearning(population, jobConfig.LEARNING_CONFIG, randomizer), jobConfig);
+    }
+    
+    /**
+     * Constructor, constructing a Mutual Information Matrix based on the given MPM and the given joint entropies of the
+     * population, for instance those of joint frequencies that are maintained across generations.
+     * @param mpm The Marginal Product Model for which the Mutual Information Matrix was constructed.
+     * @param population The population on which the Mutual Information Matrix has to be based, providing the Scheduler.
+     * @param jointEntropies The joint entropies of the given population.
+     * @param jobConfig The job configuration, used to determine the amount of threads available.
+     */
+    public MIMatrix(ParameterSet[] mpm, Population population, JointEntropies jointEntropies, JobConfiguration jobConfig){
+        super(population.getNumberOfParameters(), jobConfig.LEARNING_CONFIG.MATRIX_STORAGE);
+        constructMIMatrix(mpm, population, jointEntropies, jobConfig);
     }
     
     /**
@@ -35,24 +57,38 @@ public class MIMatrix extends com.rdebokx.ltga.shared.MIMatrix {
     }
     
     /**
-     * This is an internal method that calculates the values of the matrix, based on the given population
-     * @param population The population for which the Mutual Information Matrix has to be constructed.
+     * Constructor, constructing an empty MIMatrix with the given storage.
+     * @param numberOfParameters The number of parameters for this MIMatrix
+     * @param storage The way in which the values of this matrix have to be stored.
      */
-    private void constructMIMatrix(ParameterSet[] mpm, Population population, JobConfiguration jobConfig){
+    public MIMatrix(int numberOfParameters, Storage storage){
+        super(numberOfParameters, storage);
+    }
+    
+    /**
+     * This is an internal method that calculates the values of the matrix, based on the given joint entropies.
+     * @param mpm The Marginal Product Model, holding a single parameter per ParameterSet.
+     * @param population The population for which the Mutual Information Matrix has to be constructed, providing the Scheduler.
+     * @param jointEntropies The joint entropies of the given population.
+     * @param jobConfig The job configuration, used to determine the amount of threads available.
+     */
+    private void constructMIMatrix(ParameterSet[] mpm, Population population, JointEntropies jointEntropies, JobConfiguration jobConfig){
         long timeStart = System.currentTimeMillis();
         
         //Fill with Entropy values
-        fillWithEntropyValues(mpm, population, jobConfig.EXECUTION_CONFIG);
+        Scheduler scheduler = population.getScheduler();
+        fillWithEntropyValues(mpm, jointEntropies, scheduler);
         
         //calculate MI values
-        calculateMIValues(population.getNumberOfParameters(), jobConfig.EXECUTION_CONFIG);
+        calculateMIValues(size, scheduler);
         
         long timeEnd = System.currentTimeMillis();
         Profiler.recordExecution("MIMatrix.constructMIMatrix", timeEnd - timeStart);
     }
     
     /**
-     * This method fills the matrix with entropy values in parallel.
+     * This method fills the matrix with entropy values in parallel. Only the upper triangle is computed, in cache-sized
+     * tiles on the work-stealing Scheduler of the population, and mirrored to the lower triangle.
      * @param mpm The Marginal Product Model for which the entropy values have to be calculated.
      * @param population The populations of which the entropy values have to be calculated.
      * @param execConfig The execution configuration, needed for the amount of threads available.
@@ -60,77 +96,68 @@ public class MIMatrix extends com.rdebokx.ltga.shared.MIMatrix {
     public void fillWithEntropyValues(ParameterSet[] mpm, Population population, ExecutionConfiguration execConfig){
         /*
          * Fill with entropy values.
-         * Note that this seems to differ from the implementation in c, where the cumulative chances are calculated and after that
-         * transformed back to individual chances, which are then used to calculate the joint entropy. This is equal to our implementation
-         * of calculating the joint entropy in our Distribution class.
+         * The population is transposed into column bitsets once, which are shared by all tiles. Joint frequencies are
+         * obtained by AND+popcount and the entropy values are read from a table indexed by frequency.
          */
+        fillWithEntropyValues(mpm, new BitColumns(population), population.getScheduler());
+    }
+    
+    /**
+     * This method fills the matrix with the given joint entropies in parallel. Only the upper triangle is computed, in 
+     * cache-sized tiles on the given work-stealing Scheduler, and mirrored to the lower triangle.
+     * @param mpm The Marginal Product Model for which the entropy values have to be calculated.
+     * @param jointEntropies The joint entropies, which have to be safe for concurrent reads.
+     * @param scheduler The Scheduler on which the tiles have to be processed.
+     */
+    public void fillWithEntropyValues(ParameterSet[] mpm, JointEntropies jointEntropies, Scheduler scheduler){
         //long entropyTimeStart = System.currentTimeMillis();
         
-        int l = population.getNumberOfParameters();
-        int processableElements = l * (l + 1) / 2;
-        int elemsPerThread = (int) Math.ceil(processableElements / (execConfig.THREADS * 1.0));
-        ExecutorService executor = Executors.newFixedThreadPool(execConfig.THREADS);
+        int[] indices = new int[mpm.length];
+        int[] params = new int[mpm.length];
+        for(int i = 0; i < mpm.length; i++){
+            indices[i] = mpm[i].getIndex();
+            params[i] = mpm[i].getParameters()[0];
+        }
         
-        ArrayList<Pair<ParameterSet>> taskArray = new ArrayList<Pair<ParameterSet>>();
-        for(int i = 0; i < population.getNumberOfParameters(); i++){
-            ParameterSet paramSet1 = mpm[i];
-            for(int j = i; j < mpm.length; j++){
-                ParameterSet paramSet2 = mpm[j];
-                if(taskArray.size() == elemsPerThread){
-                    executor.submit(new EntropyWorker(matrix, population, taskArray));
-                    taskArray = new ArrayList<Pair<ParameterSet>>();
+        scheduler.invoke(new TriangleTileTask(mpm.length, (iFrom, iTo, jFrom, jTo) -> {
+            for(int i = iFrom; i < iTo; i++){
+                for(int j = Math.max(i, jFrom); j < jTo; j++){
+                    setSymmetric(indices[i], indices[j], jointEntropies.getJointEntropy(params[i], params[j]));
                 }
-                taskArray.add(new Pair<ParameterSet>(paramSet1, paramSet2));
             }
-        }
-        if(taskArray.size() > 0){
-            executor.submit(new EntropyWorker(matrix, population, taskArray));
-        }
-        executor.shutdown();
-        try {
-            executor.awaitTermination(365, TimeUnit.DAYS);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+        }));
         
         //long entropyTimeEnd = System.currentTimeMillis();
         //Profiler.recordExecution("MIMatrix.constructMIMatrix - entropyValues", entropyTimeEnd - entropyTimeStart);
     }
     
     /**
-     * This method calculates the MI values for this matrix in parallel.
+     * This method calculates the MI values for this matrix in parallel on a temporary Scheduler.
      * @param numberOfParameters The number of parameters in the matrix.
      * @param execConfig The execution configuration, needed for the amount of threads available.
      */
     public void calculateMIValues(int numberOfParameters, ExecutionConfiguration execConfig){
+        Scheduler scheduler = new Scheduler(execConfig.THREADS);
+        calculateMIValues(numberOfParameters, scheduler);
+        scheduler.shutdown();
+    }
+    
+    /**
+     * This method calculates the MI values for this matrix in parallel. Only the upper triangle is computed, in cache-sized
+     * tiles on the given work-stealing Scheduler, and mirrored to the lower triangle. The diagonal keeps the entropy values.
+     * @param numberOfParameters The number of parameters in the matrix.
+     * @param scheduler The Scheduler on which the tiles have to be processed.
+     */
+    public void calculateMIValues(int numberOfParameters, Scheduler scheduler){
         //long miTimeStart = System.currentTimeMillis();
         
-        ExecutorService executor = Executors.newFixedThreadPool(execConfig.THREADS);
-        int elemsPerThread = (int) Math.ceil(numberOfParameters * numberOfParameters / (execConfig.THREADS * 1.0));
-        
-        for(int t = 0; t < execConfig.THREADS; t++){
-            int fromElem = t * elemsPerThread;
-            
-            executor.submit(() -> {
-                int i = fromElem / numberOfParameters;
-                int j = fromElem - numberOfParameters * i;
-                
-                for(int k = 0; k < elemsPerThread; k++){
-                    matrix[i][j] = matrix[i][i] + matrix[j][j] - matrix[i][j];
-                    j++;
-                    if(j == numberOfParameters){
-                        j = 0;
-                        i++;
-                    }
+        scheduler.invoke(new TriangleTileTask(numberOfParameters, (iFrom, iTo, jFrom, jTo) -> {
+            for(int i = iFrom; i < iTo; i++){
+                for(int j = Math.max(i + 1, jFrom); j < jTo; j++){
+                    setSymmetric(i, j, get(i, i) + get(j, j) - get(i, j));
                 }
-            });
-        }
-        executor.shutdown();
-        try {
-            executor.awaitTermination(365, TimeUnit.DAYS);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+            }
+        }));
         
         //long miTimeEnd = System.currentTimeMillis();
         //Profiler.recordExecution("MIMatrix.constructMIMatrix - MIValues", miTimeEnd - miTimeStart);
@@ -142,20 +169,7 @@ public class MIMatrix extends com.rdebokx.ltga.shared.MIMatrix {
      * @param r1 The second ParameterSet.
      */
     public void updateSMatrix(ParameterSet r0, ParameterSet r1, ExecutionConfiguration execConfig){
-        //long timeStart = System.currentTimeMillis();
-        
-        double mul0 = r0.size() / ((r0.size() + r1.size()) * 1.0);
-        double mul1 = r1.size() / ((r0.size() + r1.size()) * 1.0);
-        
-        for(int i = 0; i < matrix.length; i++){
-            if(i != r0.getIndex() && i != r1.getIndex()){
-                matrix[i][r0.getIndex()] = mul0 * matrix[i][r0.getIndex()] + mul1 * matrix[i][r1.getIndex()];
-                matrix[r0.getIndex()][i] = matrix[i][r0.getIndex()];
-            }
-        }
-        
-        //long timeEnd = System.currentTimeMillis();
-        //Profiler.recordExecution("MIMatrix.updateSMatrix", timeEnd - timeStart);
+        updateSMatrix(r0, r1, size);
     }
     
     /**
@@ -164,10 +178,8 @@ public class MIMatrix extends com.rdebokx.ltga.shared.MIMatrix {
      */
     @Override
     public MIMatrix clone(){
-        MIMatrix out = new MIMatrix(matrix.length);
-        for(int i = 0; i < matrix.length; i++){
-            out.matrix[i] = Arrays.copyOf(matrix[i], matrix[i].length);
-        }
+        MIMatrix out = new MIMatrix(size, storage);
+        copyTo(out);
         
         return out;
     }
@@ -1,18 +1,37 @@
 package com.rdebokx.ltga.parallel;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
 import com.rdebokx.ltga.profiler.Profiler;
 import com.rdebokx.ltga.config.JobConfiguration;
+import com.rdebokx.ltga.config.LearningConfiguration;
+import com.rdebokx.ltga.config.ParallelConfiguration;
+import com.rdebokx.ltga.shared.BitString;
+import com.rdebokx.ltga.shared.FitnessComparator;
+import com.rdebokx.ltga.shared.GenerationalJobRunner;
 import com.rdebokx.ltga.shared.JobRunner;
 import com.rdebokx.ltga.shared.JobState;
 import com.rdebokx.ltga.shared.LearningModel;
 import com.rdebokx.ltga.shared.Randomizer;
+import com.rdebokx.ltga.shared.Solution;
+import com.rdebokx.ltga.shared.Workspace;
 
 /**
  * 
  * @author Rdebokx
  *
  */
-public class ParallelJobRunner extends JobRunner {
+public class ParallelJobRunner extends JobRunner implements GenerationalJobRunner {
+    
+    private Scheduler scheduler;
+    private final boolean sharedScheduler;
+    private volatile boolean stopped;
 
     /**
      * Constructor, initializing this job runner with the given configuration and a new JobState object.
@@ -22,6 +41,7 @@ public class ParallelJobRunner extends JobRunner {
      */
     public ParallelJobRunner(JobConfiguration config, boolean printResults) {
         super(config, new JobState(), printResults, new Randomizer());
+        this.sharedScheduler = false;
     }
     
     /**
@@ -32,6 +52,7 @@ public class ParallelJobRunner extends JobRunner {
      */
     public ParallelJobRunner(JobConfiguration config, boolean printResults, LearningModel fixedFOS) {
         super(config, new JobState(), printResults, fixedFOS, new Randomizer());
+        this.sharedScheduler = false;
     }
     
     /**
@@ -43,6 +64,22 @@ public class ParallelJobRunner extends JobRunner {
      */
     public ParallelJobRunner(JobConfiguration config, boolean printResults, LearningModel fixedFOS, long fixedSeed) {
         super(config, new JobState(), printResults, fixedFOS, new Randomizer(fixedSeed));
+        this.sharedScheduler = false;
+    }
+    
+    /**
+     * Constructor, initializing this job runner with the given configuration and a new JobState object. The given
+     * Scheduler is shared with other runs and is therefore not shut down when this job runner finishes.
+     * @param config The configuration for the job to be run.
+     * @param printResults Boolean indicating whether or not the results should be printed afterwards or not.
+     * @param fixedFOS the FOS that should be used for as a fixed Learning Model for this JobRunner
+     * @param fixedSeed The fixed seed that should be used by the Randomizer.
+     * @param scheduler The Scheduler on which the work of this job runner has to be executed.
+     */
+    public ParallelJobRunner(JobConfiguration config, boolean printResults, LearningModel fixedFOS, long fixedSeed, Scheduler scheduler) {
+        super(config, new JobState(), printResults, fixedFOS, new Randomizer(fixedSeed));
+        this.scheduler = scheduler;
+        this.sharedScheduler = true;
     }
     
     /**
@@ -66,28 +103,23 @@ public class ParallelJobRunner extends JobRunner {
             Profiler.setProgramStart();
         }
         
-        if(population == null){
-            population = new Population(CONFIG.GENETIC_CONFIG.POPULATION_SIZE, CONFIG.GENETIC_CONFIG.NUMBER_OF_PARAMETERS, jobState);
-            population.initialize(CONFIG, this.randomizer);
-        }
+        initializeRun();
         
-        bestSoFar = population.determineBestSoFar(null);
-        
-        while (!checkTerminationCondition()) {
-            if(printResults){
-                System.out.println("Running ParallelRunner generation " + jobState.getNumberOfGenerations());
+        if(CONFIG.PARALLEL_CONFIG.MODE == ParallelConfiguration.Mode.STEADY_STATE){
+            runSteadyState();
+        } else {
+            while (!checkTerminationCondition()) {
+                if(printResults){
+                    System.out.println("Running ParallelRunner generation " + jobState.getNumberOfGenerations());
+                }
+                runGeneration();
             }
-            
-            //Create offspring. New objective and constraint values are already saved in inputted arrays.
-            LearningModel linkageModel = fixedFOS == null ? new LinkageTree((Population) population, CONFIG, this.randomizer, CONFIG.EXECUTION_CONFIG) : fixedFOS; 
-            
-            population = ((Population) population).makeOffspring(bestSoFar, CONFIG, linkageModel, this.randomizer);
-
-            jobState.incrementNumberOfGenerations();
-
-            bestSoFar = population.determineBestSoFar(bestSoFar);
         }
-
+        
+        if(!sharedScheduler){
+            scheduler.shutdown();
+            scheduler = null;
+        }
         
         //Print results
         if(printResults){
@@ -99,6 +131,177 @@ public class ParallelJobRunner extends JobRunner {
         }
     }
 
+    /**
+     * This method initializes the population of this JobRunner and determines the best solution so far. If this 
+     * JobRunner has no Scheduler yet, a new one is created, which is shut down at the end of run.
+     */
+    @Override
+    public void initializeRun() {
+        //The scheduler lives for the whole run, such that no threads are created every generation.
+        if(scheduler == null){
+            scheduler = new Scheduler(CONFIG.EXECUTION_CONFIG.THREADS);
+        }
+        
+        if(population == null){
+            population = new Population(CONFIG.GENETIC_CONFIG.POPULATION_SIZE, CONFIG.GENETIC_CONFIG.NUMBER_OF_PARAMETERS, jobState);
+            ((Population) population).setScheduler(scheduler);
+            if(previousPopulation != null){
+                population.initializeFrom(previousPopulation, CONFIG, this.randomizer);
+                previousPopulation = null;
+            } else {
+                population.initialize(CONFIG, this.randomizer);
+            }
+        } else {
+            ((Population) population).setScheduler(scheduler);
+        }
+        
+        bestSoFar = population.determineBestSoFar(null);
+    }
+    
+    /**
+     * This method executes a single generation of this JobRunner. Generations are always executed generationally,
+     * regardless of the Mode of the ParallelConfiguration.
+     */
+    @Override
+    public void runGeneration() {
+        //Create offspring. New objective and constraint values are already saved in inputted arrays.
+        LearningModel linkageModel = getLinkageModel(() -> new LinkageTree((Population) population, updateJointFrequencies(), CONFIG, this.randomizer, CONFIG.EXECUTION_CONFIG));
+        
+        population = ((Population) population).makeOffspring(bestSoFar, CONFIG, linkageModel, this.randomizer);
+
+        jobState.incrementNumberOfGenerations();
+
+        bestSoFar = population.determineBestSoFar(bestSoFar);
+    }
+
+    /**
+     * This method executes the job in steady-state mode. Every worker repeatedly claims the next solution of the population
+     * and replaces it in place by a new solution, which is mixed with the linkage model that was published last. Every time
+     * populationSize solutions have been claimed, a generation is completed and the termination conditions are checked.
+     * The worker that completed the generation then triggers a dedicated learner thread to relearn the linkage model on a
+     * snapshot of the population, unless it is still doing so, and goes back to replacing solutions. The learner publishes
+     * the new model atomically. Hence, no worker ever waits for the other workers or for the learner.
+     */
+    private void runSteadyState(){
+        final Population population = (Population) this.population;
+        final int populationSize = CONFIG.GENETIC_CONFIG.POPULATION_SIZE;
+        final int numberOfParameters = CONFIG.GENETIC_CONFIG.NUMBER_OF_PARAMETERS;
+        final int threads = CONFIG.EXECUTION_CONFIG.THREADS;
+        final Workspace[] workspaces = population.getWorkspaces(threads);
+        
+        final com.rdebokx.ltga.sequential.Population snapshot = fixedFOS == null ? 
+                new com.rdebokx.ltga.sequential.Population(populationSize, numberOfParameters, new JobState()) : null;
+        final AtomicReference<LearningModel> linkageModel = new AtomicReference<>(fixedFOS == null ? learnFromSnapshot(population, snapshot) : fixedFOS);
+        final AtomicReference<Solution> best = new AtomicReference<>(bestSoFar);
+        final AtomicLong claims = new AtomicLong();
+        final AtomicIntegerArray replacing = new AtomicIntegerArray(populationSize);
+        final AtomicBoolean learning = new AtomicBoolean();
+        //The workers of the scheduler are all busy replacing solutions, hence the linkage model is learned on its own thread.
+        //Only the learner accesses the snapshot, and the learning flag makes sure that relearns are not queued up.
+        final ExecutorService learner = snapshot == null ? null : Executors.newSingleThreadExecutor();
+        stopped = checkTerminationCondition();
+        
+        //Every worker claims a single slot and keeps replacing solutions until the job is stopped.
+        scheduler.forEach(threads, threads, (worker, from, to) -> {
+            Workspace workspace = workspaces[worker];
+            long[] offspring = new long[BitString.numberOfWords(numberOfParameters)];
+            while(!stopped && !jobState.isCancelled()){
+                long claim = claims.getAndIncrement();
+                int index = (int) (claim % populationSize);
+                
+                //Skip the solution if it is still being replaced by a worker that claimed it a generation earlier.
+                if(replacing.compareAndSet(index, 0, 1)){
+                    population.replaceWithNewSolution(index, linkageModel.get(), best.get(), CONFIG, 
+                            workspace.getStream(randomizer, claim / populationSize, index), workspace, offspring);
+                    replacing.set(index, 0);
+                    updateBest(best, offspring, numberOfParameters, workspace);
+                }
+                
+                if((claim + 1) % populationSize == 0){
+                    completeSteadyStateGeneration(best);
+                    if(learner != null && !stopped && learning.compareAndSet(false, true)){
+                        learner.execute(() -> {
+                            try {
+                                linkageModel.set(learnFromSnapshot(population, snapshot));
+                            } finally {
+                                learning.set(false);
+                            }
+                        });
+                    }
+                }
+            }
+        });
+        
+        //Wait for a relearn that is still running, such that it does not use the population or Randomizer after this run.
+        if(learner != null){
+            learner.shutdown();
+            try {
+                learner.awaitTermination(365, TimeUnit.DAYS);
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        }
+        bestSoFar = best.get();
+    }
+    
+    /**
+     * This function copies the given population into the given snapshot and learns a new linkage tree from the snapshot,
+     * such that the population can be altered by the workers while the tree is learned.
+     * @param population The population from which the linkage tree has to be learned.
+     * @param snapshot The population into which the given population is copied.
+     * @return The linkage tree learned from the snapshot.
+     */
+    private LearningModel learnFromSnapshot(Population population, com.rdebokx.ltga.sequential.Population snapshot){
+        snapshot.copyFrom(population);
+        if(CONFIG.LEARNING_CONFIG.SPARSE_PARTNERS != LearningConfiguration.FULL_MATRIX){
+            return learnSparseLinkageTree(snapshot);
+        }
+        return new com.rdebokx.ltga.sequential.LinkageTree(snapshot, randomizer, CONFIG.EXECUTION_CONFIG, CONFIG.LEARNING_CONFIG);
+    }
+    
+    /**
+     * This method replaces the best solution so far by the given new solution if the new solution is better.
+     * @param best The reference to the best solution so far, which may be updated concurrently.
+     * @param solution The new solution.
+     * @param numberOfParameters The number of parameters of the new solution.
+     * @param workspace The workspace holding the objective and constraint value of the new solution.
+     */
+    private static void updateBest(AtomicReference<Solution> best, long[] solution, int numberOfParameters, Workspace workspace){
+        Solution current = best.get();
+        while(FitnessComparator.betterFitness(workspace.getObjectiveValue(), workspace.getConstraintValue(), 
+                current.getObjectiveValue(), current.getConstraintValue())){
+            Solution candidate = new Solution(solution.clone(), numberOfParameters, workspace.getObjectiveValue(), workspace.getConstraintValue());
+            if(best.compareAndSet(current, candidate)){
+                return;
+            }
+            current = best.get();
+        }
+    }
+    
+    /**
+     * This method completes a generation in steady-state mode, being the replacement of populationSize solutions. It 
+     * updates the JobState and stops the job when one of the termination conditions is met.
+     * @param best The reference to the best solution so far.
+     */
+    private synchronized void completeSteadyStateGeneration(AtomicReference<Solution> best){
+        if(printResults){
+            System.out.println("Completed ParallelRunner steady-state generation " + jobState.getNumberOfGenerations());
+        }
+        jobState.incrementNumberOfGenerations();
+        
+        Solution current = best.get();
+        if(current != bestSoFar){
+            bestSoFar = current;
+            jobState.setNoImprovementStretch(0);
+        } else {
+            jobState.incrementNoImprovementStretch();
+        }
+        
+        if(checkTerminationCondition()){
+            stopped = true;
+        }
+    }
+
 	@Override
 	public JobRunner getNewRunnerWithConfig(JobConfiguration config) {
 		return new ParallelJobRunner(config, false);
@@ -1,20 +1,26 @@
 package com.rdebokx.ltga.parallel;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-
 import com.rdebokx.ltga.config.JobConfiguration;
+import com.rdebokx.ltga.config.ParallelConfiguration;
 import com.rdebokx.ltga.profiler.Profiler;
+import com.rdebokx.ltga.shared.BitString;
 import com.rdebokx.ltga.shared.JobState;
 import com.rdebokx.ltga.shared.LearningModel;
 import com.rdebokx.ltga.shared.ProblemEvaluator;
 import com.rdebokx.ltga.shared.Randomizer;
 import com.rdebokx.ltga.shared.Solution;
+import com.rdebokx.ltga.shared.Workspace;
 
 public class Population extends com.rdebokx.ltga.shared.Population {
     
-    private volatile int currentPointer;
+    /**
+     * The generation key of the random streams that are used to initialize the population.
+     */
+    private static final long INITIALIZATION = -1;
+    
+    private Scheduler scheduler;
+    private Workspace[] workspaces;
+    private Population offspring;
     
     /**
      * Constructor, constructing a new empty Population of possible solutions with the given parameters.
@@ -38,52 +44,47 @@ public class Population extends com.rdebokx.ltga.shared.Population {
     }
     
     @Override
-    public void initialize(JobConfiguration jobConfig, Randomizer randomizer){
+    protected void initialize(JobConfiguration jobConfig, Randomizer randomizer, int from){
         //long timeStart = System.currentTimeMillis();
 
-        //First fill population with random solutions. This is fast, and Random generators are not to be used in parallel.
-        for(int i = 0; i < populationSize; i++){
-            for(int j = 0; j < numberOfParameters; j++){
-                population[i][j] = randomizer.generator.nextBoolean();
+        //Every individual draws from its own random stream, such that the population does not depend on the amount of threads.
+        //A Randomizer that can not be split is shared by all workers, hence the solutions are then filled up front.
+        final boolean splittable = randomizer.isSplittable();
+        if(!splittable){
+            for(int i = from; i < populationSize; i++){
+                randomizer.fillRandomBits(population[i], numberOfParameters);
             }
         }
         
-        ExecutorService executor = Executors.newFixedThreadPool(jobConfig.EXECUTION_CONFIG.THREADS);
-        currentPointer = 0;
-        
-        for(int t = 0; t < jobConfig.EXECUTION_CONFIG.THREADS; t++){
-            executor.submit(() -> {
-                int processableIndex = this.getNextPointer();
-                while(processableIndex < this.populationSize){
-                    double objectiveVal = ProblemEvaluator.installedProblemEvaluation(jobConfig.PROBLEM_CONFIG, population[processableIndex], jobState);
-                    
-                    if(jobConfig.EXECUTION_CONFIG.USE_LOCAL_SEARCH){
-                        Solution localSearchSol = this.doHardLocalSearch(population[processableIndex], objectiveVal, 0, jobConfig.PROBLEM_CONFIG, randomizer);
-                        population[processableIndex] = localSearchSol.getSolution();
-                        objectiveValues[processableIndex] = localSearchSol.getObjectiveValue();
-                        constraintValues[processableIndex] = localSearchSol.getConstraintValue();
-                    } else {
-                        objectiveValues[processableIndex] = objectiveVal;
-                        constraintValues[processableIndex] = 0;
-                    }
-                    
-                    processableIndex = this.getNextPointer();
+        Workspace[] workspaces = getWorkspaces(jobConfig.EXECUTION_CONFIG.THREADS);
+        getScheduler().forEach(jobConfig.EXECUTION_CONFIG.THREADS, populationSize - from, (worker, start, end) -> {
+            Workspace workspace = workspaces[worker];
+            for(int processableIndex = from + start; processableIndex < from + end; processableIndex++){
+                Randomizer stream = workspace.getStream(randomizer, INITIALIZATION, processableIndex);
+                if(splittable){
+                    stream.fillRandomBits(population[processableIndex], numberOfParameters);
                 }
-            });
-        };
-        executor.shutdown();
-        try{
-            executor.awaitTermination(365, TimeUnit.DAYS);
-        } catch(InterruptedException e){
-            e.printStackTrace();
-        } 
+                double objectiveVal = ProblemEvaluator.installedProblemEvaluation(jobConfig.PROBLEM_CONFIG, population[processableIndex], numberOfParameters, jobState);
+                
+                if(jobConfig.EXECUTION_CONFIG.USE_LOCAL_SEARCH){
+                    this.doHardLocalSearch(population[processableIndex], objectiveVal, 0, jobConfig.PROBLEM_CONFIG, stream, workspace);
+                    objectiveValues[processableIndex] = workspace.getObjectiveValue();
+                    constraintValues[processableIndex] = workspace.getConstraintValue();
+                } else {
+                    objectiveValues[processableIndex] = objectiveVal;
+                    constraintValues[processableIndex] = 0;
+                }
+            }
+        });
         
         //long timeEnd = System.currentTimeMillis();
         //Profiler.recordExecution("Population.initialize", timeEnd - timeStart);
     }
     
     /**
-     * This function returns a new Population which is an offspring of this population.
+     * This function returns the Population which is an offspring of this population. The offspring is written into a
+     * partner population that is allocated once and that swaps roles with this population every generation. Hence, the
+     * solutions of this population are overwritten when the offspring of the returned population is made.
      * @param bestSoFar The best solution found so far.
      * @param genConfig The Genetic Configuration.
      * @param linkageModel The Linkage Tree that should be used for creating the offspring.
@@ -112,27 +113,41 @@ public class Population extends com.rdebokx.ltga.shared.Population {
      */
     public Population generateAndEvaluateNewSolutionsToFillOffspring(LearningModel linkageModel, Solution bestSoFar, JobConfiguration config, Randomizer randomizer){
         long timeStart = System.currentTimeMillis();
-        final Population offspring = new Population(populationSize, numberOfParameters, jobState);
+        final Population offspring = getOffspringBuffer();
         
-        ExecutorService executor = Executors.newFixedThreadPool(config.EXECUTION_CONFIG.THREADS);
-        currentPointer = 0;
-        
-        for(int t = 0; t < config.EXECUTION_CONFIG.THREADS; t++){
-            executor.submit(() -> {
-                int processableIndex = this.getNextPointer();
-                while(processableIndex < this.populationSize){
-                    Solution newSolution = generateNewSolution(linkageModel, population[processableIndex], 
-                        objectiveValues[processableIndex], constraintValues[processableIndex], bestSoFar, config, randomizer);
-                    offspring.set(processableIndex, newSolution);
-                    processableIndex = this.getNextPointer();
+        //Every individual draws from the stream of its own generation and index, such that the offspring does not depend on
+        //the amount of threads.
+        final long generation = jobState.getNumberOfGenerations();
+        Workspace[] workspaces = getWorkspaces(config.EXECUTION_CONFIG.THREADS);
+        if(config.PARALLEL_CONFIG.MODE == ParallelConfiguration.Mode.SPECULATIVE && populationSize < config.EXECUTION_CONFIG.THREADS){
+            //The solutions are mixed one after another, while the crossovers of every solution are evaluated concurrently.
+            //Only done if there are fewer solutions than threads, as the solutions are otherwise mixed concurrently instead.
+            Scheduler scheduler = getScheduler();
+            for(int processableIndex = 0; processableIndex < populationSize; processableIndex++){
+                if(jobState.isCancelled()){
+                    copySolution(processableIndex, offspring);
+                } else {
+                    generateNewSolutionSpeculatively(linkageModel, population[processableIndex], objectiveValues[processableIndex], 
+                        constraintValues[processableIndex], bestSoFar, config, workspaces[0].getStream(randomizer, generation, processableIndex), workspaces[0], 
+                        offspring.population[processableIndex], scheduler, config.EXECUTION_CONFIG.THREADS);
+                    offspring.objectiveValues[processableIndex] = workspaces[0].getObjectiveValue();
+                    offspring.constraintValues[processableIndex] = workspaces[0].getConstraintValue();
+                }
+            }
+        } else {
+            getScheduler().forEach(config.EXECUTION_CONFIG.THREADS, populationSize, (worker, from, to) -> {
+                Workspace workspace = workspaces[worker];
+                for(int processableIndex = from; processableIndex < to; processableIndex++){
+                    if(jobState.isCancelled()){
+                        copySolution(processableIndex, offspring);
+                    } else {
+                        generateNewSolution(linkageModel, population[processableIndex], objectiveValues[processableIndex], 
+                            constraintValues[processableIndex], bestSoFar, config, workspace.getStream(randomizer, generation, processableIndex), workspace, offspring.population[processableIndex]);
+                        offspring.objectiveValues[processableIndex] = workspace.getObjectiveValue();
+                        offspring.constraintValues[processableIndex] = workspace.getConstraintValue();
+                    }
                 }
             });
-        };
-        executor.shutdown();
-        try{
-            executor.awaitTermination(365, TimeUnit.DAYS);
-        } catch(InterruptedException e){
-            e.printStackTrace();
         }
         
         long timeEnd = System.currentTimeMillis();
@@ -140,9 +155,172 @@ public class Population extends com.rdebokx.ltga.shared.Population {
         return offspring;
     }
     
-    private synchronized int getNextPointer(){
-        int result = currentPointer;
-        currentPointer++;
-        return result;
+    /**
+     * This method generates a new solution exactly like generateNewSolution does, but evaluates the donor crossovers of up
+     * to window upcoming FOS elements concurrently on the given Scheduler. The results are committed in the original random
+     * order. When a crossover is accepted, the solution on which the later crossovers of the window were based has changed,
+     * hence they are evaluated again in the next window. As all donors are drawn up front, the same random numbers are drawn
+     * as by generateNewSolution, and the new solution is identical. Speculative evaluations only count as evaluations
+     * once they are committed, such that the amount of evaluations is identical as well.
+     * @param linkageModel The linkage model that should be used for mixing.
+     * @param solution The solution from which the new solution is generated.
+     * @param objectiveVal The objective value of the given solution.
+     * @param constraintVal The constraint value of the given solution.
+     * @param bestSoFar The best solution found so far.
+     * @param jobConfig The configuration of the job.
+     * @param randomizer The Randomizer object that should be used.
+     * @param workspace The scratch buffers of the calling thread, which hold the new objective and constraint value afterwards.
+     * @param dest The array to which the new solution has to be written. Should not be the given solution itself.
+     * @param scheduler The Scheduler on which the crossovers are evaluated.
+     * @param window The maximum amount of crossovers that are evaluated concurrently.
+     */
+    private void generateNewSolutionSpeculatively(LearningModel linkageModel, long[] solution, double objectiveVal, double constraintVal, 
+            Solution bestSoFar, JobConfiguration jobConfig, Randomizer randomizer, Workspace workspace, long[] dest, Scheduler scheduler, int window){
+        BitString.copy(solution, workspace.getBackup());
+        double objectiveValBackup = objectiveVal;
+        double constraintValBackup = constraintVal;
+        workspace.getCandidates(window);
+        double[] candidateObjectiveValues = workspace.getCandidateObjectiveValues();
+        
+        boolean solutionHasChanged = false;
+        LearningModel.Layout fos = linkageModel.getLayout();
+        int[] randomOrder = workspace.getOrder(fos.size());
+        randomizer.fillRandomOrder(randomOrder, fos.size());
+        int[] donors = workspace.getDonors(fos.size());
+        for(int i = 0; i < fos.size(); i++){
+            donors[i] = randomizer.generator.nextInt(populationSize);
+        }
+        
+        int i = 0;
+        while(i < fos.size()){
+            final int first = i;
+            final double baseObjective = objectiveValBackup;
+            int count = Math.min(window, fos.size() - i);
+            scheduler.forEach(count, count, (worker, from, to) -> {
+                for(int k = from; k < to; k++){
+                    evaluateCandidate(fos, randomOrder[first + k], population[donors[first + k]], k, baseObjective, jobConfig, workspace);
+                }
+            });
+            int k = 0;
+            boolean accepted = false;
+            while(k < count && !accepted){
+                if(commitCandidate(fos, randomOrder[i + k], k, objectiveValBackup, constraintValBackup, false, workspace)){
+                    objectiveValBackup = candidateObjectiveValues[k];
+                    constraintValBackup = 0;
+                    solutionHasChanged = true;
+                    accepted = true;
+                }
+                k++;
+            }
+            i += k;
+        }
+        
+        if(!solutionHasChanged || jobState.getNoImprovementStretch() > (1 + Math.log10(populationSize))){
+            i = fos.size() - 1;
+            solutionHasChanged = false;
+            randomizer.fillRandomOrder(randomOrder, fos.size());
+            while(i >= 0 && !solutionHasChanged){
+                final int first = i;
+                final double baseObjective = objectiveValBackup;
+                int count = Math.min(window, i + 1);
+                scheduler.forEach(count, count, (worker, from, to) -> {
+                    for(int k = from; k < to; k++){
+                        evaluateCandidate(fos, randomOrder[first - k], bestSoFar.getBits(), k, baseObjective, jobConfig, workspace);
+                    }
+                });
+                int k = 0;
+                while(k < count && !solutionHasChanged){
+                    if(commitCandidate(fos, randomOrder[i - k], k, objectiveValBackup, constraintValBackup, true, workspace)){
+                        objectiveValBackup = candidateObjectiveValues[k];
+                        constraintValBackup = 0;
+                        solutionHasChanged = true;
+                    }
+                    k++;
+                }
+                i -= k;
+            }
+        }
+        
+        finishNewSolution(solutionHasChanged, objectiveValBackup, constraintValBackup, bestSoFar, jobConfig, randomizer, workspace, dest);
+    }
+    
+    /**
+     * This method replaces the solution at the given index in place by a new solution, which is generated from it based on
+     * the given linkage model. Used by the steady-state mode, in which the workers replace solutions one at a time. The
+     * solution at the given index should not be replaced by another worker at the same time, while other solutions may be
+     * replaced concurrently. Donors may therefore be read while they are being replaced, mixing their old and new values,
+     * which only affects the values that are donated as every new solution is evaluated on its own.
+     * @param index The index of the solution that has to be replaced.
+     * @param linkageModel The linkage model that should be used for mixing.
+     * @param bestSoFar The best solution found so far.
+     * @param config The configuration of the job.
+     * @param randomizer The Randomizer object that should be used.
+     * @param workspace The scratch buffers of the calling worker, which hold the new objective and constraint value afterwards.
+     * @param offspring The buffer of the calling worker into which the new solution is generated before it is copied in place.
+     */
+    void replaceWithNewSolution(int index, LearningModel linkageModel, Solution bestSoFar, JobConfiguration config, Randomizer randomizer,
+            Workspace workspace, long[] offspring){
+        generateNewSolution(linkageModel, population[index], objectiveValues[index], constraintValues[index], bestSoFar, config, 
+            randomizer, workspace, offspring);
+        BitString.copy(offspring, population[index]);
+        objectiveValues[index] = workspace.getObjectiveValue();
+        constraintValues[index] = workspace.getConstraintValue();
+    }
+    
+    /**
+     * This function returns the population into which the offspring of this population has to be written. It is 
+     * allocated on first use and shares its workspaces with this population, which it will use to write its own offspring back.
+     * @return The partner population of this population.
+     */
+    private Population getOffspringBuffer(){
+        if(offspring == null){
+            offspring = new Population(populationSize, numberOfParameters, jobState);
+            offspring.offspring = this;
+            offspring.workspaces = workspaces;
+            offspring.scheduler = scheduler;
+        }
+        return offspring;
+    }
+    
+    /**
+     * This function returns one workspace per worker thread. The workspaces are allocated once and shared with the partner population.
+     * @param threads The amount of worker threads.
+     * @return An array containing a workspace for every worker thread.
+     */
+    Workspace[] getWorkspaces(int threads){
+        if(workspaces == null || workspaces.length < threads){
+            workspaces = new Workspace[threads];
+            for(int t = 0; t < threads; t++){
+                workspaces[t] = new Workspace(numberOfParameters);
+            }
+            if(offspring != null){
+                offspring.workspaces = workspaces;
+            }
+        }
+        return workspaces;
+    }
+    
+    /**
+     * This method sets the Scheduler on which the work for this population and its partner population is executed.
+     * @param scheduler The Scheduler that should be used.
+     */
+    public void setScheduler(Scheduler scheduler){
+        this.scheduler = scheduler;
+        if(offspring != null){
+            offspring.scheduler = scheduler;
+        }
+    }
+    
+    /**
+     * This function returns the Scheduler on which the work for this population is executed. The Scheduler is owned by
+     * whoever set it, who is responsible for shutting it down, see setScheduler.
+     * @return The Scheduler of this population.
+     * @throws IllegalStateException If no Scheduler was set for this population.
+     */
+    public Scheduler getScheduler(){
+        if(scheduler == null){
+            throw new IllegalStateException("No Scheduler was set for this population.");
+        }
+        return scheduler;
     }
 }
@@ -0,0 +1,128 @@
+package com.rdebokx.ltga.parallel;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-lived work-stealing scheduler for the perfect parallel engine. A Scheduler is owned by a ParallelJobRunner for the
+ * lifetime of its run, or shared between several runs, such that no threads are created and torn down every generation.
+ * Index ranges are handed out to the workers in adaptive chunks through an atomic counter.
+ */
+public class Scheduler {
+
+    /**
+     * Task that processes a range of indices on behalf of the given worker.
+     */
+    public interface RangeTask {
+
+        /**
+         * This method processes the indices from (inclusive) up to to (exclusive).
+         * @param worker The index of the worker, which is smaller than the amount of workers and can be used to select
+         * per-worker state such as a Workspace.
+         * @param from The first index to be processed (inclusive).
+         * @param to The last index to be processed (exclusive).
+         */
+        void run(int worker, int from, int to);
+    }
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor, constructing a new Scheduler with the given amount of threads.
+     * @param threads The amount of threads of this Scheduler.
+     */
+    public Scheduler(int threads){
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    /**
+     * @return The amount of threads of this Scheduler.
+     */
+    public int getThreads(){
+        return pool.getParallelism();
+    }
+
+    /**
+     * This method processes all indices from 0 up to size with the given amount of workers and returns when all indices
+     * have been processed. Every worker repeatedly claims the next chunk of indices from a shared atomic counter. Chunks
+     * start large and shrink as fewer indices remain, such that the load is balanced without claiming every index separately.
+     * @param workers The amount of workers that should process the indices.
+     * @param size The amount of indices to be processed.
+     * @param task The task that processes a range of indices.
+     */
+    public void forEach(int workers, int size, RangeTask task){
+        if(size <= 0){
+            return;
+        } else if(workers <= 1 || size == 1){
+            task.run(0, 0, size);
+            return;
+        }
+
+        final AtomicInteger next = new AtomicInteger();
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[workers];
+        for(int w = 0; w < workers; w++){
+            final int worker = w;
+            tasks[w] = ForkJoinTask.adapt(() -> {
+                int from = claim(next, size, workers);
+                while(from < size){
+                    task.run(worker, from, from + getChunkSize(from, size, workers));
+                    from = claim(next, size, workers);
+                }
+            });
+        }
+        invoke(new RecursiveAction(){
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute(){
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    /**
+     * This method executes the given task on this Scheduler and returns when it has completed.
+     * @param task The task to be executed.
+     */
+    public void invoke(ForkJoinTask<?> task){
+        pool.invoke(task);
+    }
+
+    /**
+     * This method shuts this Scheduler down. Tasks that were already started are completed.
+     */
+    public void shutdown(){
+        pool.shutdown();
+    }
+
+    /**
+     * This function claims the next chunk of indices.
+     * @param next The counter holding the first index that has not been claimed yet.
+     * @param size The amount of indices to be processed.
+     * @param workers The amount of workers.
+     * @return The first index of the claimed chunk, or a value of at least size if no indices remain.
+     */
+    private static int claim(AtomicInteger next, int size, int workers){
+        while(true){
+            int from = next.get();
+            if(from >= size){
+                return from;
+            }
+            if(next.compareAndSet(from, from + getChunkSize(from, size, workers))){
+                return from;
+            }
+        }
+    }
+
+    /**
+     * @param from The first index of the chunk.
+     * @param size The amount of indices to be processed.
+     * @param workers The amount of workers.
+     * @return The size of the chunk starting at the given index, being proportional to the amount of remaining indices.
+     */
+    private static int getChunkSize(int from, int size, int workers){
+        return Math.max(1, (size - from) / (2 * workers));
+    }
+}
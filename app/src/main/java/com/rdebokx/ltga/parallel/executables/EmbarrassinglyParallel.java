@@ -10,6 +10,7 @@ public class EmbarrassinglyParallel {
         EPJobRunner runner = new EPJobRunner(jobConfig, true);
         runner.run();
         System.out.println("Best found solution: " + runner.getBestFound());
+        System.out.println("Evaluations performed: " + runner.getNumberOfEvaluations());
     }
     
     
@@ -0,0 +1,14 @@
+package com.rdebokx.ltga.parallel.executables;
+
+import com.rdebokx.ltga.parallel.HybridJobRunner;
+import com.rdebokx.ltga.config.JobConfiguration;
+
+public class Hybrid {
+    
+    public static void main(String[] args) {
+        JobConfiguration jobConfig = Main.loadJobConfiguration(args);
+        HybridJobRunner runner = new HybridJobRunner(jobConfig, true);
+        runner.run();
+        System.out.println("Evaluations performed: " + runner.getNumberOfEvaluations());
+    }
+}
@@ -0,0 +1,94 @@
+package com.rdebokx.ltga.parallel.workers;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join task that processes the upper triangle (including the diagonal) of a symmetric size x size matrix in square
+ * tiles of TILE_SIZE x TILE_SIZE. The tiles are numbered row by row and the range of tiles of a task is split in halves
+ * until a single tile remains, such that idle workers can steal the remaining halves.
+ */
+public class TriangleTileTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The length of the side of a tile, chosen such that the rows and columns involved in one tile fit in the cache.
+     */
+    public static final int TILE_SIZE = 64;
+
+    /**
+     * The operation that is performed on every tile.
+     */
+    public interface TileOperation {
+
+        /**
+         * This method processes all cells (i, j) with i in [iFrom, iTo), j in [jFrom, jTo) and i <= j.
+         * @param iFrom The first row of the tile (inclusive).
+         * @param iTo The last row of the tile (exclusive).
+         * @param jFrom The first column of the tile (inclusive).
+         * @param jTo The last column of the tile (exclusive).
+         */
+        void process(int iFrom, int iTo, int jFrom, int jTo);
+    }
+
+    private final int size;
+    private final int tilesPerRow;
+    private final int fromTile;
+    private final int toTile;
+    private final TileOperation operation;
+
+    /**
+     * Constructor, constructing a task that processes all tiles of the upper triangle of a matrix of the given size.
+     * @param size The amount of rows and columns of the matrix.
+     * @param operation The operation that has to be performed on every tile.
+     */
+    public TriangleTileTask(int size, TileOperation operation){
+        this(size, (size + TILE_SIZE - 1) / TILE_SIZE, 0, getNumberOfTiles((size + TILE_SIZE - 1) / TILE_SIZE), operation);
+    }
+
+    /**
+     * Private constructor, used for splitting this task.
+     * @param size The amount of rows and columns of the matrix.
+     * @param tilesPerRow The amount of tiles in the first row of tiles.
+     * @param fromTile The first tile to be processed (inclusive).
+     * @param toTile The last tile to be processed (exclusive).
+     * @param operation The operation that has to be performed on every tile.
+     */
+    private TriangleTileTask(int size, int tilesPerRow, int fromTile, int toTile, TileOperation operation){
+        this.size = size;
+        this.tilesPerRow = tilesPerRow;
+        this.fromTile = fromTile;
+        this.toTile = toTile;
+        this.operation = operation;
+    }
+
+    @Override
+    protected void compute(){
+        if(toTile - fromTile > 1){
+            int middle = (fromTile + toTile) >>> 1;
+            invokeAll(new TriangleTileTask(size, tilesPerRow, fromTile, middle, operation),
+                new TriangleTileTask(size, tilesPerRow, middle, toTile, operation));
+        } else if(toTile > fromTile){
+            //Determine the row and column of tile fromTile, where row r contains tilesPerRow - r tiles.
+            int tileRow = 0;
+            int tile = fromTile;
+            while(tile >= tilesPerRow - tileRow){
+                tile -= tilesPerRow - tileRow;
+                tileRow++;
+            }
+            int tileColumn = tileRow + tile;
+
+            int iFrom = tileRow * TILE_SIZE;
+            int jFrom = tileColumn * TILE_SIZE;
+            operation.process(iFrom, Math.min(iFrom + TILE_SIZE, size), jFrom, Math.min(jFrom + TILE_SIZE, size));
+        }
+    }
+
+    /**
+     * @param tilesPerRow The amount of tiles in the first row of tiles.
+     * @return The amount of tiles in the upper triangle.
+     */
+    private static int getNumberOfTiles(int tilesPerRow){
+        return tilesPerRow * (tilesPerRow + 1) / 2;
+    }
+}
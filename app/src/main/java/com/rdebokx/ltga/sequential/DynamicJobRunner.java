@@ -1,10 +1,12 @@
 package com.rdebokx.ltga.sequential;
 
 import com.rdebokx.ltga.config.JobConfiguration;
+import com.rdebokx.ltga.config.ParallelConfiguration;
 import com.rdebokx.ltga.shared.FitnessComparator;
 import com.rdebokx.ltga.shared.JobRunner;
 import com.rdebokx.ltga.shared.JobState;
 import com.rdebokx.ltga.shared.LearningModel;
+import com.rdebokx.ltga.shared.PopulationSizeLadder;
 import com.rdebokx.ltga.shared.Randomizer;
 import com.rdebokx.ltga.shared.Solution;
 
@@ -63,22 +65,35 @@ public class DynamicJobRunner extends JobRunner {
             System.out.println("Jobrunner started for problem " + currentConfig.PROBLEM_CONFIG.PROBLEM);
         }
         
-        boolean stopRunner = false;
-        while(!stopRunner){
-            //Initialize SequentialJobRunner
-            SequentialJobRunner runner = new SequentialJobRunner(currentConfig, false, this.fixedFOS, this.randomizer.generator.nextLong());
-            runner.run();
-            if(printResults){
-                System.out.println("JobRunner finished for n=" + currentConfig.GENETIC_CONFIG.POPULATION_SIZE + " objectiveValue: " + runner.getBestFound().getObjectiveValue());
-            }
-            //Store result if founda
-            if(runner.getBestFound() != null){
-                updateBestFound(runner.getBestFound());
-            }
+        if(CONFIG.PARALLEL_CONFIG.INTERLEAVING_RATIO != ParallelConfiguration.NO_INTERLEAVING){
+            //Run the population sizes concurrently, interleaving their generations.
+            PopulationSizeLadder ladder = new PopulationSizeLadder(this, currentConfig, CONFIG.PARALLEL_CONFIG.INTERLEAVING_RATIO, 
+                    CONFIG.EXECUTION_CONFIG.THREADS, (config, seed) -> new SequentialJobRunner(config, false, this.fixedFOS, seed));
+            ladder.run();
+            currentConfig = ladder.getLargestConfig();
+        } else {
+            boolean stopRunner = false;
+            JobRunner previous = null;
+            while(!stopRunner){
+                //Initialize SequentialJobRunner
+                SequentialJobRunner runner = new SequentialJobRunner(currentConfig, false, this.fixedFOS, this.randomizer.generator.nextLong());
+                if(previous != null && CONFIG.PARALLEL_CONFIG.POPULATION_GROWTH == ParallelConfiguration.PopulationGrowth.IN_PLACE){
+                    runner.growFrom(previous);
+                }
+                runner.run();
+                previous = runner;
+                if(printResults){
+                    System.out.println("JobRunner finished for n=" + currentConfig.GENETIC_CONFIG.POPULATION_SIZE + " objectiveValue: " + runner.getBestFound().getObjectiveValue());
+                }
+                //Store result if founda
+                if(runner.getBestFound() != null){
+                    updateBestFound(runner.getBestFound());
+                }
         
-            this.jobState.incrementNumberOfEvaluations(runner.getJobState().getNumberOfEvaluations());
-            stopRunner = this.checkTerminationCondition() || runner.getBestFound() == null;
-            currentConfig = currentConfig.copyForPopSize(currentConfig.GENETIC_CONFIG.POPULATION_SIZE * 2);
+                this.jobState.incrementNumberOfEvaluations(runner.getJobState().getNumberOfEvaluations());
+                stopRunner = this.checkTerminationCondition() || runner.getBestFound() == null;
+                currentConfig = currentConfig.copyForPopSize(currentConfig.GENETIC_CONFIG.POPULATION_SIZE * 2);
+            }
         }
         
         //Print results
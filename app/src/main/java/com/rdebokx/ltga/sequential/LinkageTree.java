@@ -1,11 +1,13 @@
 package com.rdebokx.ltga.sequential;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
+import com.rdebokx.ltga.shared.AgglomerativeClustering;
+import com.rdebokx.ltga.shared.JointEntropies;
 import com.rdebokx.ltga.shared.LearningModel;
 import com.rdebokx.ltga.config.ExecutionConfiguration;
-import com.rdebokx.ltga.shared.NearestNeighborChain;
-import com.rdebokx.ltga.shared.Pair;
+import com.rdebokx.ltga.config.LearningConfiguration;
 import com.rdebokx.ltga.shared.ParameterSet;
 import com.rdebokx.ltga.shared.Randomizer;
 
@@ -17,7 +19,31 @@ public class LinkageTree extends LearningModel {
      * @param randomizer The Randomizer object that should be used.
      */
     public LinkageTree(Population population, Randomizer randomizer, ExecutionConfiguration execConfig){
-        learnStructure(population, randomizer, execConfig);
+        this(population, randomizer, execConfig, LearningConfiguration.DEFAULT);
+    }
+    
+    /**
+     * Constructor, creating a new Linkage Tree that was learned from the given population.
+     * @param population The population from which a new Linkage Tree has to be learned.
+     * @param randomizer The Randomizer object that should be used.
+     * @param execConfig The ExecutionConfiguration used for initializing the tree.
+     * @param learningConfig The LearningConfiguration, determining how the MIMatrix is stored.
+     */
+    public LinkageTree(Population population, Randomizer randomizer, ExecutionConfiguration execConfig, LearningConfiguration learningConfig){
+        learnStructure(population, null, randomizer, execConfig, learningConfig);
+    }
+    
+    /**
+     * Constructor, creating a new Linkage Tree that was learned from the given joint entropies of the given population.
+     * @param population The population from which a new Linkage Tree has to be learned.
+     * @param jointEntropies The joint entropies of the given population, for instance those of joint frequencies that are
+     * maintained across generations.
+     * @param randomizer The Randomizer object that should be used.
+     * @param execConfig The ExecutionConfiguration used for initializing the tree.
+     * @param learningConfig The LearningConfiguration, determining how the MIMatrix is stored.
+     */
+    public LinkageTree(Population population, JointEntropies jointEntropies, Randomizer randomizer, ExecutionConfiguration execConfig, LearningConfiguration learningConfig){
+        learnStructure(population, jointEntropies, randomizer, execConfig, learningConfig);
     }
     
     /**
@@ -31,9 +57,12 @@ public class LinkageTree extends LearningModel {
     /**
      * This function learns a Linkage Tree based on the given population, making use of a Nearest Neighbor Chain.
      * @param population The population from which the Linkage Tree has to be learned.
+     * @param jointEntropies The joint entropies of the given population, or null if these have to be computed from the population.
      * @param randomizer The Randomizer object that should be used.
+     * @param execConfig The ExecutionConfiguration used for initializing the tree.
+     * @param learningConfig The LearningConfiguration, determining how the MIMatrix is stored.
      */
-    private void learnStructure(Population population, Randomizer randomizer, ExecutionConfiguration execConfig){
+    private void learnStructure(Population population, JointEntropies jointEntropies, Randomizer randomizer, ExecutionConfiguration execConfig, LearningConfiguration learningConfig){
         //long timeStart = System.currentTimeMillis();
         
         //Use random order, to avoid bias when determining NN (when some points have the same MI).
@@ -45,7 +74,8 @@ public class LinkageTree extends LearningModel {
         for(int i = 0; i < numberOfParameters; i++){
             mpm[i] = new ParameterSet(i, order[i]);
         }
-        MIMatrix SMatrix = new MIMatrix(mpm, population);
+        MIMatrix SMatrix = jointEntropies == null ? new MIMatrix(mpm, population, learningConfig, randomizer)
+                : new MIMatrix(mpm, jointEntropies, learningConfig.MATRIX_STORAGE);
         
         learnStructureWithMatrix(numberOfParameters, SMatrix, mpm, randomizer, execConfig.USE_LOCAL_SEARCH);
         
@@ -54,7 +84,7 @@ public class LinkageTree extends LearningModel {
     }
     
     /**
-     * This function learns a Linkage Tree based on the given MIMatrix and mpm
+     * This function learns a Linkage Tree based on the given MIMatrix and mpm. Note that the given MIMatrix and mpm are altered.
      * @param numberOfParameters The number of paramters of the problem at hand.
      * @param SMatrix The Similarity Matrix on which the LT has to be based.
      * @param mpm The Marginal Product Model for learning the LT.
@@ -62,39 +92,13 @@ public class LinkageTree extends LearningModel {
      * @param useLocalSearch Boolean indicating whether local search is used. If local search is not used, all singleton sets will be added to the bottom of the tree.
      */
     public void learnStructureWithMatrix(int numberOfParameters, MIMatrix SMatrix, ParameterSet[] mpm, Randomizer randomizer, boolean useLocalSearch){
-        model = new ArrayList<ParameterSet>(mpm.length);
-        if(!useLocalSearch){
-            for(ParameterSet paramSet : mpm){
-                model.add(paramSet);
-            }
-        }
-        
-        //Construct NN chain
-        boolean done = false;
-        NearestNeighborChain nnChain = new NearestNeighborChain(numberOfParameters);
-        
-        while(!done){
-            Pair<ParameterSet> nn = nnChain.getNNTuple(SMatrix, mpm, randomizer);
-            
-            //store set of considered indices in the LT, update SMatrix and construct new MPM
-            ParameterSet r0 = nn.getVal1();
-            ParameterSet r1 = nn.getVal2();
-            ParameterSet newSet = new ParameterSet(-1, r0, r1);
-            //avoid adding the full set
-            if(newSet.size() < numberOfParameters){
-                model.add(newSet);
-            }
-            
-            SMatrix.updateSMatrix(r0, r1);
-            
-            mpm = constructNewMpm(mpm, SMatrix, nn.getVal1(), nn.getVal2(), newSet);
-            done = mpm.length == 1;
-        }
+        model = AgglomerativeClustering.learnLinkageTree(numberOfParameters, SMatrix, mpm, randomizer, useLocalSearch);
     }
     
     /**
      * This function constructs a new Marginal Product Model for when r0 and r1 would be merged, based on the current state.
-     * It will return a new MPM and update the given Similarity Matrix.
+     * It will return a new MPM and update the given Similarity Matrix. The given MPM itself is left unaltered, while the
+     * Linkage Tree is learned by merging in place, see AgglomerativeClustering.merge.
      * 
      * This method was made public for testing purposes.
      * 
@@ -106,35 +110,9 @@ public class LinkageTree extends LearningModel {
      * @return The new MPM, based on merging r0 and r1.
      */
     public static ParameterSet[] constructNewMpm(ParameterSet[] mpm, MIMatrix SMatrix, ParameterSet r0, ParameterSet r1, ParameterSet newSet){
-        //long timeStart = System.currentTimeMillis();
-        
-        int newSize = mpm.length - 1;
-        ParameterSet[] newMpm = new ParameterSet[newSize];
-        
-        for(int i = 0; i < newSize; i++){
-            //Add all elements except for last one
-            newMpm[i] = mpm[i];
-        }
-        
-        newMpm[r0.getIndex()] = newSet;
-        newSet.setIndex(r0.getIndex());
-        if(r1.getIndex() < newMpm.length){
-            ParameterSet last = mpm[mpm.length - 1];
-            newMpm[r1.getIndex()] = last;
-            last.setIndex(r1.getIndex());
-            
-            //Update SMatrix
-            for(int i = 0; i < newMpm.length; i++){
-                SMatrix.set(i, r1.getIndex(), SMatrix.get(i, mpm.length - 1));
-                SMatrix.set(r1.getIndex(), i, SMatrix.get(i, r1.getIndex()));
-            }
-            SMatrix.set(r1.getIndex(), r1.getIndex(), SMatrix.get(mpm.length - 1, mpm.length - 1));
-        }
-        
-        //long timeEnd = System.currentTimeMillis();
-        //Profiler.recordExecution("LinkageTree.constructNewMpm", timeEnd - timeStart);
-        
-        return newMpm;
+        ParameterSet[] newMpm = mpm.clone();
+        int newSize = AgglomerativeClustering.merge(newMpm, newMpm.length, SMatrix, r0, r1, newSet);
+        return Arrays.copyOf(newMpm, newSize);
     }
     
     /**
@@ -1,10 +1,11 @@
 package com.rdebokx.ltga.sequential;
 
-import java.util.Arrays;
-
+import com.rdebokx.ltga.config.LearningConfiguration;
 import com.rdebokx.ltga.profiler.Profiler;
-import com.rdebokx.ltga.shared.Distribution;
+import com.rdebokx.ltga.shared.BitColumns;
+import com.rdebokx.ltga.shared.JointEntropies;
 import com.rdebokx.ltga.shared.ParameterSet;
+import com.rdebokx.ltga.shared.Randomizer;
 
 public class MIMatrix extends com.rdebokx.ltga.shared.MIMatrix {
     
@@ -13,8 +14,42 @@ public class MIMatrix extends com.rdebokx.ltga.shared.MIMatrix {
      * @param population The population for which the Mutual Information Matrix has to be constructed.
      */
     public MIMatrix(ParameterSet[] mpm, Population population){
-        super(population.getNumberOfParameters());
-        constructMIMatrix(mpm, population);
+        this(mpm, population, Storage.FULL);
+    }
+    
+    /**
+     * Constructor, constructing a Mutual Information Matrix with the given storage based on the given Marginal Product Model and the given population.
+     * @param population The population for which the Mutual Information Matrix has to be constructed.
+     * @param storage The way in which the values of this matrix have to be stored.
+     */
+    public MIMatrix(ParameterSet[] mpm, Population population, Storage storage){
+        super(population.getNumberOfParameters(), storage);
+        constructMIMatrix(mpm, new BitColumns(population));
+    }
+    
+    /**
+     * Constructor, constructing a Mutual Information Matrix based on the given Marginal Product Model and the given
+     * population, which is estimated from a random sample of the population if the given configuration asks for sampling.
+     * @param mpm The Marginal Product Model, holding a single parameter per ParameterSet.
+     * @param population The population for which the Mutual Information Matrix has to be constructed.
+     * @param learningConfig The LearningConfiguration, holding the storage and the error bound for sampling.
+     * @param randomizer The Randomizer object that should be used for drawing the sample.
+     */
+    public MIMatrix(ParameterSet[] mpm, Population population, LearningConfiguration learningConfig, Randomizer randomizer){
+        super(population.getNumberOfParameters(), learningConfig.MATRIX_STORAGE);
+        constructMIMatrix(mpm, BitColumns.forLearning(population, learningConfig, randomizer));
+    }
+    
+    /**
+     * Constructor, constructing a Mutual Information Matrix with the given storage based on the given Marginal Product 
+     * Model and the given joint entropies, for instance those of joint frequencies that are maintained across generations.
+     * @param mpm The Marginal Product Model, holding a single parameter per ParameterSet.
+     * @param jointEntropies The joint entropies of the population for which the Mutual Information Matrix has to be constructed.
+     * @param storage The way in which the values of this matrix have to be stored.
+     */
+    public MIMatrix(ParameterSet[] mpm, JointEntropies jointEntropies, Storage storage){
+        super(mpm.length, storage);
+        constructMIMatrix(mpm, jointEntropies);
     }
     
     /**
@@ -26,42 +61,48 @@ public class MIMatrix extends com.rdebokx.ltga.shared.MIMatrix {
     }
     
     /**
-     * This is an internal method that calculates the values of the matrix, based on the given population
-     * @param population The population for which the Mutual Information Matrix has to be constructed.
+     * Constructor, constructing an empty MIMatrix with the given storage.
+     * @param numberOfParameters The number of parameters for this MIMatrix
+     * @param storage The way in which the values of this matrix have to be stored.
      */
-    private void constructMIMatrix(ParameterSet[] mpm, Population population){
+    public MIMatrix(int numberOfParameters, Storage storage){
+        super(numberOfParameters, storage);
+    }
+    
+    /**
+     * This is an internal method that calculates the values of the matrix, based on the given joint entropies.
+     * @param mpm The Marginal Product Model, holding a single parameter per ParameterSet.
+     * @param jointEntropies The joint entropies of the population for which the Mutual Information Matrix has to be constructed.
+     */
+    private void constructMIMatrix(ParameterSet[] mpm, JointEntropies jointEntropies){
         long timeStart = System.currentTimeMillis();
 
         /*
          * Fill with entropy values.
-         * Note that this seems to differ from the implementation in c, where the cumulative chances are calculated and after that
-         * transformed back to individual chances, which are then used to calculate the joint entropy. This is equal to our implementation
-         * of calculating the joint entropy in our Distribution class.
+         * The joint entropies either follow from the population transposed into column bitsets, of which the joint
+         * frequencies of every pair of parameters are obtained by AND+popcount, or from joint frequencies that are
+         * maintained across generations. The entropy values are read from a table indexed by frequency.
          */
         
         //long entropyTimeStart = System.currentTimeMillis();
-        for(int i = 0; i < population.getNumberOfParameters(); i++){
+        for(int i = 0; i < size; i++){
             ParameterSet paramSet1 = mpm[i];
-            int param1 = paramSet1.iterator().next();
+            int param1 = paramSet1.getParameters()[0];
             for(int j = i + 1; j < mpm.length; j++){
                 ParameterSet paramSet2 = mpm[j];
-                Distribution dist = new Distribution(population, param1, paramSet2.iterator().next());
-                matrix[paramSet1.getIndex()][paramSet2.getIndex()] = dist.getJointEntropy();
-                matrix[paramSet2.getIndex()][paramSet1.getIndex()] = matrix[paramSet1.getIndex()][paramSet2.getIndex()];
+                setSymmetric(paramSet1.getIndex(), paramSet2.getIndex(), jointEntropies.getJointEntropy(param1, paramSet2.getParameters()[0]));
             }
             
-            Distribution distI = new Distribution(population, param1, param1);
-            matrix[paramSet1.getIndex()][paramSet1.getIndex()] = distI.getJointEntropy();
+            set(paramSet1.getIndex(), paramSet1.getIndex(), jointEntropies.getJointEntropy(param1, param1));
         }
         //long entropyTimeEnd = System.currentTimeMillis();
         //Profiler.recordExecution("MIMatrix.constructMIMatrix - entropyValues", entropyTimeEnd - entropyTimeStart);
         
         //calculate MI values
         //long miTimeStart = System.currentTimeMillis();
-        for(int i = 0; i < population.getNumberOfParameters(); i++){
-            for(int j = i + 1; j < population.getNumberOfParameters(); j++){
-                matrix[i][j] = matrix[i][i] + matrix[j][j] - matrix[i][j];
-                matrix[j][i] = matrix[i][j];
+        for(int i = 0; i < size; i++){
+            for(int j = i + 1; j < size; j++){
+                setSymmetric(i, j, get(i, i) + get(j, j) - get(i, j));
             }
         }
         //long miTimeEnd = System.currentTimeMillis();
@@ -71,21 +112,13 @@ public class MIMatrix extends com.rdebokx.ltga.shared.MIMatrix {
         Profiler.recordExecution("MIMatrix.constructMIMatrix", timeEnd - timeStart);
     }
     
+    /**
+     * This method updates this Mutual Information Matrix for when the given ParameterSets would be merged.
+     * @param r0 The first ParameterSet.
+     * @param r1 The second ParameterSet.
+     */
     public void updateSMatrix(ParameterSet r0, ParameterSet r1){
-        //long timeStart = System.currentTimeMillis();
-        
-        double mul0 = r0.size() / ((r0.size() + r1.size()) * 1.0);
-        double mul1 = r1.size() / ((r0.size() + r1.size()) * 1.0);
-        
-        for(int i = 0; i < matrix.length; i++){
-            if(i != r0.getIndex() && i != r1.getIndex()){
-                matrix[i][r0.getIndex()] = mul0 * matrix[i][r0.getIndex()] + mul1 * matrix[i][r1.getIndex()];
-                matrix[r0.getIndex()][i] = matrix[i][r0.getIndex()];
-            }
-        }
-        
-        //long timeEnd = System.currentTimeMillis();
-        //Profiler.recordExecution("MIMatrix.updateSMatrix", timeEnd - timeStart);
+        updateSMatrix(r0, r1, size);
     }
     
 
@@ -95,10 +128,8 @@ public class MIMatrix extends com.rdebokx.ltga.shared.MIMatrix {
      */
     @Override
     public MIMatrix clone(){
-        MIMatrix out = new MIMatrix(matrix.length);
-        for(int i = 0; i < matrix.length; i++){
-            out.matrix[i] = Arrays.copyOf(matrix[i], matrix[i].length);
-        }
+        MIMatrix out = new MIMatrix(size, storage);
+        copyTo(out);
         
         return out;
     }
@@ -8,9 +8,13 @@ import com.rdebokx.ltga.shared.LearningModel;
 import com.rdebokx.ltga.shared.ProblemEvaluator;
 import com.rdebokx.ltga.shared.Randomizer;
 import com.rdebokx.ltga.shared.Solution;
+import com.rdebokx.ltga.shared.Workspace;
 
 public class Population extends com.rdebokx.ltga.shared.Population {
     
+    private Workspace workspace;
+    private Population offspring;
+    
     /**
      * Constructor, constructing an empty population with the given parameters.
      * @param populationSize The size of the population.
@@ -19,6 +23,7 @@ public class Population extends com.rdebokx.ltga.shared.Population {
      */
     public Population(int populationSize, int numberOfParameters, JobState jobState){
         super(populationSize, numberOfParameters, jobState);
+        workspace = new Workspace(numberOfParameters);
     }
     
     /**
@@ -30,23 +35,21 @@ public class Population extends com.rdebokx.ltga.shared.Population {
      */
     public Population(boolean[][] population, double[] objectiveValues, double[] constraintValues, JobState jobState){
         super(population, objectiveValues, constraintValues, jobState);
+        workspace = new Workspace(numberOfParameters);
     }
     
     @Override
-    public void initialize(JobConfiguration jobConfig, Randomizer randomizer){
+    protected void initialize(JobConfiguration jobConfig, Randomizer randomizer, int from){
         //long timeStart = System.currentTimeMillis();
         
-        for(int i = 0; i < populationSize; i++){
-            for(int j = 0; j < numberOfParameters; j++){
-                population[i][j] = randomizer.generator.nextBoolean();
-            }
-            double objectiveVal = ProblemEvaluator.installedProblemEvaluation(jobConfig.PROBLEM_CONFIG, population[i], jobState);
+        for(int i = from; i < populationSize; i++){
+            randomizer.fillRandomBits(population[i], numberOfParameters);
+            double objectiveVal = ProblemEvaluator.installedProblemEvaluation(jobConfig.PROBLEM_CONFIG, population[i], numberOfParameters, jobState);
             
             if(jobConfig.EXECUTION_CONFIG.USE_LOCAL_SEARCH){
-                Solution localSearchSol = this.doHardLocalSearch(population[i], objectiveVal, 0, jobConfig.PROBLEM_CONFIG, randomizer);
-                population[i] = localSearchSol.getSolution();
-                objectiveValues[i] = localSearchSol.getObjectiveValue();
-                constraintValues[i] = localSearchSol.getConstraintValue();
+                this.doHardLocalSearch(population[i], objectiveVal, 0, jobConfig.PROBLEM_CONFIG, randomizer, workspace);
+                objectiveValues[i] = workspace.getObjectiveValue();
+                constraintValues[i] = workspace.getConstraintValue();
             } else {
                 objectiveValues[i] = objectiveVal;
                 constraintValues[i] = 0;
@@ -58,7 +61,9 @@ public class Population extends com.rdebokx.ltga.shared.Population {
     }
     
     /**
-     * This function returns a new Population which is an offspring of this population.
+     * This function returns the Population which is an offspring of this population. The offspring is written into a
+     * partner population that is allocated once and that swaps roles with this population every generation. Hence, the
+     * solutions of this population are overwritten when the offspring of the returned population is made.
      * @param bestSoFar The best solution found so far.
      * @param genConfig The Genetic Configuration.
      * @param lm The Learning Model that should be used for creating the offspring.
@@ -88,15 +93,34 @@ public class Population extends com.rdebokx.ltga.shared.Population {
     public Population generateAndEvaluateNewSolutionsToFillOffspring(LearningModel lm, Solution bestSoFar, JobConfiguration jobConfig, Randomizer randomizer){
         long timeStart = System.currentTimeMillis();
         
-        Population offspring = new Population(populationSize, numberOfParameters, jobState);
+        Population offspring = getOffspringBuffer();
         
         for(int i = 0; i < populationSize; i++){
-            Solution newSolution = generateNewSolution(lm, population[i], objectiveValues[i], constraintValues[i], bestSoFar, jobConfig, randomizer);
-            offspring.set(i, newSolution);
+            if(jobState.isCancelled()){
+                copySolution(i, offspring);
+            } else {
+                generateNewSolution(lm, population[i], objectiveValues[i], constraintValues[i], bestSoFar, jobConfig, randomizer, workspace, offspring.population[i]);
+                offspring.objectiveValues[i] = workspace.getObjectiveValue();
+                offspring.constraintValues[i] = workspace.getConstraintValue();
+            }
         }
         
         long timeEnd = System.currentTimeMillis();
         Profiler.recordExecution("Population.generateAndEvaluateNewSolutionsToFillOffspring", timeEnd - timeStart);
         return offspring;
     }
+    
+    /**
+     * This function returns the population into which the offspring of this population has to be written. It is 
+     * allocated on first use and shares its workspace with this population, which it will use to write its own offspring back.
+     * @return The partner population of this population.
+     */
+    private Population getOffspringBuffer(){
+        if(offspring == null){
+            offspring = new Population(populationSize, numberOfParameters, jobState);
+            offspring.workspace = workspace;
+            offspring.offspring = this;
+        }
+        return offspring;
+    }
 }
@@ -2,7 +2,9 @@ package com.rdebokx.ltga.sequential;
 
 import com.rdebokx.ltga.config.JobConfiguration;
 import com.rdebokx.ltga.profiler.Profiler;
+import com.rdebokx.ltga.shared.GenerationalJobRunner;
 import com.rdebokx.ltga.shared.JobRunner;
+import com.rdebokx.ltga.shared.Island;
 import com.rdebokx.ltga.shared.JobState;
 import com.rdebokx.ltga.shared.LearningModel;
 import com.rdebokx.ltga.shared.Randomizer;
@@ -12,7 +14,9 @@ import com.rdebokx.ltga.shared.Randomizer;
  * @author Rdebokx
  *
  */
-public class SequentialJobRunner extends JobRunner {
+public class SequentialJobRunner extends JobRunner implements GenerationalJobRunner {
+    
+    private Island island;
 
     /**
      * Constructor, initializing this job runner with the given configuration and a new JobState object.
@@ -79,24 +83,11 @@ public class SequentialJobRunner extends JobRunner {
         }
         */
 
-        if(population == null){
-            population = new Population(CONFIG.GENETIC_CONFIG.POPULATION_SIZE, CONFIG.GENETIC_CONFIG.NUMBER_OF_PARAMETERS, jobState);
-            population.initialize(CONFIG, this.randomizer);
-        }
-        
-        bestSoFar = population.determineBestSoFar(null);
+        initializeRun();
         
         while (!checkTerminationCondition()) {
             System.out.println("Generation " +jobState.getNumberOfGenerations());
-            //Create offspring. New objective and constraint values are already saved in inputted arrays.
-            
-            LearningModel linkageModel = fixedFOS == null ? new LinkageTree((Population) population, this.randomizer, CONFIG.EXECUTION_CONFIG) : fixedFOS;
-            
-            population = ((Population) population).makeOffspring(bestSoFar, CONFIG, linkageModel, this.randomizer);
-
-            jobState.incrementNumberOfGenerations();
-
-            bestSoFar = population.determineBestSoFar(bestSoFar);
+            runGeneration();
         }
 
         Profiler.setProgramEnd();
@@ -109,6 +100,53 @@ public class SequentialJobRunner extends JobRunner {
         }
     }
 
+    /**
+     * This method initializes the population of this JobRunner and determines the best solution so far.
+     */
+    @Override
+    public void initializeRun() {
+        if(population == null){
+            population = new Population(CONFIG.GENETIC_CONFIG.POPULATION_SIZE, CONFIG.GENETIC_CONFIG.NUMBER_OF_PARAMETERS, jobState);
+            if(previousPopulation != null){
+                population.initializeFrom(previousPopulation, CONFIG, this.randomizer);
+                previousPopulation = null;
+            } else {
+                population.initialize(CONFIG, this.randomizer);
+            }
+        }
+        
+        bestSoFar = population.determineBestSoFar(null);
+    }
+    
+    /**
+     * This method executes a single generation of this JobRunner.
+     */
+    @Override
+    public void runGeneration() {
+        //Create offspring. New objective and constraint values are already saved in inputted arrays.
+        LearningModel linkageModel = getLinkageModel(() -> new LinkageTree((Population) population, updateJointFrequencies(), this.randomizer, CONFIG.EXECUTION_CONFIG, CONFIG.LEARNING_CONFIG));
+        
+        population = ((Population) population).makeOffspring(bestSoFar, CONFIG, linkageModel, this.randomizer);
+
+        jobState.incrementNumberOfGenerations();
+        
+        //Exchange migrants before determining the best solution, such that injected migrants are taken into account.
+        if(island != null){
+            island.migrate(population, jobState.getNumberOfGenerations());
+        }
+
+        bestSoFar = population.determineBestSoFar(bestSoFar);
+    }
+    
+    /**
+     * This method makes this JobRunner run as the given island, exchanging migrants with the other islands at the end of
+     * every generation.
+     * @param island The island as which this JobRunner runs.
+     */
+    public void setIsland(Island island){
+        this.island = island;
+    }
+
 	@Override
 	public JobRunner getNewRunnerWithConfig(JobConfiguration config) {
 		return new SequentialJobRunner(config, false);
@@ -250,8 +250,7 @@ public class Main {
             }
             int numberOfEdges = Integer.parseInt(params[1]);
             
-            int[][] weights = readMaxCutWeights(br, numberOfVertices, numberOfEdges);
-            MaxCutEvaluationFunction weightsFunction = new MaxCutEvaluationFunction(numberOfVertices, weights);
+            MaxCutEvaluationFunction weightsFunction = readMaxCutFunction(br, numberOfVertices, numberOfEdges);
             int bestKnownValue = readBestKnownValue(base, fileName);
             int averageRandomValue = readAverageRandomValue(base, fileName);
             
@@ -270,6 +269,33 @@ public class Main {
         return config;
     }
     
+    /**
+     * This function reads the edges that are stored in the given file and stores these directly in a sparse graph,
+     * such that no dense weights table has to be constructed for large instances.
+     * @param br The buffered reader that is set to the correct position for reading the weights from the applicable file.
+     * @param numberOfVertices The number of vertices in the graph.
+     * @param numberOfEdges The number of edge weights that should be parsed.
+     * @return The MaxCutEvaluationFunction for the parsed graph.
+     */
+    public static MaxCutEvaluationFunction readMaxCutFunction(BufferedReader br, int numberOfVertices, int numberOfEdges){
+        int[] sources = new int[numberOfEdges];
+        int[] targets = new int[numberOfEdges];
+        int[] weights = new int[numberOfEdges];
+        int edges = 0;
+        try{
+            for(; edges < numberOfEdges; edges++){
+                String[] weight = br.readLine().split(" ");
+                sources[edges] = Integer.parseInt(weight[0]) - 1;
+                targets[edges] = Integer.parseInt(weight[1]) - 1;
+                weights[edges] = Integer.parseInt(weight[2]);
+            }
+        } catch(IOException e){
+            e.printStackTrace();
+        }
+        
+        return new MaxCutEvaluationFunction(numberOfVertices, sources, targets, weights, edges);
+    }
+    
     /**
      * This function reads the weights that are stored in the given file and stores these in a matrix.
      * @param br The buffered reader that is set to the correct position for reading the weights from the applicable file.
@@ -0,0 +1,92 @@
+package com.rdebokx.ltga.shared;
+
+import java.util.ArrayList;
+
+/**
+ * The agglomerative clustering that learns a Linkage Tree from a similarity matrix, shared by the sequential and the
+ * parallel LinkageTree. The clusters that are still active are kept in the first activeClusters positions of a single
+ * MPM array. When two clusters are merged, the merged cluster takes the position of the first cluster and the last
+ * active cluster is swapped into the position of the second cluster, after which the similarity matrix is updated in
+ * place. Hence, learning a tree takes O(l^2) time, while the only allocations are the merged ParameterSets themselves.
+ * @author Rdebokx
+ *
+ */
+public class AgglomerativeClustering {
+
+    /**
+     * This function learns a Linkage Tree based on the given Similarity Matrix and mpm, making use of a Nearest Neighbor
+     * Chain. Note that both the given mpm and the given Similarity Matrix are altered.
+     * @param numberOfParameters The number of parameters of the problem at hand.
+     * @param SMatrix The Similarity Matrix on which the LT has to be based.
+     * @param mpm The Marginal Product Model for learning the LT, in which every ParameterSet has its position as index.
+     * @param randomizer The randomizer that is to be used.
+     * @param useLocalSearch Boolean indicating whether local search is used. If local search is not used, all singleton sets will be added to the bottom of the tree.
+     * @return The ParameterSets of the learned Linkage Tree, from the bottom to the top of the tree.
+     */
+    public static ArrayList<ParameterSet> learnLinkageTree(int numberOfParameters, MIMatrix SMatrix, ParameterSet[] mpm, Randomizer randomizer, boolean useLocalSearch){
+        ArrayList<ParameterSet> model = new ArrayList<ParameterSet>(2 * mpm.length);
+        if(!useLocalSearch){
+            for(ParameterSet paramSet : mpm){
+                model.add(paramSet);
+            }
+        }
+
+        NearestNeighborChain nnChain = new NearestNeighborChain(numberOfParameters);
+        int activeClusters = mpm.length;
+        while(activeClusters > 1){
+            Pair<ParameterSet> nn = nnChain.getNNTuple(SMatrix, mpm, activeClusters, randomizer);
+
+            //store set of considered indices in the LT, update SMatrix and merge the clusters in the MPM
+            ParameterSet r0 = nn.getVal1();
+            ParameterSet r1 = nn.getVal2();
+            ParameterSet newSet = new ParameterSet(-1, r0, r1);
+            //avoid adding the full set
+            if(newSet.size() < numberOfParameters){
+                model.add(newSet);
+            }
+
+            SMatrix.updateSMatrix(r0, r1, activeClusters);
+            activeClusters = merge(mpm, activeClusters, SMatrix, r0, r1, newSet);
+        }
+
+        return model;
+    }
+
+    /**
+     * This function merges r0 and r1 in the given MPM in place. The merged set takes the position of r0, while the last
+     * active set is moved to the position of r1, together with its row and column in the Similarity Matrix.
+     * @param mpm The MPM of which the first activeClusters ParameterSets are active.
+     * @param activeClusters The amount of active ParameterSets in the MPM before merging.
+     * @param SMatrix The Similarity Matrix, already updated for the merge. This Matrix will be updated.
+     * @param r0 The first Parameter Set, having the lowest index.
+     * @param r1 The second Parameter Set.
+     * @param newSet The merged Parameter Set.
+     * @return The amount of active ParameterSets in the MPM after merging.
+     */
+    public static int merge(ParameterSet[] mpm, int activeClusters, MIMatrix SMatrix, ParameterSet r0, ParameterSet r1, ParameterSet newSet){
+        //long timeStart = System.currentTimeMillis();
+
+        int last = activeClusters - 1;
+        int index1 = r1.getIndex();
+        mpm[r0.getIndex()] = newSet;
+        newSet.setIndex(r0.getIndex());
+        if(index1 < last){
+            ParameterSet moved = mpm[last];
+            mpm[index1] = moved;
+            moved.setIndex(index1);
+
+            //Update SMatrix
+            for(int i = 0; i < last; i++){
+                SMatrix.set(i, index1, SMatrix.get(i, last));
+                SMatrix.set(index1, i, SMatrix.get(i, index1));
+            }
+            SMatrix.set(index1, index1, SMatrix.get(last, last));
+        }
+        mpm[last] = null;
+
+        //long timeEnd = System.currentTimeMillis();
+        //Profiler.recordExecution("AgglomerativeClustering.merge", timeEnd - timeStart);
+
+        return last;
+    }
+}
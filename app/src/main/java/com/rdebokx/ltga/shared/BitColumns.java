@@ -0,0 +1,209 @@
+package com.rdebokx.ltga.shared;
+
+import com.rdebokx.ltga.config.LearningConfiguration;
+
+/**
+ * Column-wise representation of a population, in which every parameter is stored as a packed bitset over the individuals.
+ * The 2x2 joint frequencies of any two parameters follow from a single AND+popcount over their columns and the marginal
+ * frequencies, after which the joint entropy is read from a table of entropy values indexed by frequency.
+ */
+public class BitColumns implements JointEntropies {
+
+    /**
+     * The probability with which the error of any of the estimated pairwise frequencies of a sample may exceed the
+     * error bound, see getSampleSize.
+     */
+    public static final double SAMPLING_FAILURE_PROBABILITY = .05;
+
+    private final int populationSize;
+    private final int numberOfParameters;
+    private final int numberOfWords;
+    private final long[][] columns;
+    private final int[] ones;
+    private final double[] entropies;
+
+    /**
+     * Constructor, constructing the column representation of the given population.
+     * @param population The population that has to be transposed.
+     */
+    public BitColumns(Population population){
+        this(population.getPackedPopulation(), population.getPopulationSize(), population.getNumberOfParameters());
+    }
+
+    /**
+     * Constructor, constructing the column representation of the given packed solutions.
+     * @param solutions The packed solutions, one per individual.
+     * @param populationSize The amount of solutions that has to be considered.
+     * @param numberOfParameters The amount of parameters of every solution.
+     */
+    public BitColumns(long[][] solutions, int populationSize, int numberOfParameters){
+        this.populationSize = populationSize;
+        this.numberOfParameters = numberOfParameters;
+        this.numberOfWords = BitString.numberOfWords(populationSize);
+        this.columns = new long[numberOfParameters][numberOfWords];
+        this.ones = new int[numberOfParameters];
+
+        for(int k = 0; k < populationSize; k++){
+            long[] solution = solutions[k];
+            int individualWord = BitString.wordIndex(k);
+            long individualMask = BitString.bitMask(k);
+            for(int w = 0; w < solution.length; w++){
+                long word = solution[w];
+                while(word != 0){
+                    int parameter = w * BitString.WORD_SIZE + Long.numberOfTrailingZeros(word);
+                    columns[parameter][individualWord] |= individualMask;
+                    ones[parameter]++;
+                    word &= word - 1;
+                }
+            }
+        }
+
+        this.entropies = getEntropyTable(populationSize);
+    }
+
+    /**
+     * This function returns the column representation from which a linkage model has to be learned. This is the
+     * representation of the whole population, unless the LearningConfiguration asks for sampling and the population is
+     * larger than the sample size that follows from the error bound, in which case a random sample is used.
+     * @param population The population from which a linkage model has to be learned.
+     * @param learningConfig The LearningConfiguration, holding the error bound for sampling.
+     * @param randomizer The Randomizer object that should be used for drawing the sample.
+     * @return The column representation of the population, or of a random sample of it.
+     */
+    public static BitColumns forLearning(Population population, LearningConfiguration learningConfig, Randomizer randomizer){
+        if(learningConfig.SAMPLING_ERROR == LearningConfiguration.NO_SAMPLING){
+            return new BitColumns(population);
+        }
+        return sample(population, getSampleSize(population.getNumberOfParameters(), learningConfig.SAMPLING_ERROR), randomizer);
+    }
+
+    /**
+     * This function returns the column representation of a uniform random sample of the given population, drawn without
+     * replacement in a single pass over the population by selection sampling, such that the individuals are not copied
+     * and keep their order. If the sample size is not smaller than the population size, the whole population is used
+     * and no random numbers are drawn.
+     * @param population The population that has to be sampled.
+     * @param sampleSize The amount of individuals that have to be sampled.
+     * @param randomizer The Randomizer object that should be used.
+     * @return The column representation of the sample.
+     */
+    public static BitColumns sample(Population population, int sampleSize, Randomizer randomizer){
+        int populationSize = population.getPopulationSize();
+        if(sampleSize >= populationSize){
+            return new BitColumns(population);
+        }
+
+        long[][] solutions = population.getPackedPopulation();
+        long[][] sample = new long[sampleSize][];
+        int selected = 0;
+        for(int k = 0; k < populationSize && selected < sampleSize; k++){
+            if(randomizer.generator.nextInt(populationSize - k) < sampleSize - selected){
+                sample[selected++] = solutions[k];
+            }
+        }
+        return new BitColumns(sample, sampleSize, population.getNumberOfParameters());
+    }
+
+    /**
+     * This function returns the sample size for which, by Hoeffding's inequality and a union bound over the four cells
+     * of the 2x2 tables of all pairs of parameters, every estimated pairwise frequency lies within the given error bound
+     * of its frequency in the population with probability 1 - SAMPLING_FAILURE_PROBABILITY. Note that the sample size
+     * only grows logarithmically with the number of parameters and does not depend on the population size.
+     * @param numberOfParameters The number of parameters.
+     * @param errorBound The bound on the absolute error of the estimated frequencies.
+     * @return The sample size.
+     */
+    public static int getSampleSize(int numberOfParameters, double errorBound){
+        double cells = 4.0 * numberOfParameters * numberOfParameters;
+        double sampleSize = Math.ceil(Math.log(2 * cells / SAMPLING_FAILURE_PROBABILITY) / (2 * errorBound * errorBound));
+        return (int) Math.min(Integer.MAX_VALUE, sampleSize);
+    }
+
+    /**
+     * @param parameter The index of the parameter.
+     * @return The column of the given parameter, holding bit k iff individual k has value 1. Note that the column
+     * should not be altered.
+     */
+    public long[] getColumn(int parameter){
+        return columns[parameter];
+    }
+
+    /**
+     * @return The amount of individuals in these columns.
+     */
+    public int getPopulationSize(){
+        return populationSize;
+    }
+
+    /**
+     * @return The amount of parameters, and thus columns.
+     */
+    public int getNumberOfParameters(){
+        return numberOfParameters;
+    }
+
+    /**
+     * @param parameter The index of the parameter.
+     * @return The amount of individuals that have value 1 for the given parameter.
+     */
+    public int getOnes(int parameter){
+        return ones[parameter];
+    }
+
+    /**
+     * This function counts the amount of individuals that have value 1 for both given parameters.
+     * @param param1 The first parameter.
+     * @param param2 The second parameter.
+     * @return The amount of individuals that have value 1 for both parameters.
+     */
+    public int getJointOnes(int param1, int param2){
+        long[] column1 = columns[param1];
+        long[] column2 = columns[param2];
+        int result = 0;
+        for(int w = 0; w < numberOfWords; w++){
+            result += Long.bitCount(column1[w] & column2[w]);
+        }
+        return result;
+    }
+
+    /**
+     * This function returns the joint entropy of the given parameters, which is equal to the joint entropy calculated by
+     * a Distribution for these parameters. For param1 == param2, this is the entropy of the parameter itself.
+     * @param param1 The first parameter.
+     * @param param2 The second parameter.
+     * @return The joint entropy of the given parameters.
+     */
+    @Override
+    public double getJointEntropy(int param1, int param2){
+        int n11 = param1 == param2 ? ones[param1] : getJointOnes(param1, param2);
+        return getJointEntropy(ones[param1], ones[param2], n11);
+    }
+
+    /**
+     * This function returns the joint entropy for the given marginal and joint frequencies.
+     * @param ones1 The amount of individuals with value 1 for the first parameter.
+     * @param ones2 The amount of individuals with value 1 for the second parameter.
+     * @param n11 The amount of individuals with value 1 for both parameters.
+     * @return The joint entropy for the given frequencies.
+     */
+    public double getJointEntropy(int ones1, int ones2, int n11){
+        int n10 = ones1 - n11;
+        int n01 = ones2 - n11;
+        int n00 = populationSize - ones1 - n01;
+        return entropies[n00] + entropies[n01] + entropies[n10] + entropies[n11];
+    }
+
+    /**
+     * This function returns the table of entropy values -p * log2(p) for p = c / populationSize, indexed by count c.
+     * @param populationSize The amount of individuals.
+     * @return The table of entropy values for all counts from 0 up to and including populationSize.
+     */
+    public static double[] getEntropyTable(int populationSize){
+        double[] result = new double[populationSize + 1];
+        for(int c = 1; c <= populationSize; c++){
+            double p = c / (populationSize * 1.0);
+            result[c] = -p * Math.log(p) / Math.log(2);
+        }
+        return result;
+    }
+}
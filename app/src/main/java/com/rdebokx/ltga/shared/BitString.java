@@ -0,0 +1,229 @@
+package com.rdebokx.ltga.shared;
+
+public class BitString {
+
+    public static final int WORD_SIZE = 64;
+    private static final int ADDRESS_BITS = 6;
+
+    private static final ThreadLocal<boolean[]> UNPACK_BUFFER = new ThreadLocal<boolean[]>();
+
+    /**
+     * This function returns the amount of 64-bit words that is needed to store the given number of bits.
+     * @param numberOfBits The number of bits that have to be stored.
+     * @return The amount of words needed.
+     */
+    public static int numberOfWords(int numberOfBits){
+        return (numberOfBits + WORD_SIZE - 1) >>> ADDRESS_BITS;
+    }
+
+    /**
+     * This function returns the index of the word in which the given bit is stored.
+     * @param index The index of the bit.
+     * @return The index of the word containing the given bit.
+     */
+    public static int wordIndex(int index){
+        return index >>> ADDRESS_BITS;
+    }
+
+    /**
+     * This function returns a mask that selects the given bit within the word in which it is stored.
+     * @param index The index of the bit.
+     * @return The mask for the given bit.
+     */
+    public static long bitMask(int index){
+        return 1L << index;
+    }
+
+    /**
+     * This function packs the given boolean array into a new array of 64-bit words.
+     * @param bits The boolean array that has to be packed.
+     * @return The packed representation of the given array.
+     */
+    public static long[] pack(boolean[] bits){
+        long[] result = new long[numberOfWords(bits.length)];
+        pack(bits, result);
+        return result;
+    }
+
+    /**
+     * This method packs the given boolean array into the given array of words. All bits in dest are overwritten.
+     * @param bits The boolean array that has to be packed.
+     * @param dest The array of words into which the bits have to be stored.
+     */
+    public static void pack(boolean[] bits, long[] dest){
+        for(int w = 0; w < dest.length; w++){
+            long word = 0;
+            int end = Math.min(bits.length, (w + 1) << ADDRESS_BITS);
+            for(int i = w << ADDRESS_BITS; i < end; i++){
+                if(bits[i]){
+                    word |= 1L << i;
+                }
+            }
+            dest[w] = word;
+        }
+    }
+
+    /**
+     * This function unpacks the given words into a new boolean array of the given length.
+     * @param words The packed bits.
+     * @param numberOfBits The number of bits that are stored in the given words.
+     * @return The unpacked boolean array.
+     */
+    public static boolean[] unpack(long[] words, int numberOfBits){
+        boolean[] result = new boolean[numberOfBits];
+        unpack(words, numberOfBits, result);
+        return result;
+    }
+
+    /**
+     * This method unpacks the given words into the given boolean array.
+     * @param words The packed bits.
+     * @param numberOfBits The number of bits that are stored in the given words.
+     * @param dest The boolean array into which the bits have to be unpacked.
+     */
+    public static void unpack(long[] words, int numberOfBits, boolean[] dest){
+        for(int i = 0; i < numberOfBits; i++){
+            dest[i] = (words[i >>> ADDRESS_BITS] & (1L << i)) != 0;
+        }
+    }
+
+    /**
+     * This function unpacks the given words into a boolean array that is owned by the calling thread. The returned array is
+     * reused by the next call on the same thread, so it should only be used for a single evaluation.
+     * @param words The packed bits.
+     * @param numberOfBits The number of bits that are stored in the given words.
+     * @return A thread-local boolean array containing the unpacked bits.
+     */
+    public static boolean[] unpackToBuffer(long[] words, int numberOfBits){
+        boolean[] buffer = UNPACK_BUFFER.get();
+        if(buffer == null || buffer.length != numberOfBits){
+            buffer = new boolean[numberOfBits];
+            UNPACK_BUFFER.set(buffer);
+        }
+        unpack(words, numberOfBits, buffer);
+        return buffer;
+    }
+
+    /**
+     * @param words The packed bits.
+     * @param index The index of the bit that should be returned.
+     * @return The value of the bit at the given index.
+     */
+    public static boolean get(long[] words, int index){
+        return (words[index >>> ADDRESS_BITS] & (1L << index)) != 0;
+    }
+
+    /**
+     * This method sets the bit at the given index to the given value.
+     * @param words The packed bits.
+     * @param index The index of the bit that should be set.
+     * @param value The new value of the bit.
+     */
+    public static void set(long[] words, int index, boolean value){
+        if(value){
+            words[index >>> ADDRESS_BITS] |= 1L << index;
+        } else {
+            words[index >>> ADDRESS_BITS] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * This method flips the bit at the given index.
+     * @param words The packed bits.
+     * @param index The index of the bit that should be flipped.
+     */
+    public static void flip(long[] words, int index){
+        words[index >>> ADDRESS_BITS] ^= 1L << index;
+    }
+
+    /**
+     * This method copies the bit at the given index from the source to the destination.
+     * @param source The words from which the bit has to be copied.
+     * @param dest The words to which the bit has to be copied.
+     * @param index The index of the bit that has to be copied.
+     */
+    public static void copyBit(long[] source, long[] dest, int index){
+        int w = index >>> ADDRESS_BITS;
+        long mask = 1L << index;
+        dest[w] = (dest[w] & ~mask) | (source[w] & mask);
+    }
+
+    /**
+     * This method copies all words from the source to the destination.
+     * @param source The words that have to be copied.
+     * @param dest The words to which the source has to be copied. Should be at least as long as the source.
+     */
+    public static void copy(long[] source, long[] dest){
+        System.arraycopy(source, 0, dest, 0, source.length);
+    }
+
+    /**
+     * This method copies the bits that are selected by the given mask in the given word from the source to the destination.
+     * @param source The words from which the bits have to be copied.
+     * @param dest The words to which the bits have to be copied.
+     * @param wordIndex The index of the word in which bits have to be copied.
+     * @param mask The mask selecting the bits that have to be copied.
+     */
+    public static void copyMasked(long[] source, long[] dest, int wordIndex, long mask){
+        dest[wordIndex] = (dest[wordIndex] & ~mask) | (source[wordIndex] & mask);
+    }
+
+    /**
+     * This function returns true iff the bits selected by the given mask in the given word are equal for both arrays.
+     * @param a The first array of words.
+     * @param b The second array of words.
+     * @param wordIndex The index of the word that has to be compared.
+     * @param mask The mask selecting the bits that have to be compared.
+     * @return True iff the selected bits are equal.
+     */
+    public static boolean equalsMasked(long[] a, long[] b, int wordIndex, long mask){
+        return ((a[wordIndex] ^ b[wordIndex]) & mask) == 0;
+    }
+
+    /**
+     * This function returns true iff both arrays of words contain the same bits.
+     * @param a The first array of words.
+     * @param b The second array of words.
+     * @return True iff all words are equal.
+     */
+    public static boolean equals(long[] a, long[] b){
+        if(a.length != b.length){
+            return false;
+        }
+        for(int w = 0; w < a.length; w++){
+            if(a[w] != b[w]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param words The packed bits.
+     * @return The amount of bits that are set.
+     */
+    public static int cardinality(long[] words){
+        int result = 0;
+        for(long word : words){
+            result += Long.bitCount(word);
+        }
+        return result;
+    }
+
+    /**
+     * This function returns a String representation of the given packed bits, transforming the bits to zeroes and ones.
+     * @param words The packed bits.
+     * @param numberOfBits The number of bits stored in the given words.
+     * @return The string representation of the given bits.
+     */
+    public static String toString(long[] words, int numberOfBits){
+        if(words == null){
+            return "null";
+        }
+        StringBuilder result = new StringBuilder(numberOfBits);
+        for(int i = 0; i < numberOfBits; i++){
+            result.append(get(words, i) ? '1' : '0');
+        }
+        return result.toString();
+    }
+}
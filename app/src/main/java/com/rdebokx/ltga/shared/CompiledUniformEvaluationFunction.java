@@ -0,0 +1,185 @@
+package com.rdebokx.ltga.shared;
+
+import java.util.Arrays;
+
+/**
+ * EvaluationFunction that sums a set of UniformEvaluationFunctions, such as the sub-functions of an NK-landscape.
+ * All sub-functions are flattened into contiguous parameter and lookup table arrays, and for every variable the
+ * sub-functions that consider it are indexed, such that a delta evaluation only re-evaluates affected sub-functions.
+ */
+public class CompiledUniformEvaluationFunction implements EvaluationFunction {
+
+    private final int numberOfFunctions;
+    private final int[] parameterOffsets;
+    private final int[] parameters;
+    private final int[] tableOffsets;
+    private final double[] tables;
+    
+    private final int[] variableOffsets;
+    private final int[] variableFunctions;
+    private final int maxFunctionsPerVariable;
+    private final double deltaErrorBound;
+    
+    private final ThreadLocal<int[]> visitedFunctions;
+    private final ThreadLocal<int[]> visitStamp;
+    
+    /**
+     * Constructor, compiling the given sub-functions into a single EvaluationFunction.
+     * @param subFunctions The sub-functions that should be summed by this function.
+     */
+    public CompiledUniformEvaluationFunction(UniformEvaluationFunction[] subFunctions){
+        numberOfFunctions = subFunctions.length;
+        parameterOffsets = new int[numberOfFunctions + 1];
+        tableOffsets = new int[numberOfFunctions + 1];
+        int numberOfVariables = 0;
+        for(int f = 0; f < numberOfFunctions; f++){
+            parameterOffsets[f + 1] = parameterOffsets[f] + subFunctions[f].getParameters().length;
+            tableOffsets[f + 1] = tableOffsets[f] + subFunctions[f].getTable().length;
+            for(int parameter : subFunctions[f].getParameters()){
+                numberOfVariables = Math.max(numberOfVariables, parameter + 1);
+            }
+        }
+        
+        parameters = new int[parameterOffsets[numberOfFunctions]];
+        tables = new double[tableOffsets[numberOfFunctions]];
+        int[] functionsPerVariable = new int[numberOfVariables];
+        for(int f = 0; f < numberOfFunctions; f++){
+            int[] functionParameters = subFunctions[f].getParameters();
+            System.arraycopy(functionParameters, 0, parameters, parameterOffsets[f], functionParameters.length);
+            System.arraycopy(subFunctions[f].getTable(), 0, tables, tableOffsets[f], subFunctions[f].getTable().length);
+            for(int parameter : functionParameters){
+                functionsPerVariable[parameter]++;
+            }
+        }
+        
+        //Build the variable to sub-function index.
+        variableOffsets = new int[numberOfVariables + 1];
+        int max = 0;
+        for(int v = 0; v < numberOfVariables; v++){
+            variableOffsets[v + 1] = variableOffsets[v] + functionsPerVariable[v];
+            max = Math.max(max, functionsPerVariable[v]);
+        }
+        maxFunctionsPerVariable = max;
+        
+        //Bound the difference between a delta evaluation and a full evaluation, which sum the table values in a different order.
+        double maxTotal = 0;
+        for(int f = 0; f < numberOfFunctions; f++){
+            double maxValue = 0;
+            for(int i = tableOffsets[f]; i < tableOffsets[f + 1]; i++){
+                maxValue = Math.max(maxValue, Math.abs(tables[i]));
+            }
+            maxTotal += maxValue;
+        }
+        deltaErrorBound = 4 * (numberOfFunctions + 1) * Math.ulp(maxTotal);
+        variableFunctions = new int[variableOffsets[numberOfVariables]];
+        int[] fill = new int[numberOfVariables];
+        for(int f = 0; f < numberOfFunctions; f++){
+            for(int p = parameterOffsets[f]; p < parameterOffsets[f + 1]; p++){
+                int v = parameters[p];
+                variableFunctions[variableOffsets[v] + fill[v]] = f;
+                fill[v]++;
+            }
+        }
+        
+        visitedFunctions = ThreadLocal.withInitial(() -> new int[numberOfFunctions]);
+        visitStamp = ThreadLocal.withInitial(() -> new int[1]);
+    }
+    
+    /**
+     * @return The amount of sub-functions of this function.
+     */
+    public int getNumberOfFunctions(){
+        return numberOfFunctions;
+    }
+    
+    /**
+     * @see EvaluationFunction#evaluate(boolean[])
+     */
+    @Override
+    public double evaluate(boolean[] solution){
+        double total = 0;
+        for(int f = 0; f < numberOfFunctions; f++){
+            int key = 0;
+            for(int p = parameterOffsets[f]; p < parameterOffsets[f + 1]; p++){
+                key = (key << 1) | (solution[parameters[p]] ? 1 : 0);
+            }
+            total += tables[tableOffsets[f] + key];
+        }
+        return total;
+    }
+    
+    /**
+     * @see EvaluationFunction#evaluate(long[], int)
+     */
+    @Override
+    public double evaluate(long[] solution, int numberOfParameters){
+        double total = 0;
+        for(int f = 0; f < numberOfFunctions; f++){
+            total += evaluateFunction(solution, f);
+        }
+        return total;
+    }
+    
+    @Override
+    public boolean supportsDeltaEvaluation(){
+        return true;
+    }
+    
+    /**
+     * Only the sub-functions that consider at least one of the changed indices are re-evaluated. When the amount of changed 
+     * indices is too large for this to be beneficial, a full evaluation is performed.
+     * As the table values are summed in a different order, the delta may differ from a full evaluation in the last bits.
+     * Hence, a full evaluation is performed as well unless the solution is worse than the base solution by more than
+     * this rounding error. The returned value is therefore identical to a full evaluation, unless both are strictly smaller
+     * than the given base fitness, such that the solution compares the same to the base solution. The given base fitness
+     * should be the result of a full evaluation of the base solution.
+     * @see EvaluationFunction#evaluateDelta(long[], int, long[], double, int[], int, int)
+     */
+    @Override
+    public double evaluateDelta(long[] solution, int numberOfParameters, long[] base, double baseFitness, int[] changed, int from, int to){
+        if((long) (to - from) * maxFunctionsPerVariable * 2 > numberOfFunctions){
+            return evaluate(solution, numberOfParameters);
+        }
+        
+        //Mark visited sub-functions with a stamp that is unique for this call, such that the marks never have to be cleared.
+        int[] visited = visitedFunctions.get();
+        int[] stamp = visitStamp.get();
+        if(++stamp[0] == 0){
+            Arrays.fill(visited, 0);
+            stamp[0] = 1;
+        }
+        
+        double delta = 0;
+        for(int c = from; c < to; c++){
+            int v = changed[c];
+            if(v < variableOffsets.length - 1){
+                for(int i = variableOffsets[v]; i < variableOffsets[v + 1]; i++){
+                    int f = variableFunctions[i];
+                    if(visited[f] != stamp[0]){
+                        visited[f] = stamp[0];
+                        delta += evaluateFunction(solution, f) - evaluateFunction(base, f);
+                    }
+                }
+            }
+        }
+        double result = baseFitness + delta;
+        if(result >= baseFitness - deltaErrorBound){
+            return evaluate(solution, numberOfParameters);
+        }
+        return result;
+    }
+    
+    /**
+     * This function evaluates a single sub-function for the given packed solution.
+     * @param solution The packed solution.
+     * @param f The index of the sub-function.
+     * @return The value of the given sub-function.
+     */
+    private double evaluateFunction(long[] solution, int f){
+        int key = 0;
+        for(int p = parameterOffsets[f]; p < parameterOffsets[f + 1]; p++){
+            key = (key << 1) | (BitString.get(solution, parameters[p]) ? 1 : 0);
+        }
+        return tables[tableOffsets[f] + key];
+    }
+}
@@ -0,0 +1,127 @@
+package com.rdebokx.ltga.shared;
+
+public class DeceptiveTrapEvaluationFunction implements EvaluationFunction {
+
+    private final int k;
+    private final boolean tightEncoding;
+    
+    /**
+     * Constructor, constructing a new deceptive trap function with the given block size.
+     * Note that the number of parameters of the evaluated solutions should be a multiple of k.
+     * @param k The value of k for the k-trap problem.
+     * @param tightEncoding True iff the solutions are tightly encoded. False if they are loosly encoded.
+     */
+    public DeceptiveTrapEvaluationFunction(int k, boolean tightEncoding){
+        this.k = k;
+        this.tightEncoding = tightEncoding;
+    }
+    
+    /**
+     * @return The value of k for this k-trap function.
+     */
+    public int getK(){
+        return k;
+    }
+    
+    /**
+     * @see EvaluationFunction#evaluate(boolean[])
+     */
+    @Override
+    public double evaluate(boolean[] solution){
+        return evaluate(BitString.pack(solution), solution.length);
+    }
+    
+    /**
+     * The score is accumulated as an integer number of 1/k units, such that full and delta evaluations yield exactly the same value.
+     * @see EvaluationFunction#evaluate(long[], int)
+     */
+    @Override
+    public double evaluate(long[] solution, int numberOfParameters){
+        int m = numberOfParameters / k;
+        int total = 0;
+        for(int i = 0; i < m; i++){
+            total += getBlockScore(solution, m, i);
+        }
+        return total / (k * 1.0);
+    }
+    
+    @Override
+    public boolean supportsDeltaEvaluation(){
+        return true;
+    }
+    
+    /**
+     * Only the blocks containing the changed indices are re-evaluated. When the amount of changed indices is too large
+     * for this to be beneficial, a full evaluation is performed.
+     * @see EvaluationFunction#evaluateDelta(long[], int, long[], double, int[], int, int)
+     */
+    @Override
+    public double evaluateDelta(long[] solution, int numberOfParameters, long[] base, double baseFitness, int[] changed, int from, int to){
+        int count = to - from;
+        if((long) count * count > numberOfParameters){
+            return evaluate(solution, numberOfParameters);
+        }
+        
+        int m = numberOfParameters / k;
+        int total = (int) Math.round(baseFitness * k);
+        for(int c = from; c < to; c++){
+            int block = getBlock(changed[c], m);
+            boolean visited = false;
+            for(int d = from; d < c && !visited; d++){
+                visited = getBlock(changed[d], m) == block;
+            }
+            if(!visited){
+                total += getBlockScore(solution, m, block) - getBlockScore(base, m, block);
+            }
+        }
+        return total / (k * 1.0);
+    }
+    
+    /**
+     * The parameters that interact with a parameter are the other parameters of its block. No interactions are reported
+     * if the number of parameters is not a multiple of k.
+     * @see EvaluationFunction#getInteractingParameters(int, int)
+     */
+    @Override
+    public int[] getInteractingParameters(int parameter, int numberOfParameters){
+        if(numberOfParameters % k != 0){
+            return new int[0];
+        }
+        int m = numberOfParameters / k;
+        int block = getBlock(parameter, m);
+        int[] result = new int[k - 1];
+        int count = 0;
+        for(int j = 0; j < k; j++){
+            int other = tightEncoding ? block*k+j : block+m*j;
+            if(other != parameter){
+                result[count++] = other;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * @param parameter The index of a parameter.
+     * @param m The amount of blocks.
+     * @return The block to which the given parameter belongs.
+     */
+    private int getBlock(int parameter, int m){
+        return tightEncoding ? parameter / k : parameter % m;
+    }
+    
+    /**
+     * This function returns the score of the given block in units of 1/k. A block consisting of only 1's scores k,
+     * any other block scores k - 1 - u, where u is the amount of 1's in the block.
+     * @param solution The solution for which the block has to be scored.
+     * @param m The amount of blocks.
+     * @param i The index of the block.
+     * @return The score of the block in units of 1/k.
+     */
+    private int getBlockScore(long[] solution, int m, int i){
+        int u = 0;
+        for(int j = 0; j < k; j++){
+            u += BitString.get(solution, tightEncoding ? i*k+j : i+m*j) ? 1 : 0;
+        }
+        return u == k ? k : k - 1 - u;
+    }
+}
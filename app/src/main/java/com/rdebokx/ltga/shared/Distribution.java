@@ -21,7 +21,7 @@ public class Distribution {
         this.param2 = param2;
         
         populationSize = dataset.getPopulationSize();
-        for(boolean[] solution : dataset.getPopulation()){
+        for(long[] solution : dataset.getPackedPopulation()){
             updateFrequencies(solution);
         }
     }
@@ -38,7 +38,7 @@ public class Distribution {
         this.param2 = param2;
         
         populationSize = dataset.getPopulationSize();
-        for(boolean[] solution : dataset.getPopulation()){
+        for(long[] solution : dataset.getPackedPopulation()){
             updateFrequencies(solution);
         }
     }
@@ -47,9 +47,9 @@ public class Distribution {
      * This method updates the frequency records for the given solution, considering the 2 parameters for this distribution.
      * @param solution The solution for which the frequencies for this distribution have to be updated.
      */
-    private void updateFrequencies(boolean[] solution){
-        int val1 = solution[param1] ? 1 : 0;
-        int val2 = solution[param2] ? 1 : 0;
+    private void updateFrequencies(long[] solution){
+        int val1 = BitString.get(solution, param1) ? 1 : 0;
+        int val2 = BitString.get(solution, param2) ? 1 : 0;
         
         frequencies[val1][val2]++;
     }
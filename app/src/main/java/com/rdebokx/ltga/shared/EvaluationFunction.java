@@ -8,5 +8,53 @@ public interface EvaluationFunction {
      * @return The fitness value of the provided solution.
      */
     public double evaluate(boolean[] solution);
+    
+    /**
+     * This function evaluates the given packed solution against a specific function. By default, the solution is unpacked
+     * into a thread-local buffer and evaluated by means of {@link #evaluate(boolean[])}. Implementations that can read the
+     * packed bits directly should override this function.
+     * @param solution The solution that should be evaluated, packed into 64-bit words.
+     * @param numberOfParameters The number of parameters stored in the given words.
+     * @return The fitness value of the provided solution.
+     */
+    public default double evaluate(long[] solution, int numberOfParameters){
+        return evaluate(BitString.unpackToBuffer(solution, numberOfParameters));
+    }
+    
+    /**
+     * @return True iff this function implements evaluateDelta more efficiently than a full evaluation.
+     */
+    public default boolean supportsDeltaEvaluation(){
+        return false;
+    }
+    
+    /**
+     * This function evaluates the given packed solution, given that it differs from an already evaluated base solution
+     * only at (a subset of) the given changed indices. Functions supporting delta evaluation only re-evaluate the parts
+     * that are affected by these indices. By default, a full evaluation is performed.
+     * @param solution The solution that should be evaluated, packed into 64-bit words.
+     * @param numberOfParameters The number of parameters stored in the given words.
+     * @param base The base solution, which was evaluated before.
+     * @param baseFitness The fitness value of the base solution.
+     * @param changed Array containing the distinct indices at which the solution may differ from the base solution.
+     * @param from The position in the changed array of the first changed index, inclusive.
+     * @param to The position in the changed array of the last changed index, exclusive.
+     * @return The fitness value of the provided solution.
+     */
+    public default double evaluateDelta(long[] solution, int numberOfParameters, long[] base, double baseFitness, int[] changed, int from, int to){
+        return evaluate(solution, numberOfParameters);
+    }
+    
+    /**
+     * This function returns the parameters that interact with the given parameter in this function, which are used as
+     * candidate partners when a sparse linkage model is learned, see SparseLinkageTree. By default, no interactions
+     * are known.
+     * @param parameter The parameter for which the interacting parameters have to be returned.
+     * @param numberOfParameters The number of parameters of the solutions that are evaluated.
+     * @return The parameters that interact with the given parameter, not including the parameter itself.
+     */
+    public default int[] getInteractingParameters(int parameter, int numberOfParameters){
+        return new int[0];
+    }
 
 }
@@ -0,0 +1,21 @@
+package com.rdebokx.ltga.shared;
+
+/**
+ * A JobRunner that evolves a single population and can be executed one generation at a time, for instance by a
+ * PopulationSizeLadder.
+ * @author Rdebokx
+ *
+ */
+public interface GenerationalJobRunner {
+
+    /**
+     * This method initializes the population of this JobRunner, such that it can be executed one generation at a time
+     * by calling runGeneration.
+     */
+    void initializeRun();
+
+    /**
+     * This method executes a single generation of this JobRunner. Should only be called after initializeRun.
+     */
+    void runGeneration();
+}
@@ -0,0 +1,163 @@
+package com.rdebokx.ltga.shared;
+
+import com.rdebokx.ltga.config.ParallelConfiguration;
+
+/**
+ * An island of the embarrassingly parallel engine. At the end of every generation, the job runner of the island lets it
+ * receive the migrants that its neighbours sent, which replace the worst solutions of the population of the island.
+ * Every migration interval, the island sends migrants from its population to its neighbours, as determined by the 
+ * topology. All communication goes through Mailboxes, hence islands never wait for each other.
+ * @author Rdebokx
+ *
+ */
+public class Island {
+
+    private final int index;
+    private final Island[] islands;
+    private final Mailbox mailbox;
+    private final ParallelConfiguration config;
+    private final Randomizer randomizer;
+
+    /**
+     * Constructor, constructing a new Island.
+     * @param index The index of this island in the given array of islands.
+     * @param islands All islands, including this one, between which migrants are exchanged.
+     * @param config The configuration holding the topology, migration interval and migrant selection.
+     * @param randomizer The Randomizer used for selecting migrants and neighbours. It should not be shared with other threads.
+     */
+    public Island(int index, Island[] islands, ParallelConfiguration config, Randomizer randomizer){
+        this.index = index;
+        this.islands = islands;
+        this.config = config;
+        this.randomizer = randomizer;
+        this.mailbox = new Mailbox(config.NUMBER_OF_MIGRANTS * Math.max(1, islands.length - 1));
+    }
+
+    /**
+     * This function constructs islands for the given amount of job runners, which are connected by the topology of the
+     * given configuration.
+     * @param numberOfIslands The amount of islands to be constructed.
+     * @param config The configuration holding the topology, migration interval and migrant selection.
+     * @param randomizer The Randomizer from which the Randomizers of the islands are seeded.
+     * @return The constructed islands.
+     */
+    public static Island[] createIslands(int numberOfIslands, ParallelConfiguration config, Randomizer randomizer){
+        Island[] result = new Island[numberOfIslands];
+        for(int i = 0; i < numberOfIslands; i++){
+            result[i] = new Island(i, result, config, new Randomizer(randomizer.generator.nextLong()));
+        }
+        return result;
+    }
+
+    /**
+     * This method performs the migration of this island after the given generation. The received migrants are injected
+     * into the given population and, if the generation is a multiple of the migration interval, migrants are sent to the
+     * neighbours of this island. Should only be called by the thread running this island.
+     * @param population The population of this island.
+     * @param generation The amount of generations completed by this island.
+     */
+    public void migrate(Population population, int generation){
+        receive(population);
+        if(config.TOPOLOGY != ParallelConfiguration.Topology.ISOLATED && islands.length > 1 
+                && config.MIGRATION_INTERVAL > 0 && generation % config.MIGRATION_INTERVAL == 0){
+            send(population);
+        }
+    }
+
+    /**
+     * This method replaces the worst solutions of the given population by the migrants in the mailbox of this island.
+     * @param population The population in which the migrants have to be injected.
+     */
+    private void receive(Population population){
+        Solution migrant = mailbox.poll();
+        while(migrant != null){
+            population.replaceWorst(migrant);
+            migrant = mailbox.poll();
+        }
+    }
+
+    /**
+     * This method selects the migrants from the given population and sends them to the neighbours of this island.
+     * @param population The population from which the migrants are selected.
+     */
+    private void send(Population population){
+        Solution[] migrants = selectMigrants(population);
+        switch(config.TOPOLOGY){
+        case RING:
+            sendTo(islands[(index + 1) % islands.length], migrants);
+            break;
+        case RANDOM:
+            int neighbour = randomizer.generator.nextInt(islands.length - 1);
+            sendTo(islands[neighbour < index ? neighbour : neighbour + 1], migrants);
+            break;
+        case FULL:
+            for(int i = 0; i < islands.length; i++){
+                if(i != index){
+                    sendTo(islands[i], migrants);
+                }
+            }
+            break;
+        default:
+            break;
+        }
+    }
+
+    /**
+     * This method sends the given migrants to the given island. Migrants that do not fit in its mailbox are dropped.
+     * @param island The island to which the migrants are sent.
+     * @param migrants The migrants to be sent.
+     */
+    private static void sendTo(Island island, Solution[] migrants){
+        for(Solution migrant : migrants){
+            island.mailbox.offer(migrant);
+        }
+    }
+
+    /**
+     * This function selects the migrants of this island from the given population, according to the migrant selection
+     * of the configuration. The migrants are copies, such that they are not altered when the population evolves.
+     * @param population The population from which the migrants have to be selected.
+     * @return The selected migrants.
+     */
+    private Solution[] selectMigrants(Population population){
+        int populationSize = population.getPopulationSize();
+        int numberOfMigrants = Math.min(config.NUMBER_OF_MIGRANTS, populationSize);
+        int[] order = new int[populationSize];
+        for(int i = 0; i < populationSize; i++){
+            order[i] = i;
+        }
+        for(int i = 0; i < numberOfMigrants; i++){
+            int selected = i;
+            if(config.MIGRANT_SELECTION == ParallelConfiguration.MigrantSelection.BEST){
+                //Partial selection sort, moving the best remaining solution to position i.
+                for(int j = i + 1; j < populationSize; j++){
+                    if(FitnessComparator.betterFitness(population.getObjectiveValue(order[j]), population.getConstraintValue(order[j]), 
+                            population.getObjectiveValue(order[selected]), population.getConstraintValue(order[selected]))){
+                        selected = j;
+                    }
+                }
+            } else {
+                //Partial Fisher-Yates shuffle, drawing the migrants without replacement.
+                selected = i + randomizer.generator.nextInt(populationSize - i);
+            }
+            int temp = order[i];
+            order[i] = order[selected];
+            order[selected] = temp;
+        }
+        
+        Solution[] result = new Solution[numberOfMigrants];
+        for(int i = 0; i < numberOfMigrants; i++){
+            int selected = order[i];
+            result[i] = new Solution(population.getPackedPopulation()[selected].clone(), population.getNumberOfParameters(), 
+                    population.getObjectiveValue(selected), population.getConstraintValue(selected));
+        }
+        return result;
+    }
+
+    /**
+     * @return The mailbox through which this island receives its migrants.
+     */
+    public Mailbox getMailbox(){
+        return mailbox;
+    }
+}
@@ -4,8 +4,11 @@ import java.io.FileNotFoundException;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
 import java.util.Arrays;
+import java.util.function.Supplier;
 
 import com.rdebokx.ltga.config.JobConfiguration;
+import com.rdebokx.ltga.config.LearningConfiguration;
+import com.rdebokx.ltga.config.LearningConfiguration.LinkageStatistics;
 import com.rdebokx.ltga.config.problems.InstancesConfiguration;
 
 public abstract class JobRunner implements Runnable{
@@ -14,7 +17,10 @@ public abstract class JobRunner implements Runnable{
     protected final JobState jobState;
     protected final JobConfiguration CONFIG;
     protected Population population;
+    protected Population previousPopulation;
     protected LearningModel fixedFOS;
+    protected JointFrequencies jointFrequencies;
+    protected LinkageModelReuse linkageModelReuse;
     protected boolean printResults;
     protected final Randomizer randomizer;
     
@@ -51,6 +57,77 @@ public abstract class JobRunner implements Runnable{
     @Override
     public abstract void run();
     
+    /**
+     * This method lets this JobRunner grow the population of the given JobRunner in place, instead of starting from a
+     * randomly initialized population. The solutions of the given JobRunner, together with their objective values, are
+     * carried over into the population of this JobRunner and only the remaining solutions are initialized randomly.
+     * Should be called before this JobRunner is started, after the given JobRunner has finished.
+     * @param previous The JobRunner of which the population has to be grown.
+     */
+    public void growFrom(JobRunner previous){
+        this.previousPopulation = previous.population;
+    }
+    
+    /**
+     * This function returns the linkage model that has to be used for the current generation. This is the fixed FOS if
+     * one was provided. Otherwise, the given learner learns a new model, or a SparseLinkageTree is learned if the
+     * LearningConfiguration asks for one, unless the LearningConfiguration allows reusing the previous model and the
+     * population has barely drifted since it was learned, see LinkageModelReuse.
+     * @param learner The learner that learns a new linkage model from the current population.
+     * @return The linkage model for the current generation.
+     */
+    protected LearningModel getLinkageModel(Supplier<LearningModel> learner){
+        if(fixedFOS != null){
+            return fixedFOS;
+        }
+        if(CONFIG.LEARNING_CONFIG.SPARSE_PARTNERS != LearningConfiguration.FULL_MATRIX){
+            learner = () -> learnSparseLinkageTree(population);
+        }
+        if(CONFIG.LEARNING_CONFIG.DRIFT_THRESHOLD == LearningConfiguration.NO_REUSE){
+            return learner.get();
+        }
+        if(linkageModelReuse == null){
+            linkageModelReuse = new LinkageModelReuse(CONFIG.LEARNING_CONFIG);
+        }
+        return linkageModelReuse.getModel(population, learner);
+    }
+    
+    /**
+     * This function learns a SparseLinkageTree from the given population, of which the candidate partners include the
+     * interactions reported by the evaluation function of the problem at hand, if any.
+     * @param population The population from which the tree has to be learned.
+     * @return The learned SparseLinkageTree.
+     */
+    protected SparseLinkageTree learnSparseLinkageTree(Population population){
+        return new SparseLinkageTree(population, ProblemEvaluator.getEvaluationFunction(CONFIG.PROBLEM_CONFIG), randomizer,
+                CONFIG.EXECUTION_CONFIG, CONFIG.LEARNING_CONFIG);
+    }
+    
+    /**
+     * This function returns the joint frequencies of the current population if the LearningConfiguration asks for
+     * incremental linkage statistics. The frequencies are counted in full for the first population and whenever the size
+     * of the population changed. Otherwise, they are updated from the bits in which every solution of the current 
+     * population differs from the solution at the same position in the population they were last updated for.
+     * @return The joint frequencies of the current population, or null if the linkage statistics have to be rebuilt from
+     * the population.
+     */
+    protected JointFrequencies updateJointFrequencies(){
+        LinkageStatistics statistics = CONFIG.LEARNING_CONFIG.LINKAGE_STATISTICS;
+        if(statistics == LinkageStatistics.REBUILD){
+            return null;
+        }
+        
+        if(jointFrequencies == null || !jointFrequencies.fits(population)){
+            jointFrequencies = new JointFrequencies(population);
+        } else {
+            jointFrequencies.update(population);
+            if(statistics == LinkageStatistics.VERIFIED_INCREMENTAL){
+                jointFrequencies.verify(population);
+            }
+        }
+        return jointFrequencies;
+    }
+    
     /**
      * This function calculates the fitness variance of the current population and returns true iff this exceeds the given threshold.
      * @param threshold The threshold which the fitness variance should exceed.
@@ -75,6 +152,7 @@ public abstract class JobRunner implements Runnable{
     /**
      * This function checks whether one of the defined termination conditions was met and returns true if this is the case.
      * This function checks, depending on the configuration of this job, the following termination conditions:
+     * - Whether the job was cancelled.
      * - Whether the maximum number of evaluations was reached.
      * - Whether the valueToReach was reached.
      * - Whether the fitness variance was reached.
@@ -90,10 +168,11 @@ public abstract class JobRunner implements Runnable{
             System.out.println("Termination condition met: " + jobState.getNumberOfEvaluations() + " evaluations exceeded " + CONFIG.EXECUTION_CONFIG.MAX_NUMBER_OF_EVALUATIONS);
             result = true;
         }
-        if(CONFIG.EXECUTION_CONFIG.USE_VALUE_TO_REACH && 
-        		(bestSoFar.getConstraintValue() == 0 && bestSoFar.getObjectiveValue() >= CONFIG.EXECUTION_CONFIG.VALUE_TO_REACH
-        		|| CONFIG.PROBLEM_CONFIG.PROBLEM == Problem.NK_LANDSCAPES && 
-        			Arrays.equals(((InstancesConfiguration) CONFIG.PROBLEM_CONFIG).OPTIMAL_SOLUTION, bestSoFar.getSolution()))){
+        if(jobState.isCancelled()){
+            System.out.println("Job cancelled. Stopping after generation " + jobState.getNumberOfGenerations());
+            result = true;
+        }
+        if(hasReachedValueToReach()){
             System.out.println("Termination condition met: best value so far with fitness " + bestSoFar.getObjectiveValue() + " matched the valueToReach");
             result = true;
         }
@@ -116,6 +195,26 @@ public abstract class JobRunner implements Runnable{
         return result;
     }
     
+    /**
+     * This function returns true iff the valueToReach is used and the best solution so far matches it. For NK landscapes,
+     * the best solution so far also matches if it equals the optimal solution of the instance.
+     * @return True iff the best solution so far matches the valueToReach.
+     */
+    public boolean hasReachedValueToReach(){
+        return CONFIG.EXECUTION_CONFIG.USE_VALUE_TO_REACH && bestSoFar != null &&
+        		(bestSoFar.getConstraintValue() == 0 && bestSoFar.getObjectiveValue() >= CONFIG.EXECUTION_CONFIG.VALUE_TO_REACH
+        		|| CONFIG.PROBLEM_CONFIG.PROBLEM == Problem.NK_LANDSCAPES && 
+        			Arrays.equals(((InstancesConfiguration) CONFIG.PROBLEM_CONFIG).OPTIMAL_SOLUTION, bestSoFar.getSolution()));
+    }
+    
+    /**
+     * This method requests this JobRunner to stop. It stops cooperatively, at its next generation boundary or while it is 
+     * generating offspring. May be called from any thread.
+     */
+    public void cancel(){
+        jobState.cancel();
+    }
+    
     /**
      * @return The best found solution so far.
      */
@@ -1,11 +1,19 @@
 package com.rdebokx.ltga.shared;
 
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The state of a job. The amount of evaluations is counted in a LongAdder, such that the workers of the perfect parallel
+ * engine can count their evaluations without contending on a lock. The other counters are only updated by the thread
+ * that controls the job, and are volatile such that they can be read from other threads.
+ */
 public class JobState {
 
-    private int noImprovementStretch;
-    private int numberOfGenerations;
-    private int numberOfEvaluations;
-    
+    private volatile int noImprovementStretch;
+    private volatile int numberOfGenerations;
+    private final LongAdder numberOfEvaluations = new LongAdder();
+    private volatile boolean cancelled;
+
     /**
      * Set the noImprovementStretch for this jobState.
      * @param noImprovementStretch The noImprovementStretch for this jobState.
@@ -13,54 +21,75 @@ public class JobState {
     public void setNoImprovementStretch(int noImprovementStretch){
         this.noImprovementStretch = noImprovementStretch;
     }
-    
+
     /**
-     * This method increments the current noImprovementStretch.
+     * This method increments the current noImprovementStretch. Should only be called by the thread controlling the job.
      */
     public void incrementNoImprovementStretch(){
         noImprovementStretch++;
     }
-    
+
     /**
-     * This function increments the amount of generations that are tracked by this jobState.
+     * This function increments the amount of generations that are tracked by this jobState. Should only be called by
+     * the thread controlling the job.
      */
     public void incrementNumberOfGenerations(){
         numberOfGenerations++;
     }
-    
+
     /**
-     * This function increments the amount of evaluations that are tracked by this jobState.
+     * This function increments the amount of evaluations that are tracked by this jobState. May be called concurrently.
      */
-    public synchronized void incrementNumberOfEvaluations(){
-        numberOfEvaluations++;
+    public void incrementNumberOfEvaluations(){
+        numberOfEvaluations.increment();
     }
-    
+
     /**
      * This function increments the amount of evaluations that are tracked by this jobState with the given amount.
+     * May be called concurrently.
      * @param evaluations The amount of evaluations that the numberOfEvaluations should be incremented with.
      */
-    public synchronized void incrementNumberOfEvaluations(int evaluations){
-        numberOfEvaluations += evaluations;
+    public void incrementNumberOfEvaluations(long evaluations){
+        numberOfEvaluations.add(evaluations);
     }
-    
+
     /**
      * @return The current noImprovementStretch.
      */
     public int getNoImprovementStretch(){
         return noImprovementStretch;
     }
-    
+
     /**
      * @return The current number of generations.
      */
     public int getNumberOfGenerations(){
         return numberOfGenerations;
     }
-    
+
     /**
+     * This function returns the amount of evaluations. The result is exact when no evaluations are performed concurrently,
+     * which is the case at generation boundaries, as the workers of a generation have all completed at that point. While
+     * evaluations are performed, the result is an estimate that may miss the most recent evaluations.
      * @return The current number of evaluations.
      */
-    public int getNumberOfEvaluations(){
-        return numberOfEvaluations;
+    public long getNumberOfEvaluations(){
+        return numberOfEvaluations.sum();
+    }
+
+    /**
+     * This method requests the job to stop. The job stops cooperatively, being at its next generation boundary or while
+     * it is generating offspring, in which case the remaining solutions are carried over unaltered. May be called from
+     * any thread.
+     */
+    public void cancel(){
+        cancelled = true;
+    }
+
+    /**
+     * @return True iff the job was requested to stop.
+     */
+    public boolean isCancelled(){
+        return cancelled;
     }
 }
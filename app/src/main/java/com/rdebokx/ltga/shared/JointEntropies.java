@@ -0,0 +1,18 @@
+package com.rdebokx.ltga.shared;
+
+/**
+ * A source of the joint entropies of pairs of parameters, from which a MIMatrix is filled.
+ * @author Rdebokx
+ *
+ */
+public interface JointEntropies {
+
+    /**
+     * This function returns the joint entropy of the given parameters. For param1 == param2, this is the entropy of the
+     * parameter itself.
+     * @param param1 The first parameter.
+     * @param param2 The second parameter.
+     * @return The joint entropy of the given parameters.
+     */
+    double getJointEntropy(int param1, int param2);
+}
@@ -0,0 +1,208 @@
+package com.rdebokx.ltga.shared;
+
+import java.util.Arrays;
+
+/**
+ * The pairwise joint frequencies of a population, being for every pair of parameters the amount of individuals that
+ * have value 1 for both parameters, which are kept alive across generations. A copy of the population from which the
+ * frequencies were counted is kept as well, such that the frequencies can be updated from the bits in which every
+ * individual of a new population differs from the individual at the same position in this copy, being its parent.
+ * The cost of an update is therefore proportional to the amount of changed bits times the number of parameters, rather
+ * than to the population size times the squared number of parameters, as is the case for a full recount.
+ *
+ * The frequencies are stored in the upper triangle of an int matrix, including the diagonal, which holds the amount of
+ * individuals that have value 1 for a parameter.
+ * @author Rdebokx
+ *
+ */
+public class JointFrequencies implements JointEntropies {
+
+    /**
+     * An update recounts all frequencies instead when more than one in RECOUNT_RATIO bits of the population changed, as
+     * a recount by AND+popcount over the columns is then cheaper than updating the pairs of every changed bit.
+     */
+    public static final int RECOUNT_RATIO = 200;
+
+    private final int populationSize;
+    private final int numberOfParameters;
+    private final long[][] solutions;
+    private final int[] rowOffsets;
+    private final int[] frequencies;
+    private final double[] entropies;
+
+    /**
+     * Constructor, constructing the joint frequencies of the given population by a full count.
+     * @param population The population of which the joint frequencies have to be counted.
+     */
+    public JointFrequencies(Population population){
+        this.populationSize = population.getPopulationSize();
+        this.numberOfParameters = population.getNumberOfParameters();
+        long cells = numberOfParameters * (numberOfParameters + 1L) / 2;
+        if(cells > Integer.MAX_VALUE){
+            throw new IllegalArgumentException("The joint frequencies of " + numberOfParameters + " parameters can not be stored.");
+        }
+
+        //Row i holds columns i up to numberOfParameters, such that cell (i, j) is stored at rowOffsets[i] + j.
+        this.rowOffsets = new int[numberOfParameters];
+        int offset = 0;
+        for(int i = 0; i < numberOfParameters; i++){
+            rowOffsets[i] = offset - i;
+            offset += numberOfParameters - i;
+        }
+        this.frequencies = new int[(int) cells];
+        this.entropies = BitColumns.getEntropyTable(populationSize);
+
+        long[][] packedPopulation = population.getPackedPopulation();
+        this.solutions = new long[populationSize][];
+        for(int k = 0; k < populationSize; k++){
+            solutions[k] = packedPopulation[k].clone();
+        }
+        count();
+    }
+
+    /**
+     * This method counts all frequencies over the copy of the population.
+     */
+    private void count(){
+        BitColumns columns = new BitColumns(solutions, populationSize, numberOfParameters);
+        for(int i = 0; i < numberOfParameters; i++){
+            frequencies[rowOffsets[i] + i] = columns.getOnes(i);
+            for(int j = i + 1; j < numberOfParameters; j++){
+                frequencies[rowOffsets[i] + j] = columns.getJointOnes(i, j);
+            }
+        }
+    }
+
+    /**
+     * @param population The population that has to be checked.
+     * @return True iff the given population has the same size and number of parameters as the population of which these
+     * frequencies were counted, such that these frequencies can be updated to the given population.
+     */
+    public boolean fits(Population population){
+        return population.getPopulationSize() == populationSize && population.getNumberOfParameters() == numberOfParameters;
+    }
+
+    /**
+     * This function updates these joint frequencies to the given population, in which every individual is considered to
+     * be the offspring of the individual at the same position in the population that these frequencies were last counted
+     * or updated for. For every changed bit, the frequencies of the pairs that it forms with the other bits that are 1
+     * in the parent or in the offspring are updated. Pairs of two changed bits are updated once, from the lowest parameter.
+     * If too many bits changed, see RECOUNT_RATIO, all frequencies are recounted instead.
+     * @param population The new population, which should fit these frequencies.
+     * @return The amount of bits that changed.
+     */
+    public long update(Population population){
+        long[][] offspring = population.getPackedPopulation();
+        long changedBits = 0;
+        for(int k = 0; k < populationSize; k++){
+            for(int w = 0; w < solutions[k].length; w++){
+                changedBits += Long.bitCount(solutions[k][w] ^ offspring[k][w]);
+            }
+        }
+        if(changedBits * RECOUNT_RATIO > (long) populationSize * numberOfParameters){
+            for(int k = 0; k < populationSize; k++){
+                System.arraycopy(offspring[k], 0, solutions[k], 0, solutions[k].length);
+            }
+            count();
+            return changedBits;
+        }
+
+        for(int k = 0; k < populationSize; k++){
+            long[] parent = solutions[k];
+            long[] child = offspring[k];
+            for(int w = 0; w < parent.length; w++){
+                long changed = parent[w] ^ child[w];
+                while(changed != 0){
+                    int parameter = w * BitString.WORD_SIZE + Long.numberOfTrailingZeros(changed);
+                    if((child[w] & BitString.bitMask(parameter)) != 0){
+                        updatePairs(parameter, child, parent, child, 1);
+                    } else {
+                        updatePairs(parameter, parent, parent, child, -1);
+                    }
+                    changed &= changed - 1;
+                }
+            }
+            System.arraycopy(child, 0, parent, 0, parent.length);
+        }
+        return changedBits;
+    }
+
+    /**
+     * This method adds the given delta to the frequency of the given changed parameter, and to the joint frequencies of the
+     * pairs that it forms with all other parameters that are 1 in the given solution, except for changed parameters that
+     * are lower than the given parameter, as these pairs have already been updated.
+     * @param parameter The changed parameter.
+     * @param solution The solution in which the given parameter is 1, being the parent or the offspring.
+     * @param parent The parent.
+     * @param child The offspring.
+     * @param delta 1 if the parameter changed from 0 to 1, -1 otherwise.
+     */
+    private void updatePairs(int parameter, long[] solution, long[] parent, long[] child, int delta){
+        for(int w = 0; w < solution.length; w++){
+            long word = solution[w];
+            if(w <= BitString.wordIndex(parameter)){
+                long lowerChanged = (parent[w] ^ child[w]) & (w < BitString.wordIndex(parameter) ? -1L : BitString.bitMask(parameter) - 1);
+                word &= ~lowerChanged;
+            }
+            while(word != 0){
+                int other = w * BitString.WORD_SIZE + Long.numberOfTrailingZeros(word);
+                if(other < parameter){
+                    frequencies[rowOffsets[other] + parameter] += delta;
+                } else {
+                    frequencies[rowOffsets[parameter] + other] += delta;
+                }
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * This method verifies these joint frequencies against a full count over the given population.
+     * @param population The population that these frequencies were last updated for.
+     * @throws IllegalStateException If any of the frequencies differs from the full count.
+     */
+    public void verify(Population population){
+        if(!fits(population)){
+            throw new IllegalStateException("The maintained joint frequencies do not fit the population.");
+        }
+        JointFrequencies expected = new JointFrequencies(population);
+        if(!Arrays.equals(frequencies, expected.frequencies)){
+            for(int i = 0; i < numberOfParameters; i++){
+                for(int j = i; j < numberOfParameters; j++){
+                    if(getJointOnes(i, j) != expected.getJointOnes(i, j)){
+                        throw new IllegalStateException("The maintained joint frequency of parameters " + i + " and " + j + " is "
+                                + getJointOnes(i, j) + ", while a full count gives " + expected.getJointOnes(i, j) + ".");
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param parameter The index of the parameter.
+     * @return The amount of individuals that have value 1 for the given parameter.
+     */
+    public int getOnes(int parameter){
+        return frequencies[rowOffsets[parameter] + parameter];
+    }
+
+    /**
+     * @param param1 The first parameter.
+     * @param param2 The second parameter.
+     * @return The amount of individuals that have value 1 for both parameters.
+     */
+    public int getJointOnes(int param1, int param2){
+        return param1 <= param2 ? frequencies[rowOffsets[param1] + param2] : frequencies[rowOffsets[param2] + param1];
+    }
+
+    @Override
+    public double getJointEntropy(int param1, int param2){
+        int ones1 = getOnes(param1);
+        int ones2 = getOnes(param2);
+        int n11 = getJointOnes(param1, param2);
+        int n10 = ones1 - n11;
+        int n01 = ones2 - n11;
+        int n00 = populationSize - ones1 - n01;
+        return entropies[n00] + entropies[n01] + entropies[n10] + entropies[n11];
+    }
+}
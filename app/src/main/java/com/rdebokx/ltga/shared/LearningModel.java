@@ -5,12 +5,13 @@ import java.util.ArrayList;
 public class LearningModel {
 
     protected ArrayList<ParameterSet> model;
-    
+    private volatile Layout layout;
+
     /**
      * Empty constructor
      */
     public LearningModel(){}
-    
+
     /**
      * Constructor for testing purposes. This constructor accepts a given linkage tree, represented by an arrayList of ParameterSets.
      * @param tree The tree
@@ -18,14 +19,14 @@ public class LearningModel {
     public LearningModel(ArrayList<ParameterSet> model){
         this.model = model;
     }
-    
+
     /**
      * @return The size of this Linkage Tree
      */
     public int size(){
         return model.size();
     }
-    
+
     /**
      * Returns the parameter at the given position in the Linkage Tree.
      * @param i The position for which the ParameterSet has to be returned.
@@ -34,9 +35,143 @@ public class LearningModel {
     public ParameterSet get(int i){
         return model.get(i);
     }
-    
+
+    /**
+     * This function returns the flattened representation of this learning model. The layout is built on first use and
+     * rebuilt whenever the list of ParameterSets of this model was changed. Note that ParameterSets are assumed not to be
+     * altered once they are part of a learning model.
+     * @return The flattened representation of this learning model.
+     */
+    public Layout getLayout(){
+        Layout result = layout;
+        if(result == null || !result.isLayoutOf(model)){
+            synchronized(this){
+                result = layout;
+                if(result == null || !result.isLayoutOf(model)){
+                    result = new Layout(model);
+                    layout = result;
+                }
+            }
+        }
+        return result;
+    }
+
     @Override
     public String toString(){
         return model.toString();
     }
+
+    /**
+     * Flattened, CSR-style representation of a learning model. The parameters of element i are stored at positions
+     * offsets[i] up to offsets[i + 1] of the parameters array, and the word masks selecting these parameters in a packed
+     * solution are stored at positions wordOffsets[i] up to wordOffsets[i + 1] of the wordIndices and wordMasks arrays.
+     */
+    public static final class Layout {
+
+        private final ParameterSet[] elements;
+        private final int[] offsets;
+        private final int[] parameters;
+        private final int[] wordOffsets;
+        private final int[] wordIndices;
+        private final long[] wordMasks;
+
+        /**
+         * Constructor, constructing the flattened representation of the given list of ParameterSets.
+         * @param model The ParameterSets of the learning model.
+         */
+        private Layout(ArrayList<ParameterSet> model){
+            elements = model.toArray(new ParameterSet[model.size()]);
+            offsets = new int[elements.length + 1];
+            wordOffsets = new int[elements.length + 1];
+            for(int i = 0; i < elements.length; i++){
+                offsets[i + 1] = offsets[i] + elements[i].size();
+                wordOffsets[i + 1] = wordOffsets[i] + elements[i].getWordIndices().length;
+            }
+
+            parameters = new int[offsets[elements.length]];
+            wordIndices = new int[wordOffsets[elements.length]];
+            wordMasks = new long[wordOffsets[elements.length]];
+            for(int i = 0; i < elements.length; i++){
+                System.arraycopy(elements[i].getParameters(), 0, parameters, offsets[i], elements[i].size());
+                int words = wordOffsets[i + 1] - wordOffsets[i];
+                System.arraycopy(elements[i].getWordIndices(), 0, wordIndices, wordOffsets[i], words);
+                System.arraycopy(elements[i].getWordMasks(), 0, wordMasks, wordOffsets[i], words);
+            }
+        }
+
+        /**
+         * @param model A list of ParameterSets.
+         * @return True iff this layout was built from exactly the ParameterSets in the given list.
+         */
+        private boolean isLayoutOf(ArrayList<ParameterSet> model){
+            if(model.size() != elements.length){
+                return false;
+            }
+            for(int i = 0; i < elements.length; i++){
+                if(model.get(i) != elements[i]){
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return The amount of elements in this layout.
+         */
+        public int size(){
+            return elements.length;
+        }
+
+        /**
+         * @param element The index of the element.
+         * @return The amount of parameters in the given element.
+         */
+        public int getElementSize(int element){
+            return offsets[element + 1] - offsets[element];
+        }
+
+        /**
+         * Note that the returned array is the internal representation of this layout and should not be altered.
+         * @return The offsets of the elements in the parameters array.
+         */
+        public int[] getOffsets(){
+            return offsets;
+        }
+
+        /**
+         * Note that the returned array is the internal representation of this layout and should not be altered.
+         * @return The parameters of all elements, concatenated. Within an element, parameters are sorted ascendingly.
+         */
+        public int[] getParameters(){
+            return parameters;
+        }
+
+        /**
+         * This function returns true iff the given packed solutions differ on at least one of the parameters of the given element.
+         * @param element The index of the element.
+         * @param a The first packed solution.
+         * @param b The second packed solution.
+         * @return True iff the solutions differ on the parameters of the given element.
+         */
+        public boolean differs(int element, long[] a, long[] b){
+            for(int w = wordOffsets[element]; w < wordOffsets[element + 1]; w++){
+                if(!BitString.equalsMasked(a, b, wordIndices[w], wordMasks[w])){
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * This method copies the values of the parameters of the given element from the source to the destination.
+         * @param element The index of the element.
+         * @param source The packed solution from which values have to be copied.
+         * @param dest The packed solution to which values have to be copied.
+         */
+        public void copy(int element, long[] source, long[] dest){
+            for(int w = wordOffsets[element]; w < wordOffsets[element + 1]; w++){
+                BitString.copyMasked(source, dest, wordIndices[w], wordMasks[w]);
+            }
+        }
+    }
 }
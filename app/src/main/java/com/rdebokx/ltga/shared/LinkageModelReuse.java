@@ -0,0 +1,137 @@
+package com.rdebokx.ltga.shared;
+
+import java.util.function.Supplier;
+
+import com.rdebokx.ltga.config.LearningConfiguration;
+import com.rdebokx.ltga.config.LearningConfiguration.DriftMeasure;
+
+/**
+ * Policy that reuses the previously learned linkage model as long as the population has barely moved since the model
+ * was learned. Learning a linkage model takes O(l^2 * n) time, while measuring the drift of the population takes at most
+ * O(l * n) time, such that skipping the learning on quiet generations, which are typical near convergence, saves most of
+ * the time spent on linkage learning.
+ *
+ * The drift is measured with respect to the population from which the model was learned, rather than with respect to
+ * the previous generation, such that slow drift accumulates until a new model is learned. A new model is learned
+ * regardless of the drift once the model has been used for the maximum amount of generations. As the mixing order of
+ * the elements of the model is drawn anew for every solution, a reused model only fixes the structure of the model.
+ * @author Rdebokx
+ *
+ */
+public class LinkageModelReuse {
+
+    private final DriftMeasure driftMeasure;
+    private final double driftThreshold;
+    private final int maxModelAge;
+    private LearningModel model;
+    private int age;
+    private int populationSize;
+    private int[] ones;
+    private long[][] solutions;
+    private int numberOfReuses;
+
+    /**
+     * Constructor, constructing a new policy based on the given configuration.
+     * @param learningConfig The LearningConfiguration, holding the drift measure, the drift threshold and the maximum age.
+     */
+    public LinkageModelReuse(LearningConfiguration learningConfig){
+        this.driftMeasure = learningConfig.DRIFT_MEASURE;
+        this.driftThreshold = learningConfig.DRIFT_THRESHOLD;
+        this.maxModelAge = learningConfig.MAX_MODEL_AGE;
+    }
+
+    /**
+     * This function returns the linkage model for the given population. The previous model is returned if it has been
+     * used for less than the maximum amount of generations and the drift of the given population since the model was
+     * learned is below the threshold. Otherwise, a new model is learned by the given learner.
+     * @param population The population for which a linkage model is needed.
+     * @param learner The learner that learns a new linkage model from the given population.
+     * @return The linkage model for the given population.
+     */
+    public LearningModel getModel(Population population, Supplier<LearningModel> learner){
+        if(model != null && age < maxModelAge && population.getPopulationSize() == populationSize
+                && getDrift(population) < driftThreshold){
+            age++;
+            numberOfReuses++;
+            return model;
+        }
+
+        model = learner.get();
+        age = 1;
+        record(population);
+        return model;
+    }
+
+    /**
+     * This function measures the drift of the given population since the current model was learned.
+     * @param population The population of which the drift has to be measured.
+     * @return The largest change in the frequency of value 1 of any parameter, or the fraction of changed individuals,
+     * depending on the drift measure.
+     */
+    public double getDrift(Population population){
+        if(driftMeasure == DriftMeasure.CHANGED_INDIVIDUALS){
+            long[][] current = population.getPackedPopulation();
+            int changed = 0;
+            for(int k = 0; k < populationSize; k++){
+                if(!BitString.equals(current[k], solutions[k])){
+                    changed++;
+                }
+            }
+            return changed / (populationSize * 1.0);
+        }
+
+        int[] currentOnes = countOnes(population);
+        int maxChange = 0;
+        for(int i = 0; i < currentOnes.length; i++){
+            maxChange = Math.max(maxChange, Math.abs(currentOnes[i] - ones[i]));
+        }
+        return maxChange / (populationSize * 1.0);
+    }
+
+    /**
+     * This method records the statistics of the given population, from which a new model was learned.
+     * @param population The population from which the current model was learned.
+     */
+    private void record(Population population){
+        populationSize = population.getPopulationSize();
+        if(driftMeasure == DriftMeasure.CHANGED_INDIVIDUALS){
+            long[][] current = population.getPackedPopulation();
+            if(solutions == null || solutions.length != populationSize){
+                solutions = new long[populationSize][];
+            }
+            for(int k = 0; k < populationSize; k++){
+                solutions[k] = current[k].clone();
+            }
+        } else {
+            ones = countOnes(population);
+        }
+    }
+
+    /**
+     * This function counts for every parameter the amount of individuals of the given population that have value 1.
+     * @param population The population for which the ones have to be counted.
+     * @return The amount of ones for every parameter.
+     */
+    private static int[] countOnes(Population population){
+        int[] result = new int[population.getNumberOfParameters()];
+        long[][] current = population.getPackedPopulation();
+        for(int k = 0; k < population.getPopulationSize(); k++){
+            long[] solution = current[k];
+            for(int w = 0; w < solution.length; w++){
+                long word = solution[w];
+                while(word != 0){
+                    result[w * BitString.WORD_SIZE + Long.numberOfTrailingZeros(word)]++;
+                    word &= word - 1;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The amount of generations for which a previously learned model was reused.
+     */
+    public int getNumberOfReuses(){
+        return numberOfReuses;
+    }
+}
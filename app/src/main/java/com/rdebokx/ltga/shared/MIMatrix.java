@@ -3,17 +3,79 @@ package com.rdebokx.ltga.shared;
 import java.util.Arrays;
 
 public abstract class MIMatrix {
-    
-    protected final double[][]matrix;
-    
+
     /**
-     * Private constructor, used to clone this MIMatrix.
+     * The ways in which the values of a MIMatrix can be stored.
+     * FULL stores the complete square matrix of doubles, such that rows can be accessed directly.
+     * PACKED_DOUBLE stores only the upper triangle, including the diagonal, which halves the memory usage.
+     * PACKED_FLOAT stores only the upper triangle in single precision, which quarters the memory usage.
+     */
+    public enum Storage {
+        FULL, PACKED_DOUBLE, PACKED_FLOAT
+    }
+
+    protected final int size;
+    protected final Storage storage;
+    private final double[][] matrix;
+    private final int[] rowOffsets;
+    private final double[] packedDoubles;
+    private final float[] packedFloats;
+
+    /**
+     * Constructor, constructing an empty MIMatrix that stores the full matrix.
      * @param numberOfParameters The number of parameters for this MIMatrix
      */
     public MIMatrix(int numberOfParameters){
-        this.matrix = new double[numberOfParameters][numberOfParameters];
+        this(numberOfParameters, Storage.FULL);
     }
-    
+
+    /**
+     * Constructor, constructing an empty MIMatrix with the given storage. Note that for the packed storages, the matrix is
+     * always symmetric.
+     * @param numberOfParameters The number of parameters for this MIMatrix
+     * @param storage The way in which the values of this MIMatrix have to be stored.
+     */
+    public MIMatrix(int numberOfParameters, Storage storage){
+        this.size = numberOfParameters;
+        this.storage = storage;
+        if(storage == Storage.FULL){
+            this.matrix = new double[numberOfParameters][numberOfParameters];
+            this.rowOffsets = null;
+            this.packedDoubles = null;
+            this.packedFloats = null;
+        } else {
+            long cells = numberOfParameters * (numberOfParameters + 1L) / 2;
+            if(cells > Integer.MAX_VALUE){
+                throw new IllegalArgumentException("A packed MIMatrix can not hold " + numberOfParameters + " parameters.");
+            }
+
+            //Row i holds columns i up to numberOfParameters, such that cell (i, j) is stored at rowOffsets[i] + j.
+            this.matrix = null;
+            this.rowOffsets = new int[numberOfParameters];
+            int offset = 0;
+            for(int i = 0; i < numberOfParameters; i++){
+                rowOffsets[i] = offset - i;
+                offset += numberOfParameters - i;
+            }
+            this.packedDoubles = storage == Storage.PACKED_DOUBLE ? new double[(int) cells] : null;
+            this.packedFloats = storage == Storage.PACKED_FLOAT ? new float[(int) cells] : null;
+        }
+    }
+
+    /**
+     * @return The number of rows and columns of this matrix.
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * @return The way in which the values of this MIMatrix are stored.
+     */
+    public Storage getStorage(){
+        return storage;
+    }
+
     /**
      * Return the value in the matrix at position i,j.
      * @param i Row
@@ -21,39 +83,122 @@ public abstract class MIMatrix {
      * @return The value at the specified location.
      */
     public double get(int i, int j){
-        return matrix[i][j];
+        switch(storage){
+        case FULL:
+            return matrix[i][j];
+        case PACKED_DOUBLE:
+            return packedDoubles[i <= j ? rowOffsets[i] + j : rowOffsets[j] + i];
+        default:
+            return packedFloats[i <= j ? rowOffsets[i] + j : rowOffsets[j] + i];
+        }
     }
-    
+
     /**
-     * This function returns row i from the matrix.
+     * This function returns row i from the matrix. For the full storage, this is the row itself. For the packed storages,
+     * this is a copy of the row, such that changes to the returned array are not reflected in this matrix.
      * @param i The index of the row that has to be returned.
      * @return Row i.
      */
     public double[] get(int i){
-        return matrix[i];
+        if(storage == Storage.FULL){
+            return matrix[i];
+        }
+        double[] result = new double[size];
+        for(int j = 0; j < size; j++){
+            result[j] = get(i, j);
+        }
+        return result;
     }
-    
+
     /**
-     * This function sets a value at the given position. Note that other values in the matrix are not updated.
+     * This function sets a value at the given position. For the full storage, other values in the matrix are not updated.
+     * For the packed storages, position j,i is the same position and is therefore updated as well.
      * @param i Row
      * @param j Column
      * @param value The new value for the specified location.
      */
     public void set(int i, int j, double value){
-        matrix[i][j] = value;
+        switch(storage){
+        case FULL:
+            matrix[i][j] = value;
+            break;
+        case PACKED_DOUBLE:
+            packedDoubles[i <= j ? rowOffsets[i] + j : rowOffsets[j] + i] = value;
+            break;
+        default:
+            packedFloats[i <= j ? rowOffsets[i] + j : rowOffsets[j] + i] = (float) value;
+            break;
+        }
+    }
+
+    /**
+     * This function sets a value at the given position and at its mirrored position j,i.
+     * @param i Row
+     * @param j Column
+     * @param value The new value for the specified locations.
+     */
+    public void setSymmetric(int i, int j, double value){
+        set(i, j, value);
+        if(storage == Storage.FULL){
+            matrix[j][i] = value;
+        }
     }
-    
+
+    /**
+     * This method updates this Similarity Matrix for when the given ParameterSets would be merged. The similarity of every
+     * other active cluster to the merged cluster is the size-weighted average of its similarities to r0 and r1, and is
+     * stored at the index of r0. Only the first activeClusters rows are updated, as the others are no longer in use.
+     * @param r0 The first ParameterSet.
+     * @param r1 The second ParameterSet.
+     * @param activeClusters The amount of clusters that are still active in the MPM.
+     */
+    public void updateSMatrix(ParameterSet r0, ParameterSet r1, int activeClusters){
+        //long timeStart = System.currentTimeMillis();
+        
+        double mul0 = r0.size() / ((r0.size() + r1.size()) * 1.0);
+        double mul1 = r1.size() / ((r0.size() + r1.size()) * 1.0);
+        
+        for(int i = 0; i < activeClusters; i++){
+            if(i != r0.getIndex() && i != r1.getIndex()){
+                setSymmetric(i, r0.getIndex(), mul0 * get(i, r0.getIndex()) + mul1 * get(i, r1.getIndex()));
+            }
+        }
+        
+        //long timeEnd = System.currentTimeMillis();
+        //Profiler.recordExecution("MIMatrix.updateSMatrix", timeEnd - timeStart);
+    }
+
+    /**
+     * This method copies all values of this MIMatrix into the given MIMatrix, which should have the same size and storage.
+     * @param out The MIMatrix into which the values have to be copied.
+     */
+    protected void copyTo(MIMatrix out){
+        switch(storage){
+        case FULL:
+            for(int i = 0; i < size; i++){
+                System.arraycopy(matrix[i], 0, out.matrix[i], 0, size);
+            }
+            break;
+        case PACKED_DOUBLE:
+            System.arraycopy(packedDoubles, 0, out.packedDoubles, 0, packedDoubles.length);
+            break;
+        default:
+            System.arraycopy(packedFloats, 0, out.packedFloats, 0, packedFloats.length);
+            break;
+        }
+    }
+
     /**
      * @return A string representation of this Mutual Information Matrix.
      */
     public String toString(){
         String result = "";
-        for(double[] row : matrix){
-            result += Arrays.toString(row) + "\n";
+        for(int i = 0; i < size; i++){
+            result += Arrays.toString(get(i)) + "\n";
         }
         return result;
     }
-    
+
     /**
      * This function returns true iff the given object is a MIMatrix with the same contents as this MIMatrix.
      * @param obj The object that should be checked for equality to this MIMatrix.
@@ -64,10 +209,12 @@ public abstract class MIMatrix {
         boolean result = true;
         if(obj instanceof MIMatrix){
             MIMatrix that = (MIMatrix) obj;
-            result = this.matrix.length == that.matrix.length;
+            result = this.size == that.size;
             int i = 0;
-            while(result && i < matrix.length){
-                result &= Arrays.equals(this.matrix[i], that.matrix[i]);
+            while(result && i < size){
+                for(int j = 0; result && j < size; j++){
+                    result = Double.compare(this.get(i, j), that.get(i, j)) == 0;
+                }
                 i++;
             }
         } else {
@@ -82,5 +229,5 @@ public abstract class MIMatrix {
      */
     @Override
     public abstract MIMatrix clone();
-    
+
 }
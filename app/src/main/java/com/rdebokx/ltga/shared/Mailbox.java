@@ -0,0 +1,59 @@
+package com.rdebokx.ltga.shared;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded mailbox through which islands send migrants to each other. Both sending and receiving are lock-free, such
+ * that an island never waits for another island. When the mailbox is full, newly sent migrants are dropped, as the
+ * receiving island apparently did not keep up with its neighbours.
+ * @author Rdebokx
+ *
+ */
+public class Mailbox {
+
+    private final ConcurrentLinkedQueue<Solution> migrants = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+
+    /**
+     * Constructor, constructing a new empty Mailbox that holds at most the given amount of migrants.
+     * @param capacity The maximum amount of migrants in this mailbox.
+     */
+    public Mailbox(int capacity){
+        this.capacity = capacity;
+    }
+
+    /**
+     * This function sends the given migrant to this mailbox. May be called concurrently.
+     * @param migrant The migrant to be sent. It should not be altered afterwards.
+     * @return True iff the migrant was accepted, false if this mailbox is full.
+     */
+    public boolean offer(Solution migrant){
+        if(size.incrementAndGet() > capacity){
+            size.decrementAndGet();
+            return false;
+        }
+        migrants.offer(migrant);
+        return true;
+    }
+
+    /**
+     * This function receives the migrant that was sent to this mailbox first. May be called concurrently.
+     * @return The received migrant, or null if this mailbox is empty.
+     */
+    public Solution poll(){
+        Solution result = migrants.poll();
+        if(result != null){
+            size.decrementAndGet();
+        }
+        return result;
+    }
+
+    /**
+     * @return The amount of migrants currently in this mailbox.
+     */
+    public int size(){
+        return size.get();
+    }
+}
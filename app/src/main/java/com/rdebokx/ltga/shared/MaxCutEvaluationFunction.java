@@ -1,48 +1,214 @@
 package com.rdebokx.ltga.shared;
 
+import java.util.Arrays;
+
 public class MaxCutEvaluationFunction implements EvaluationFunction {
 
     private final int numberOfVertices;
-    private final int[][] weights;
-    
+    private int[] offsets;
+    private int[] neighbors;
+    private int[] weights;
+
     /**
-     * Constructor, constructing a new MaxCutEvaluationFunction.
+     * Constructor, constructing a new MaxCutEvaluationFunction based on a dense weights table.
+     * The graph is stored in compressed sparse row format, only the non-zero weights of the upper triangle are kept.
      * @param numberOfVertices The amount of vertices for the given problem.
      * @param weights The lookup table with weights. Not that this is 0-based.
      */
     public MaxCutEvaluationFunction(int numberOfVertices, int[][] weights) {
         this.numberOfVertices = numberOfVertices;
-        this.weights = weights;
+        int[][] edges = getEdges(numberOfVertices, weights);
+        initialize(edges[0], edges[1], edges[2], edges[0].length);
+    }
+
+    /**
+     * Constructor, constructing a new MaxCutEvaluationFunction based on the given list of undirected edges.
+     * The graph is stored in compressed sparse row format, in which every edge is stored for both of its vertices.
+     * @param numberOfVertices The amount of vertices for the given problem.
+     * @param sources The first vertex of every edge, 0-based.
+     * @param targets The second vertex of every edge, 0-based.
+     * @param edgeWeights The weight of every edge.
+     * @param numberOfEdges The amount of edges stored in the given arrays.
+     */
+    public MaxCutEvaluationFunction(int numberOfVertices, int[] sources, int[] targets, int[] edgeWeights, int numberOfEdges) {
+        this.numberOfVertices = numberOfVertices;
+        initialize(sources, targets, edgeWeights, numberOfEdges);
+    }
+
+    /**
+     * This method builds the adjacency arrays of this graph from the given list of undirected edges.
+     * @param sources The first vertex of every edge, 0-based.
+     * @param targets The second vertex of every edge, 0-based.
+     * @param edgeWeights The weight of every edge.
+     * @param numberOfEdges The amount of edges stored in the given arrays.
+     */
+    private void initialize(int[] sources, int[] targets, int[] edgeWeights, int numberOfEdges){
+        offsets = new int[numberOfVertices + 1];
+        for(int e = 0; e < numberOfEdges; e++){
+            offsets[sources[e] + 1]++;
+            offsets[targets[e] + 1]++;
+        }
+        for(int v = 0; v < numberOfVertices; v++){
+            offsets[v + 1] += offsets[v];
+        }
+
+        neighbors = new int[offsets[numberOfVertices]];
+        weights = new int[offsets[numberOfVertices]];
+        int[] fill = new int[numberOfVertices];
+        for(int e = 0; e < numberOfEdges; e++){
+            int position = offsets[sources[e]] + fill[sources[e]]++;
+            neighbors[position] = targets[e];
+            weights[position] = edgeWeights[e];
+            position = offsets[targets[e]] + fill[targets[e]]++;
+            neighbors[position] = sources[e];
+            weights[position] = edgeWeights[e];
+        }
     }
-    
+
     @Override
     public double evaluate(boolean[] solution) {
-        double total = 0;
+        long total = 0;
         for(int i = 0; i < numberOfVertices; i++){
-            total += calculateForEdgesFor(i, solution);
+            for(int e = offsets[i]; e < offsets[i + 1]; e++){
+                if(neighbors[e] > i && solution[i] != solution[neighbors[e]]){
+                    total += weights[e];
+                }
+            }
         }
-        
+
         return total;
     }
-    
+
+    /**
+     * This function evaluates the given packed solution in O(E).
+     * @see EvaluationFunction#evaluate(long[], int)
+     */
+    @Override
+    public double evaluate(long[] solution, int numberOfParameters) {
+        long total = 0;
+        for(int i = 0; i < numberOfVertices; i++){
+            boolean side = BitString.get(solution, i);
+            for(int e = offsets[i]; e < offsets[i + 1]; e++){
+                if(neighbors[e] > i && side != BitString.get(solution, neighbors[e])){
+                    total += weights[e];
+                }
+            }
+        }
+
+        return total;
+    }
+
+    @Override
+    public boolean supportsDeltaEvaluation(){
+        return true;
+    }
+
+    /**
+     * Only the edges of the vertices that were flipped with respect to the base solution are considered, which takes
+     * O(sum of their degrees). When this is more than the amount of edges, a full evaluation is performed.
+     * @see EvaluationFunction#evaluateDelta(long[], int, long[], double, int[], int, int)
+     */
+    @Override
+    public double evaluateDelta(long[] solution, int numberOfParameters, long[] base, double baseFitness, int[] changed, int from, int to){
+        long degrees = 0;
+        for(int c = from; c < to; c++){
+            degrees += offsets[changed[c] + 1] - offsets[changed[c]];
+        }
+        if(degrees * 2 > neighbors.length){
+            return evaluate(solution, numberOfParameters);
+        }
+
+        //Edges between two flipped vertices do not change, as both vertices switch sides.
+        long delta = 0;
+        for(int c = from; c < to; c++){
+            int v = changed[c];
+            boolean side = BitString.get(solution, v);
+            if(side != BitString.get(base, v)){
+                for(int e = offsets[v]; e < offsets[v + 1]; e++){
+                    int u = neighbors[e];
+                    boolean neighborSide = BitString.get(solution, u);
+                    if(neighborSide == BitString.get(base, u)){
+                        delta += side != neighborSide ? weights[e] : -weights[e];
+                    }
+                }
+            }
+        }
+        return baseFitness + delta;
+    }
+
+    /**
+     * The vertices that interact with a vertex are its neighbors in the graph.
+     * @see EvaluationFunction#getInteractingParameters(int, int)
+     */
+    @Override
+    public int[] getInteractingParameters(int parameter, int numberOfParameters){
+        return Arrays.copyOfRange(neighbors, offsets[parameter], offsets[parameter + 1]);
+    }
+
     /**
+     * @return The amount of vertices of this graph.
+     */
+    public int getNumberOfVertices(){
+        return numberOfVertices;
+    }
+
+    /**
+     * This function returns the weight of the edge between the given vertices, or 0 if no such edge exists.
+     * @param vertex1 The first vertex, 0-based.
+     * @param vertex2 The second vertex, 0-based.
+     * @return The weight of the edge between the given vertices.
+     */
+    public int getWeight(int vertex1, int vertex2){
+        int result = 0;
+        for(int e = offsets[vertex1]; e < offsets[vertex1 + 1]; e++){
+            if(neighbors[e] == vertex2){
+                result += weights[e];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * This function returns the dense weights table of this graph. Note that this table is constructed on every call and
+     * takes O(V^2) memory, so it should only be used for small instances.
      * @return The weights table represented by this MaxCutEvaluationFunction
      */
     public int[][] getWeights(){
-        return weights;
+        int[][] result = new int[numberOfVertices][numberOfVertices];
+        for(int i = 0; i < numberOfVertices; i++){
+            for(int e = offsets[i]; e < offsets[i + 1]; e++){
+                result[i][neighbors[e]] += weights[e];
+            }
+        }
+        return result;
     }
 
     /**
-     * This function calculates the total weight of cut edges connected to i.
-     * @param i The index of the vertex that is considered.
-     * @param solution The solution for which the cut edges for the given i are to be determined.
-     * @return The sum of the cut edges of i.
+     * This function determines the edges of the given dense weights table, considering the upper triangle only.
+     * @param numberOfVertices The amount of vertices.
+     * @param weights The dense weights table.
+     * @return The sources, targets and weights of all edges with a non-zero weight.
      */
-    private int calculateForEdgesFor(int i, boolean[] solution){
-        int result = 0;
-        for(int j = i + 1; j < numberOfVertices; j++){
-            if(solution[i] != solution [j]){
-                result += weights[i][j];
+    private static int[][] getEdges(int numberOfVertices, int[][] weights){
+        int numberOfEdges = 0;
+        for(int i = 0; i < numberOfVertices; i++){
+            for(int j = i + 1; j < numberOfVertices; j++){
+                if(weights[i][j] != 0){
+                    numberOfEdges++;
+                }
+            }
+        }
+
+        int[][] result = new int[3][numberOfEdges];
+        int e = 0;
+        for(int i = 0; i < numberOfVertices; i++){
+            for(int j = i + 1; j < numberOfVertices; j++){
+                if(weights[i][j] != 0){
+                    result[0][e] = i;
+                    result[1][e] = j;
+                    result[2][e] = weights[i][j];
+                    e++;
+                }
             }
         }
         return result;
@@ -24,23 +24,36 @@ public class NearestNeighborChain extends ArrayList<ParameterSet>{
      * @return A tuple of two ParameterSets that contain sets which are mutual nearest neighbor.
      */
     public Pair<ParameterSet> getNNTuple(MIMatrix SMatrix, ParameterSet[] mpm, Randomizer randomizer){
+        return getNNTuple(SMatrix, mpm, mpm.length, randomizer);
+    }
+    
+    /**
+     * This function extends the Nearest Neighbor Chain untill a loop is introduced, only considering the first 
+     * activeClusters parameter sets of the given Marginal Product Model.
+     * @param SMatrix The similarity matrix on which the search for the to be appended nearest neighbors has to be based.
+     * @param mpm The Marginal Product Model containing the parameter sets that correspond to the similarity matrix.
+     * @param activeClusters The amount of parameter sets at the start of the mpm that are still active.
+     * @param randomizer The Randomizer object that should be used.
+     * @return A tuple of two ParameterSets that contain sets which are mutual nearest neighbor.
+     */
+    public Pair<ParameterSet> getNNTuple(MIMatrix SMatrix, ParameterSet[] mpm, int activeClusters, Randomizer randomizer){
         //long timeStart = System.currentTimeMillis();
         
         //Initialize if needed
         if(this.size() == 0){
-            int randInt = randomizer.generator.nextInt(mpm.length);
+            int randInt = randomizer.generator.nextInt(activeClusters);
             this.add(mpm[randInt]);
         }
         
         //Extend if needed
         while(this.size() < 3){
-            this.add(getNearestNeighbor(this.get(this.size() - 1), SMatrix, mpm));
+            this.add(getNearestNeighbor(this.get(this.size() - 1), SMatrix, mpm, activeClusters));
         }
         ParameterSet last = this.get(this.size() - 1);
         ParameterSet secondLast = this.get(this.size() - 2);
         ParameterSet thirdLast = this.get(this.size() - 3);
         while(!thirdLast.equals(last)){
-            this.add(getNearestNeighbor(last, SMatrix, mpm));
+            this.add(getNearestNeighbor(last, SMatrix, mpm, activeClusters));
             
             //If last two similarity values are equal, create loop
             last = this.get(this.size() - 1);
@@ -83,6 +96,19 @@ public class NearestNeighborChain extends ArrayList<ParameterSet>{
      * @return The nearest neighbor of the input ParameterSet.
      */
     public ParameterSet getNearestNeighbor(ParameterSet paramSet, MIMatrix SMatrix, ParameterSet[] mpm){
+        return getNearestNeighbor(paramSet, SMatrix, mpm, mpm.length);
+    }
+    
+    /**
+     * This function finds the nearest neighbor of the given ParameterSet among the first activeClusters ParameterSets
+     * of the given Marginal Product Model.
+     * @param paramSet The ParameterSet for which a nearest neighbor has to be found.
+     * @param SMatrix The similarity matrix on which the search for the nearest neighbor has to be based.
+     * @param mpm The Marginal Product Model containing the ParameterSets that correspond to the similarity matrix.
+     * @param activeClusters The amount of ParameterSets at the start of the mpm that are still active.
+     * @return The nearest neighbor of the input ParameterSet.
+     */
+    public ParameterSet getNearestNeighbor(ParameterSet paramSet, MIMatrix SMatrix, ParameterSet[] mpm, int activeClusters){
         ParameterSet result = mpm[0];
         if(paramSet.getIndex() == 0){
             result = mpm[1];
@@ -90,12 +116,13 @@ public class NearestNeighborChain extends ArrayList<ParameterSet>{
         
         double maxScore = 0;
         int minWinnerSize = numberOfParameters;
-        double[] paramSetSM = SMatrix.get(paramSet.getIndex());
-        for(int i = 0; i < mpm.length; i++){
-            if(i != paramSet.getIndex() && 
-                    (paramSetSM[i] > maxScore || (paramSetSM[i] == maxScore && mpm[i].size() < minWinnerSize))){
+        int index = paramSet.getIndex();
+        for(int i = 0; i < activeClusters; i++){
+            double score = SMatrix.get(index, i);
+            if(i != index && 
+                    (score > maxScore || (score == maxScore && mpm[i].size() < minWinnerSize))){
                 result = mpm[i];
-                maxScore = paramSetSM[i];
+                maxScore = score;
                 minWinnerSize = result.size();
             }
         }
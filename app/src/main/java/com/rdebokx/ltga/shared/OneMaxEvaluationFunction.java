@@ -0,0 +1,42 @@
+package com.rdebokx.ltga.shared;
+
+public class OneMaxEvaluationFunction implements EvaluationFunction {
+
+    /**
+     * @see EvaluationFunction#evaluate(boolean[])
+     */
+    @Override
+    public double evaluate(boolean[] solution){
+        double result = 0;
+        for(int i = 0; i < solution.length; i++){
+            result += solution[i] ? 1 : 0;
+        }
+        return result;
+    }
+    
+    /**
+     * @see EvaluationFunction#evaluate(long[], int)
+     */
+    @Override
+    public double evaluate(long[] solution, int numberOfParameters){
+        return BitString.cardinality(solution);
+    }
+    
+    @Override
+    public boolean supportsDeltaEvaluation(){
+        return true;
+    }
+    
+    /**
+     * The score of a OneMax solution is the sum of its bits, hence the fitness change is the sum of the changes of the bits at the given indices.
+     * @see EvaluationFunction#evaluateDelta(long[], int, long[], double, int[], int, int)
+     */
+    @Override
+    public double evaluateDelta(long[] solution, int numberOfParameters, long[] base, double baseFitness, int[] changed, int from, int to){
+        int delta = 0;
+        for(int c = from; c < to; c++){
+            delta += (BitString.get(solution, changed[c]) ? 1 : 0) - (BitString.get(base, changed[c]) ? 1 : 0);
+        }
+        return baseFitness + delta;
+    }
+}
@@ -1,28 +1,41 @@
 package com.rdebokx.ltga.shared;
 
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
-public class ParameterSet extends HashSet<Integer> {
+/**
+ * A set of parameters, stored as a sorted int array together with the word masks that select these parameters in a
+ * packed solution. The Set interface is offered as a compatibility view on top of these primitive arrays.
+ */
+public class ParameterSet extends AbstractSet<Integer> {
+
+    private static final int[] NO_PARAMETERS = new int[0];
+    private static final long[] NO_MASKS = new long[0];
 
     private int index;
-    
+    private int[] parameters;
+    private int[] wordIndices;
+    private long[] wordMasks;
+
     /**
      * Constructor, constructing an empty ParameterSet with index -1.
      */
     public ParameterSet(){
     	index = -1;
+    	setParameters(NO_PARAMETERS);
     }
-    
+
     /**
      * Constructor, constructing a new ParameterSet with the given value as initial value. The index will be set to -1.
      * @param initValue The parameter that this ParameterSet should contain.
      */
     public ParameterSet(int initValue){
-    	this.index = -1;
-    	this.add(initValue);
+    	this(-1, initValue);
     }
-    
+
     /**
      * Constructor, constructing a new ParameterSet with the given index and value
      * @param index The index of this ParameterSet in the MPM
@@ -30,52 +43,55 @@ public class ParameterSet extends HashSet<Integer> {
      */
     public ParameterSet(int index, int initValue){
         this.index = index;
-        this.add(initValue);
+        setParameters(new int[]{initValue});
     }
-    
+
     /**
      * Constructor, constructing a new ParameterSet based on the given collection of values.
      * @param index The index of this ParameterSet in the MPM.
      * @param initValue The collection of values of which this ParameterSet consists.
      */
     public ParameterSet(int index, Collection<Integer> initValue){
-        super(initValue);
         this.index = index;
+        setParameters(toSortedArray(initValue));
     }
-    
+
     /**
      * Constructor, constructing a new ParameterSet based on the given collection of values.
      * @param initValue The collection of values of which this ParameterSet consists.
      */
     public ParameterSet(Collection<Integer> initValue){
-        super(initValue);
-        this.index = -1;
+        this(-1, initValue);
     }
-    
+
     /**
-     * Constructor, constructing a new ParameterSet based on two collection of values. The collections are merged and 
-     * added to this ParameterSet. 
+     * Constructor, constructing a new ParameterSet based on two collection of values. The collections are merged and
+     * added to this ParameterSet. When both collections are ParameterSets, they are merged without boxing.
      * @param index The index of this ParameterSet in the MPM.
      * @param col1 The first collection to put in this ParameterSet.
      * @param col2 The second collection to put in this ParameterSet.
      */
     public ParameterSet(int index, Collection<Integer> col1, Collection<Integer> col2){
-        this(index, col1);
-        this.addAll(col2);
+        this.index = index;
+        if(col2 == null){
+            setParameters(toSortedArray(col1));
+        } else if(col1 instanceof ParameterSet && col2 instanceof ParameterSet){
+            setParameters(merge(((ParameterSet) col1).parameters, ((ParameterSet) col2).parameters));
+        } else {
+            setParameters(merge(toSortedArray(col1), toSortedArray(col2)));
+        }
     }
+
     /**
-     * Constructor, constructing a new ParameterSet based on two collection of values. The collections are merged and 
-     * added to this ParameterSet. 
+     * Constructor, constructing a new ParameterSet based on two collection of values. The collections are merged and
+     * added to this ParameterSet.
      * @param col1 The first collection to put in this ParameterSet.
      * @param col2 The second collection to put in this ParameterSet.
      */
     public ParameterSet(Collection<Integer> col1, Collection<Integer> col2){
-        super(col1);
-        if(col2 != null){
-            this.addAll(col2);
-        }
+        this(-1, col1, col2);
     }
-    
+
     /**
      * Constructor, constructing a new ParameterSet with the given two parameters.
      * @param index The index of this ParameterSet.
@@ -84,17 +100,20 @@ public class ParameterSet extends HashSet<Integer> {
      */
     public ParameterSet(int index, int value1, int value2){
         this.index = index;
-        this.add(value1);
-        this.add(value2);
+        if(value1 == value2){
+            setParameters(new int[]{value1});
+        } else {
+            setParameters(value1 < value2 ? new int[]{value1, value2} : new int[]{value2, value1});
+        }
     }
-    
+
     /**
      * @return The index of this ParameterSet in the MPM.
      */
     public int getIndex(){
         return index;
     }
-    
+
     /**
      * Set the index of this ParameterSet in the MPM.
      * @param index
@@ -102,7 +121,131 @@ public class ParameterSet extends HashSet<Integer> {
     public void setIndex(int index){
         this.index = index;
     }
-    
+
+    /**
+     * Note that the returned array is the internal representation of this set and should not be altered.
+     * @return The parameters in this set in ascending order.
+     */
+    public int[] getParameters(){
+        return parameters;
+    }
+
+    /**
+     * Note that the returned array is the internal representation of this set and should not be altered.
+     * @return The indices of the words of a packed solution that contain parameters of this set, in ascending order.
+     */
+    public int[] getWordIndices(){
+        return wordIndices;
+    }
+
+    /**
+     * Note that the returned array is the internal representation of this set and should not be altered.
+     * @return For every word index returned by getWordIndices(), the mask selecting the parameters of this set in that word.
+     */
+    public long[] getWordMasks(){
+        return wordMasks;
+    }
+
+    /**
+     * @param parameter The parameter that has to be looked up.
+     * @return True iff the given parameter is contained by this set.
+     */
+    public boolean contains(int parameter){
+        return Arrays.binarySearch(parameters, parameter) >= 0;
+    }
+
+    @Override
+    public int size(){
+        return parameters.length;
+    }
+
+    @Override
+    public boolean contains(Object o){
+        return o instanceof Integer && contains(((Integer) o).intValue());
+    }
+
+    @Override
+    public boolean add(Integer parameter){
+        int position = Arrays.binarySearch(parameters, parameter);
+        if(position >= 0){
+            return false;
+        }
+        position = -position - 1;
+        int[] newParameters = new int[parameters.length + 1];
+        System.arraycopy(parameters, 0, newParameters, 0, position);
+        newParameters[position] = parameter;
+        System.arraycopy(parameters, position, newParameters, position + 1, parameters.length - position);
+        setParameters(newParameters);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o){
+        if(!(o instanceof Integer)){
+            return false;
+        }
+        int position = Arrays.binarySearch(parameters, (Integer) o);
+        if(position < 0){
+            return false;
+        }
+        removeAt(position);
+        return true;
+    }
+
+    @Override
+    public void clear(){
+        setParameters(NO_PARAMETERS);
+    }
+
+    @Override
+    public Iterator<Integer> iterator(){
+        return new Iterator<Integer>(){
+            private int next = 0;
+            private boolean removable = false;
+
+            @Override
+            public boolean hasNext(){
+                return next < parameters.length;
+            }
+
+            @Override
+            public Integer next(){
+                if(next >= parameters.length){
+                    throw new NoSuchElementException();
+                }
+                removable = true;
+                return parameters[next++];
+            }
+
+            @Override
+            public void remove(){
+                if(!removable){
+                    throw new IllegalStateException();
+                }
+                removable = false;
+                next--;
+                removeAt(next);
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o){
+        if(o instanceof ParameterSet){
+            return Arrays.equals(parameters, ((ParameterSet) o).parameters);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode(){
+        int result = 0;
+        for(int parameter : parameters){
+            result += parameter;
+        }
+        return result;
+    }
+
     public static ParameterSet parse(String text){
     	ParameterSet result = new ParameterSet();
     	String[] parts = text.replace("[", "").replace("]", "").split(", ");
@@ -111,10 +254,111 @@ public class ParameterSet extends HashSet<Integer> {
     	}
     	return result;
     }
-    
+
     @Override
     public String toString(){
         //return index + "=" + super.toString();
     	return super.toString();
     }
+
+    /**
+     * This method removes the parameter at the given position in the sorted parameters array.
+     * @param position The position of the parameter that has to be removed.
+     */
+    private void removeAt(int position){
+        int[] newParameters = new int[parameters.length - 1];
+        System.arraycopy(parameters, 0, newParameters, 0, position);
+        System.arraycopy(parameters, position + 1, newParameters, position, newParameters.length - position);
+        setParameters(newParameters);
+    }
+
+    /**
+     * This method sets the given sorted array of parameters as the content of this set and computes the corresponding word masks.
+     * @param sortedParameters The parameters in ascending order, without duplicates.
+     */
+    private void setParameters(int[] sortedParameters){
+        this.parameters = sortedParameters;
+
+        int words = 0;
+        int lastWord = -1;
+        for(int parameter : sortedParameters){
+            if(BitString.wordIndex(parameter) != lastWord){
+                lastWord = BitString.wordIndex(parameter);
+                words++;
+            }
+        }
+
+        if(words == 0){
+            wordIndices = NO_PARAMETERS;
+            wordMasks = NO_MASKS;
+        } else {
+            wordIndices = new int[words];
+            wordMasks = new long[words];
+            int w = -1;
+            lastWord = -1;
+            for(int parameter : sortedParameters){
+                if(BitString.wordIndex(parameter) != lastWord){
+                    lastWord = BitString.wordIndex(parameter);
+                    w++;
+                    wordIndices[w] = lastWord;
+                }
+                wordMasks[w] |= BitString.bitMask(parameter);
+            }
+        }
+    }
+
+    /**
+     * This function returns the values of the given collection as a sorted array without duplicates.
+     * @param values The collection of values.
+     * @return The sorted array of distinct values.
+     */
+    private static int[] toSortedArray(Collection<Integer> values){
+        if(values instanceof ParameterSet){
+            return ((ParameterSet) values).parameters;
+        }
+        int[] result = new int[values.size()];
+        int i = 0;
+        for(int value : values){
+            result[i++] = value;
+        }
+        Arrays.sort(result);
+
+        int distinct = 0;
+        for(i = 0; i < result.length; i++){
+            if(i == 0 || result[i] != result[distinct - 1]){
+                result[distinct++] = result[i];
+            }
+        }
+        return distinct == result.length ? result : Arrays.copyOf(result, distinct);
+    }
+
+    /**
+     * This function merges the two given sorted arrays into a new sorted array without duplicates.
+     * @param a The first sorted array.
+     * @param b The second sorted array.
+     * @return The sorted union of both arrays.
+     */
+    private static int[] merge(int[] a, int[] b){
+        int[] result = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while(i < a.length && j < b.length){
+            if(a[i] < b[j]){
+                result[k++] = a[i++];
+            } else if(a[i] > b[j]){
+                result[k++] = b[j++];
+            } else {
+                result[k++] = a[i++];
+                j++;
+            }
+        }
+        while(i < a.length){
+            result[k++] = a[i++];
+        }
+        while(j < b.length){
+            result[k++] = b[j++];
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
 }
@@ -1,17 +1,15 @@
 package com.rdebokx.ltga.shared;
 
-import java.util.Arrays;
-import java.util.Iterator;
-
 import com.rdebokx.ltga.config.JobConfiguration;
 import com.rdebokx.ltga.config.problems.ProblemConfiguration;
 
 public abstract class Population {
     protected final int populationSize;
     protected final int numberOfParameters;
+    protected final int numberOfWords;
     protected final JobState jobState;
     
-    protected final boolean[][] population;
+    protected final long[][] population;
     protected final double[] objectiveValues;
     protected final double[] constraintValues;
     
@@ -25,9 +23,10 @@ public abstract class Population {
     public Population(int populationSize, int numberOfParameters, JobState jobState){
         this.populationSize = populationSize;
         this.numberOfParameters = numberOfParameters;
+        this.numberOfWords = BitString.numberOfWords(numberOfParameters);
         this.jobState = jobState;
         
-        population = new boolean[populationSize][numberOfParameters];
+        population = new long[populationSize][numberOfWords];
         objectiveValues = new double[populationSize];
         constraintValues = new double[populationSize];
     }
@@ -42,9 +41,13 @@ public abstract class Population {
     public Population(boolean[][] population, double[] objectiveValues, double[] constraintValues, JobState jobState){
         this.populationSize = population.length;
         this.numberOfParameters = population[0].length;
+        this.numberOfWords = BitString.numberOfWords(numberOfParameters);
         this.jobState = jobState;
         
-        this.population = population;
+        this.population = new long[populationSize][];
+        for(int i = 0; i < populationSize; i++){
+            this.population[i] = BitString.pack(population[i]);
+        }
         this.objectiveValues = objectiveValues;
         this.constraintValues = constraintValues;
     }
@@ -54,7 +57,36 @@ public abstract class Population {
      * @param jobConfig The JobConfiguration for this job.
      * @param randomizer The randomizer that should be used when initializing the population.
      */
-    public abstract void initialize(JobConfiguration jobConfig, Randomizer randomizer);
+    public void initialize(JobConfiguration jobConfig, Randomizer randomizer){
+        initialize(jobConfig, randomizer, 0);
+    }
+    
+    /**
+     * This function initializes this population by carrying over the solutions of the given population, together with
+     * their objective and constraint values, and randomly generating the remaining solutions. Hence, only the remaining 
+     * solutions are evaluated. Used to grow a population in place instead of restarting with a larger population.
+     * @param previous The population of which the solutions have to be carried over. It should not be larger than this population.
+     * @param jobConfig The JobConfiguration for this job.
+     * @param randomizer The randomizer that should be used when initializing the remaining solutions.
+     */
+    public void initializeFrom(Population previous, JobConfiguration jobConfig, Randomizer randomizer){
+        int carried = Math.min(previous.populationSize, populationSize);
+        for(int i = 0; i < carried; i++){
+            BitString.copy(previous.population[i], population[i]);
+            objectiveValues[i] = previous.objectiveValues[i];
+            constraintValues[i] = previous.constraintValues[i];
+        }
+        initialize(jobConfig, randomizer, carried);
+    }
+    
+    /**
+     * This function initializes the solutions from the given index onwards and their objective values by randomly
+     * generating them.
+     * @param jobConfig The JobConfiguration for this job.
+     * @param randomizer The randomizer that should be used when initializing the population.
+     * @param from The index of the first solution to be initialized.
+     */
+    protected abstract void initialize(JobConfiguration jobConfig, Randomizer randomizer, int from);
     
     /**
      * This method evaluates the current population against the given problem, saving the objectiveValues and 
@@ -65,7 +97,7 @@ public abstract class Population {
      */
     public void evaluate(ProblemConfiguration problemConfig){
         for(int i = 0; i < populationSize; i++){
-            double objectiveVal = ProblemEvaluator.installedProblemEvaluation(problemConfig, population[i], jobState);
+            double objectiveVal = ProblemEvaluator.installedProblemEvaluation(problemConfig, population[i], numberOfParameters, jobState);
             objectiveValues[i] = objectiveVal;
             constraintValues[i] = 0;
             jobState.incrementNumberOfEvaluations();
@@ -80,18 +112,68 @@ public abstract class Population {
      * @param solution The solution that has to be set at the given index.
      */
     protected void set(int index, Solution solution){
-        population[index] = solution.getSolution();
+        population[index] = solution.getBits();
         objectiveValues[index] = solution.getObjectiveValue();
         constraintValues[index] = solution.getConstraintValue();
     }
     
+    /**
+     * This method copies the solutions of the given population, together with their objective and constraint values, into
+     * this population. The given population should have the same size and amount of parameters as this population.
+     * @param source The population of which the solutions have to be copied.
+     */
+    public void copyFrom(Population source){
+        for(int i = 0; i < populationSize; i++){
+            BitString.copy(source.population[i], population[i]);
+        }
+        System.arraycopy(source.objectiveValues, 0, objectiveValues, 0, populationSize);
+        System.arraycopy(source.constraintValues, 0, constraintValues, 0, populationSize);
+    }
+    
+    /**
+     * This method copies the solution at the given index, together with its objective and constraint value, to the same
+     * index of the given population. Used to carry solutions over unaltered when a job is cancelled while its offspring is
+     * being generated.
+     * @param index The index of the solution that has to be copied.
+     * @param destination The population to which the solution has to be copied.
+     */
+    protected void copySolution(int index, Population destination){
+        BitString.copy(population[index], destination.population[index]);
+        destination.objectiveValues[index] = objectiveValues[index];
+        destination.constraintValues[index] = constraintValues[index];
+    }
+    
+    /**
+     * This function replaces the worst solution of this population by the given solution, together with its objective
+     * and constraint value, if the given solution is better. Used to inject the migrants of other islands.
+     * @param solution The solution that has to be injected. Its genome is copied.
+     * @return True iff the worst solution was replaced.
+     */
+    public boolean replaceWorst(Solution solution){
+        int worst = 0;
+        for(int i = 1; i < populationSize; i++){
+            if(FitnessComparator.betterFitness(objectiveValues[worst], constraintValues[worst], objectiveValues[i], constraintValues[i])){
+                worst = i;
+            }
+        }
+        
+        boolean result = FitnessComparator.betterFitness(solution.getObjectiveValue(), solution.getConstraintValue(), 
+                objectiveValues[worst], constraintValues[worst]);
+        if(result){
+            BitString.copy(solution.getBits(), population[worst]);
+            objectiveValues[worst] = solution.getObjectiveValue();
+            constraintValues[worst] = solution.getConstraintValue();
+        }
+        return result;
+    }
+    
     /**
      * This function returns a solution of this population at the given index.
      * @param index The index of which the solution has to be returned.
      * @return The solution at the given index.
      */
     public Solution get(int index){
-        return new Solution(population[index], objectiveValues[index], constraintValues[index]);
+        return new Solution(population[index], numberOfParameters, objectiveValues[index], constraintValues[index]);
     }
     
     /**
@@ -109,9 +191,22 @@ public abstract class Population {
     }
     
     /**
-     * @return The raw population array.
+     * This function returns the population as an array of boolean arrays. Note that this array is constructed on every call,
+     * hence changing it will not affect this population.
+     * @return The population as boolean arrays.
      */
     public boolean[][] getPopulation(){
+        boolean[][] result = new boolean[populationSize][];
+        for(int i = 0; i < populationSize; i++){
+            result[i] = BitString.unpack(population[i], numberOfParameters);
+        }
+        return result;
+    }
+    
+    /**
+     * @return The raw population array, in which every solution is packed into 64-bit words.
+     */
+    public long[][] getPackedPopulation(){
         return population;
     }
     
@@ -124,12 +219,13 @@ public abstract class Population {
     public Solution determineBestSoFar(Solution bestSoFar) {
         //long timeStart = System.currentTimeMillis();
         Solution result = null;
-        Solution bestFound = this.getBestSolution();
+        int best = this.getBestIndex();
         
         //Only replace if numberOfGenerations == 0 or the found best solution has a better fitness than the inputted one.
         if(bestSoFar == null || jobState.getNumberOfGenerations() == 0 
-                || FitnessComparator.betterFitness(bestFound.getObjectiveValue(), bestFound.getConstraintValue(), bestSoFar.getObjectiveValue(), bestSoFar.getConstraintValue())){
-            result = bestFound;
+                || FitnessComparator.betterFitness(objectiveValues[best], constraintValues[best], bestSoFar.getObjectiveValue(), bestSoFar.getConstraintValue())){
+            //Copy the genome, as the rows of this population are overwritten in place by later generations.
+            result = new Solution(population[best].clone(), numberOfParameters, objectiveValues[best], constraintValues[best]);
             jobState.setNoImprovementStretch(0);
         } else {
             result = bestSoFar;
@@ -141,31 +237,28 @@ public abstract class Population {
     }
     
     /**
-     * This function iterates over all solutions in this matrix and determines the best solution based on the fitness values.
-     * @return The best solution in this population.
+     * @return The average objective value of the solutions in this population.
      */
-    private Solution getBestSolution(){
-        int best = 0;
+    public double getAverageObjectiveValue(){
+        double result = 0;
         for(int i = 0; i < populationSize; i++){
-            if(FitnessComparator.betterFitness(objectiveValues[i], constraintValues[i], objectiveValues[best], constraintValues[best])){
-                best = i;
-            }
+            result += objectiveValues[i];
         }
-        return new Solution(population[best], objectiveValues[best], constraintValues[best]);
+        return result / populationSize;
     }
     
     /**
-     * This method copies the values at the positions given by the parameter set from the source array to the destination array.
-     * @param source The source array from which values have to be copied.
-     * @param dest The destination array to which values have to be copied.
-     * @param paramSet The set of parameters indicating for which positions values have to be copied.
+     * This function iterates over all solutions in this matrix and determines the best solution based on the fitness values.
+     * @return The index of the best solution in this population.
      */
-    protected void copyForParams(boolean[] source, boolean[] dest, ParameterSet paramSet){
-        Iterator<Integer> iterator = paramSet.iterator();
-        while(iterator.hasNext()){
-            int parameter = iterator.next();
-            dest[parameter] = source[parameter];
+    private int getBestIndex(){
+        int best = 0;
+        for(int i = 0; i < populationSize; i++){
+            if(FitnessComparator.betterFitness(objectiveValues[i], constraintValues[i], objectiveValues[best], constraintValues[best])){
+                best = i;
+            }
         }
+        return best;
     }
     
     /**
@@ -191,7 +284,7 @@ public abstract class Population {
         String result = "";
         for(int i = 0; i < populationSize; i++){
             for(int j = 0; j < numberOfParameters; j++){
-                result += (population[i][j] ? 1 : 0) + " ";
+                result += (BitString.get(population[i], j) ? 1 : 0) + " ";
             }
             result += "\t(" + objectiveValues[i] + ", " + constraintValues[i] + ")\n";
         }
@@ -214,38 +307,68 @@ public abstract class Population {
      */
     public Solution generateNewSolution(LearningModel linkageModel, boolean[] solution, double objectiveVal, double constraintVal, 
             Solution bestSoFar, JobConfiguration jobConfig, Randomizer randomizer){
+        return generateNewSolution(linkageModel, BitString.pack(solution), objectiveVal, constraintVal, bestSoFar, jobConfig, randomizer);
+    }
+    
+    /**
+     * This function returns a new solution which is a permutation of the given packed solution, based on the given Linkage Tree.
+     * If no permutation could be found that would be an improvement of the given solution, the given BestSoFar solution is returned.
+     * @see #generateNewSolution(LearningModel, boolean[], double, double, Solution, JobConfiguration, Randomizer)
+     */
+    public Solution generateNewSolution(LearningModel linkageModel, long[] solution, double objectiveVal, double constraintVal, 
+            Solution bestSoFar, JobConfiguration jobConfig, Randomizer randomizer){
+        Workspace workspace = new Workspace(numberOfParameters);
+        long[] newSolution = new long[numberOfWords];
+        generateNewSolution(linkageModel, solution, objectiveVal, constraintVal, bestSoFar, jobConfig, randomizer, workspace, newSolution);
+        return new Solution(newSolution, numberOfParameters, workspace.objectiveValue, workspace.constraintValue);
+    }
+    
+    /**
+     * This method generates a new solution which is a permutation of the given packed solution, based on the given Linkage Tree,
+     * and writes it into the given destination. The objective and constraint value of the new solution are stored in the given
+     * workspace, which also provides the scratch buffers, so no memory is allocated.
+     * @see #generateNewSolution(LearningModel, boolean[], double, double, Solution, JobConfiguration, Randomizer)
+     * @param workspace The scratch buffers of the calling worker.
+     * @param dest The array to which the new solution has to be written. Should not be the given solution itself.
+     */
+    protected void generateNewSolution(LearningModel linkageModel, long[] solution, double objectiveVal, double constraintVal, 
+            Solution bestSoFar, JobConfiguration jobConfig, Randomizer randomizer, Workspace workspace, long[] dest){
         //long timeStart = System.currentTimeMillis();
-        Solution newSolution = null;
 
         //copy current solution
-        boolean[] result = Arrays.copyOf(solution, solution.length);
-        boolean[] backup = Arrays.copyOf(result, result.length);
+        long[] result = workspace.result;
+        long[] backup = workspace.backup;
+        BitString.copy(solution, result);
+        BitString.copy(solution, backup);
 
         double objectiveValBackup = objectiveVal;
         double constraintValBackup = constraintVal;
         
         boolean solutionHasChanged = false;
+        LearningModel.Layout fos = linkageModel.getLayout();
         //For all elements in the LT, copy specified parameters if this increases the fitness. Skip last element as this is a loop.
-        int[] randomOrder = randomizer.getRandomOrder(linkageModel.size());
-        for(int i = 0; i < linkageModel.size(); i++){
-            ParameterSet paramSet = linkageModel.get(randomOrder[i]);
+        int[] randomOrder = workspace.getOrder(fos.size());
+        randomizer.fillRandomOrder(randomOrder, fos.size());
+        for(int i = 0; i < fos.size(); i++){
+            int element = randomOrder[i];
             int randomIndex = randomizer.generator.nextInt(populationSize);
 
-            //Convert index to binary representation and set factor variables.
-            copyForParams(population[randomIndex], result, paramSet);
-            if(!Arrays.equals(result, backup)){
-                objectiveVal = ProblemEvaluator.installedProblemEvaluation(jobConfig.PROBLEM_CONFIG, result, jobState);
+            //Only copy and evaluate if the donor differs from the current solution for the parameters of this element.
+            if(fos.differs(element, population[randomIndex], result)){
+                fos.copy(element, population[randomIndex], result);
+                objectiveVal = ProblemEvaluator.installedProblemEvaluation(jobConfig.PROBLEM_CONFIG, result, numberOfParameters, 
+                        backup, objectiveValBackup, fos.getParameters(), fos.getOffsets()[element], fos.getOffsets()[element + 1], jobState);
                 constraintVal = 0;
                 
                 if(FitnessComparator.betterFitness(objectiveVal, constraintVal, objectiveValBackup, constraintValBackup)
                         || FitnessComparator.equalFitness(objectiveVal, constraintVal, objectiveValBackup, constraintValBackup)){
                     
-                    copyForParams(result, backup, paramSet);
+                    fos.copy(element, result, backup);
                     objectiveValBackup = objectiveVal;
                     constraintValBackup = constraintVal;
                     solutionHasChanged = true;
                 } else {
-                    copyForParams(backup, result, paramSet);
+                    fos.copy(element, backup, result);
                     objectiveVal = objectiveValBackup;
                     constraintVal = constraintValBackup;
                 }
@@ -253,27 +376,26 @@ public abstract class Population {
         }
         
         if(!solutionHasChanged || jobState.getNoImprovementStretch() > (1 + Math.log10(populationSize))){
-            int i = linkageModel.size() - 1;
+            int i = fos.size() - 1;
             solutionHasChanged = false;
-            randomOrder = randomizer.getRandomOrder(linkageModel.size());
+            randomizer.fillRandomOrder(randomOrder, fos.size());
             while(i >= 0 && !solutionHasChanged){
-                ParameterSet paramSet = linkageModel.get(randomOrder[i]);
+                int element = randomOrder[i];
                 
-                //Convert elite solution to binary representation and set factor variables
-                copyForParams(bestSoFar.getSolution(), result, paramSet);
-                
-                //Test if the change is for the better
-                if(!Arrays.equals(backup, result)){
-                    objectiveVal = ProblemEvaluator.installedProblemEvaluation(jobConfig.PROBLEM_CONFIG, result, jobState);
+                //Test if copying the elite solution's values for this element changes the solution at all.
+                if(fos.differs(element, bestSoFar.getBits(), result)){
+                    fos.copy(element, bestSoFar.getBits(), result);
+                    objectiveVal = ProblemEvaluator.installedProblemEvaluation(jobConfig.PROBLEM_CONFIG, result, numberOfParameters, 
+                            backup, objectiveValBackup, fos.getParameters(), fos.getOffsets()[element], fos.getOffsets()[element + 1], jobState);
                     constraintVal = 0;
                     
                     if(FitnessComparator.betterFitness(objectiveVal, constraintVal, objectiveValBackup, constraintValBackup)){
-                        copyForParams(result, backup, paramSet);
+                        fos.copy(element, result, backup);
                         objectiveValBackup = objectiveVal;
                         constraintValBackup = constraintVal;
                         solutionHasChanged = true;
                     } else {
-                        copyForParams(backup, result, paramSet);
+                        fos.copy(element, backup, result);
                         objectiveVal = objectiveValBackup;
                         constraintVal = constraintValBackup;
                     }
@@ -282,21 +404,100 @@ public abstract class Population {
             }
         }
         
-        if(!solutionHasChanged){
-            result = Arrays.copyOf(bestSoFar.getSolution(), bestSoFar.getSolution().length);
-            newSolution = jobConfig.EXECUTION_CONFIG.USE_LOCAL_SEARCH 
-                    ? doHardLocalSearch(result, bestSoFar.getObjectiveValue(), bestSoFar.getConstraintValue(), jobConfig.PROBLEM_CONFIG, randomizer)
-                    : new Solution(result, bestSoFar.getObjectiveValue(), bestSoFar.getConstraintValue());
-        } else {
-            newSolution = jobConfig.EXECUTION_CONFIG.USE_LOCAL_SEARCH
-                    ? doHardLocalSearch(backup, objectiveValBackup, constraintValBackup, jobConfig.PROBLEM_CONFIG, randomizer)
-                    : new Solution(backup, objectiveValBackup, constraintValBackup);
-        }
+        finishNewSolution(solutionHasChanged, objectiveValBackup, constraintValBackup, bestSoFar, jobConfig, randomizer, workspace, dest);
         
         //long timeEnd = System.currentTimeMillis();
         //Profiler.recordExecution("Population.generateNewSolution", timeEnd - timeStart);
+    }
+    
+    /**
+     * This method finishes the generation of a new solution. If mixing changed the backup solution of the given workspace,
+     * it is written to the given destination, otherwise the best solution so far is. Afterwards, a local search is done
+     * on the new solution if configured. The objective and constraint value of the new solution are stored in the workspace.
+     * @param solutionHasChanged Whether or not mixing changed the backup solution of the given workspace.
+     * @param objectiveVal The objective value of the backup solution.
+     * @param constraintVal The constraint value of the backup solution.
+     * @param bestSoFar The best solution found so far.
+     * @param jobConfig The JobConfiguration for this job.
+     * @param randomizer The Randomizer object that should be used.
+     * @param workspace The scratch buffers of the calling worker, holding the backup solution.
+     * @param dest The array to which the new solution has to be written.
+     */
+    protected void finishNewSolution(boolean solutionHasChanged, double objectiveVal, double constraintVal, Solution bestSoFar, 
+            JobConfiguration jobConfig, Randomizer randomizer, Workspace workspace, long[] dest){
+        if(!solutionHasChanged){
+            BitString.copy(bestSoFar.getBits(), dest);
+            objectiveVal = bestSoFar.getObjectiveValue();
+            constraintVal = bestSoFar.getConstraintValue();
+        } else {
+            BitString.copy(workspace.backup, dest);
+        }
         
-        return newSolution;
+        if(jobConfig.EXECUTION_CONFIG.USE_LOCAL_SEARCH){
+            doHardLocalSearch(dest, objectiveVal, constraintVal, jobConfig.PROBLEM_CONFIG, randomizer, workspace);
+        } else {
+            workspace.objectiveValue = objectiveVal;
+            workspace.constraintValue = constraintVal;
+        }
+    }
+    
+    /**
+     * This method evaluates the crossover of the given FOS element from the given donor with the backup solution of the
+     * given workspace, and stores it as the candidate at the given position of the workspace. The candidate is only
+     * evaluated if the donor differs from the backup solution for the parameters of the element. The evaluation is
+     * counted in the speculative JobState of the workspace, such that it only counts once it is committed. Different
+     * candidates of the same workspace may be evaluated concurrently.
+     * @param fos The layout of the FOS.
+     * @param element The FOS element of which the parameters are copied from the donor.
+     * @param donor The donor of the crossover.
+     * @param candidate The position of the candidate in the buffers of the workspace, which have to be large enough to
+     * hold it, see Workspace.getCandidates.
+     * @param baseObjective The objective value of the backup solution.
+     * @param jobConfig The JobConfiguration for this job.
+     * @param workspace The scratch buffers holding the backup solution and the candidates.
+     */
+    protected void evaluateCandidate(LearningModel.Layout fos, int element, long[] donor, int candidate, double baseObjective, 
+            JobConfiguration jobConfig, Workspace workspace){
+        long[] base = workspace.backup;
+        long[] result = workspace.getCandidates(candidate + 1)[candidate];
+        boolean evaluated = fos.differs(element, donor, base);
+        workspace.getCandidateEvaluated()[candidate] = evaluated;
+        if(evaluated){
+            BitString.copy(base, result);
+            fos.copy(element, donor, result);
+            workspace.getCandidateObjectiveValues()[candidate] = ProblemEvaluator.installedProblemEvaluation(jobConfig.PROBLEM_CONFIG, 
+                    result, numberOfParameters, base, baseObjective, fos.getParameters(), fos.getOffsets()[element], 
+                    fos.getOffsets()[element + 1], workspace.getSpeculativeJobState());
+        }
+    }
+    
+    /**
+     * This function commits the candidate at the given position of the given workspace if it is at least as good as the
+     * backup solution, or strictly better if so required, by copying the parameters of its FOS element into the backup
+     * solution. The evaluation of the candidate is counted in the JobState of this population, whether or not it is accepted.
+     * Candidates that were not evaluated, as their donor did not differ, are never accepted.
+     * @param fos The layout of the FOS.
+     * @param element The FOS element of the candidate.
+     * @param candidate The position of the candidate in the buffers of the workspace.
+     * @param objectiveVal The objective value of the backup solution.
+     * @param constraintVal The constraint value of the backup solution.
+     * @param strictlyBetter Whether or not the candidate has to be strictly better than the backup solution.
+     * @param workspace The scratch buffers holding the backup solution and the candidates.
+     * @return True iff the candidate was committed.
+     */
+    protected boolean commitCandidate(LearningModel.Layout fos, int element, int candidate, double objectiveVal, double constraintVal,
+            boolean strictlyBetter, Workspace workspace){
+        if(!workspace.getCandidateEvaluated()[candidate]){
+            return false;
+        }
+        jobState.incrementNumberOfEvaluations();
+        double candidateObjectiveVal = workspace.getCandidateObjectiveValues()[candidate];
+        if(FitnessComparator.betterFitness(candidateObjectiveVal, 0, objectiveVal, constraintVal)
+                || (!strictlyBetter && FitnessComparator.equalFitness(candidateObjectiveVal, 0, objectiveVal, constraintVal))){
+            fos.copy(element, workspace.getCandidates(candidate + 1)[candidate], workspace.backup);
+            return true;
+        }
+        return false;
     }
     
     /**
@@ -312,27 +513,57 @@ public abstract class Population {
      */
     public Solution doHardLocalSearch(boolean[] solution, double objectiveVal, double constraintVal, 
             ProblemConfiguration problemConfig, Randomizer randomizer){
+        return doHardLocalSearch(BitString.pack(solution), objectiveVal, constraintVal, problemConfig, randomizer);
+    }
+    
+    /**
+     * This function does a hard local search on the given packed solution.
+     * @see #doHardLocalSearch(boolean[], double, double, ProblemConfiguration, Randomizer)
+     */
+    public Solution doHardLocalSearch(long[] solution, double objectiveVal, double constraintVal, 
+            ProblemConfiguration problemConfig, Randomizer randomizer){
+        long[] newSolution = solution.clone();
+        Workspace workspace = new Workspace(numberOfParameters);
+        doHardLocalSearch(newSolution, objectiveVal, constraintVal, problemConfig, randomizer, workspace);
+        return new Solution(newSolution, numberOfParameters, workspace.objectiveValue, workspace.constraintValue);
+    }
+    
+    /**
+     * This method does a hard local search on the given packed solution, altering it in place. The resulting objective 
+     * and constraint value are stored in the given workspace. As every step flips a single bit, solutions are evaluated
+     * by means of delta evaluation against the last accepted solution when the problem supports this.
+     * @see #doHardLocalSearch(boolean[], double, double, ProblemConfiguration, Randomizer)
+     * @param workspace The scratch buffers of the calling worker.
+     */
+    protected void doHardLocalSearch(long[] solution, double objectiveVal, double constraintVal, 
+            ProblemConfiguration problemConfig, Randomizer randomizer, Workspace workspace){
         
     	//System.out.println("Doing hard local search");
-        boolean[] newSolution = Arrays.copyOf(solution, numberOfParameters);
         double objectiveValBackup = objectiveVal;
         double constraintValBackup = constraintVal;
-        int[] order = randomizer.getRandomOrder(numberOfParameters);
+        long[] backup = workspace.backup;
+        BitString.copy(solution, backup);
+        int[] order = workspace.getOrder(numberOfParameters);
+        randomizer.fillRandomOrder(order, numberOfParameters);
         for(int i = 0; i < this.numberOfParameters; i++){
-            newSolution[order[i]] = !newSolution[order[i]];
-            objectiveVal = ProblemEvaluator.installedProblemEvaluation(problemConfig, newSolution, jobState);
+            BitString.flip(solution, order[i]);
+            workspace.changedIndex[0] = order[i];
+            objectiveVal = ProblemEvaluator.installedProblemEvaluation(problemConfig, solution, numberOfParameters, 
+                    backup, objectiveValBackup, workspace.changedIndex, 0, 1, jobState);
             constraintVal = 0;
             if(FitnessComparator.betterFitness(objectiveVal, constraintVal, objectiveValBackup, constraintValBackup)
                     || FitnessComparator.equalFitness(objectiveVal, constraintVal, objectiveValBackup, constraintValBackup)){
+                BitString.flip(backup, order[i]);
                 objectiveValBackup = objectiveVal;
                 constraintValBackup = constraintVal;
             } else {
-                newSolution[order[i]] = solution[order[i]];
+                BitString.flip(solution, order[i]);
                 objectiveVal = objectiveValBackup;
                 constraintVal = constraintValBackup;
             }
         }
         
-        return new Solution(newSolution, objectiveVal, constraintVal);
+        workspace.objectiveValue = objectiveVal;
+        workspace.constraintValue = constraintVal;
     }
 }
@@ -0,0 +1,242 @@
+package com.rdebokx.ltga.shared;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import com.rdebokx.ltga.config.JobConfiguration;
+
+/**
+ * Interleaved multistart scheme, running a ladder of population sizes concurrently. The first rung runs with the initial
+ * population size and every next rung with twice the population size of the previous one. A rung may only execute its
+ * next generation if the nearest smaller rung that is still active has executed interleavingRatio times as many
+ * generations, such that larger populations get proportionally fewer generations. A new rung is added as soon as the
+ * largest rung has executed interleavingRatio generations.
+ *
+ * A rung is terminated when its own termination conditions are met, or when a larger rung dominates it, being that the
+ * average objective value of the larger population exceeds the average objective value of the smaller population. All
+ * rungs smaller than a dominated rung are terminated as well.
+ *
+ * The generations of the rungs are executed as tasks on a shared thread pool, while the thread that runs the ladder
+ * decides which rungs may proceed. The best solution so far and the amount of evaluations are kept in the parent
+ * JobRunner, whose termination conditions stop the whole ladder. As rungs may still be executing a generation when
+ * the parent terminates, the amount of evaluations may slightly exceed the maximum number of evaluations.
+ * @author Rdebokx
+ *
+ */
+public class PopulationSizeLadder {
+
+    /**
+     * Factory constructing the JobRunners of the rungs of the ladder.
+     * @param <R> The type of the constructed JobRunners, which can be executed one generation at a time.
+     */
+    public interface RungFactory<R extends JobRunner & GenerationalJobRunner> {
+
+        /**
+         * This function constructs a JobRunner that can be executed one generation at a time.
+         * @param config The configuration for the JobRunner, holding the population size of the rung.
+         * @param seed The seed for the Randomizer of the JobRunner.
+         * @return The constructed JobRunner.
+         */
+        R createRunner(JobConfiguration config, long seed);
+    }
+
+    /**
+     * A single population size of the ladder.
+     */
+    private static class Rung {
+        private final JobRunner runner;
+        private final GenerationalJobRunner generations;
+        private boolean initialized;
+        private boolean running;
+        private boolean terminated;
+        private long evaluations;
+
+        /**
+         * Constructor, constructing a new Rung that is run by the given JobRunner.
+         * @param runner The JobRunner of this rung.
+         */
+        private <R extends JobRunner & GenerationalJobRunner> Rung(R runner){
+            this.runner = runner;
+            this.generations = runner;
+        }
+
+        /**
+         * @return The amount of generations that were executed by this rung.
+         */
+        private int getNumberOfGenerations(){
+            return runner.getJobState().getNumberOfGenerations();
+        }
+    }
+
+    private final JobRunner parent;
+    private final RungFactory<?> factory;
+    private final int interleavingRatio;
+    private final int threads;
+    private final ArrayList<Rung> rungs = new ArrayList<Rung>();
+    private final LinkedBlockingQueue<Rung> completed = new LinkedBlockingQueue<Rung>();
+    private JobConfiguration largestConfig;
+
+    /**
+     * Constructor, constructing a new PopulationSizeLadder.
+     * @param parent The JobRunner executing this ladder, in which the best solution so far and the amount of evaluations are kept.
+     * @param initialConfig The configuration of the first rung.
+     * @param interleavingRatio The amount of generations that a rung executes for every generation of the next rung.
+     * @param threads The amount of generations that may be executed concurrently.
+     * @param factory The factory constructing the JobRunners of the rungs.
+     */
+    public PopulationSizeLadder(JobRunner parent, JobConfiguration initialConfig, int interleavingRatio, int threads, RungFactory<?> factory){
+        this.parent = parent;
+        this.largestConfig = initialConfig;
+        this.interleavingRatio = Math.max(1, interleavingRatio);
+        this.threads = Math.max(1, threads);
+        this.factory = factory;
+    }
+
+    /**
+     * This method runs the ladder until the termination conditions of the parent are met.
+     */
+    public void run(){
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        addRung(largestConfig);
+
+        boolean stopped = false;
+        int running = 0;
+        while(!stopped || running > 0){
+            if(!stopped){
+                Rung largest = getLargestActiveRung();
+                if(largest == null || largest.getNumberOfGenerations() >= interleavingRatio){
+                    largestConfig = largestConfig.copyForPopSize(largestConfig.GENETIC_CONFIG.POPULATION_SIZE * 2);
+                    addRung(largestConfig);
+                }
+
+                for(int i = 0; i < rungs.size(); i++){
+                    final Rung rung = rungs.get(i);
+                    if(!rung.running && !rung.terminated && mayProceed(i)){
+                        rung.running = true;
+                        running++;
+                        executorService.submit(() -> {
+                            try {
+                                if(rung.initialized){
+                                    rung.generations.runGeneration();
+                                } else {
+                                    rung.generations.initializeRun();
+                                    rung.initialized = true;
+                                }
+                            } catch (RuntimeException e) {
+                                e.printStackTrace();
+                                rung.terminated = true;
+                            } finally {
+                                completed.add(rung);
+                            }
+                        });
+                    }
+                }
+            }
+
+            Rung rung;
+            try {
+                rung = completed.take();
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+                break;
+            }
+            running--;
+            rung.running = false;
+
+            long evaluations = rung.runner.getJobState().getNumberOfEvaluations();
+            parent.jobState.incrementNumberOfEvaluations(evaluations - rung.evaluations);
+            rung.evaluations = evaluations;
+            Solution best = rung.runner.getBestFound();
+            if(best != null && (parent.bestSoFar == null || FitnessComparator.betterFitness(best.getObjectiveValue(),
+                    best.getConstraintValue(), parent.bestSoFar.getObjectiveValue(), parent.bestSoFar.getConstraintValue()))){
+                parent.bestSoFar = best;
+            }
+
+            if(!rung.terminated && rung.initialized && !stopped){
+                if(rung.runner.checkTerminationCondition()){
+                    rung.terminated = true;
+                } else {
+                    terminateDominatedRungs(rungs.indexOf(rung));
+                }
+            }
+
+            if(!stopped && parent.checkTerminationCondition()){
+                stopped = true;
+                for(Rung r : rungs){
+                    r.runner.cancel();
+                }
+            }
+        }
+
+        executorService.shutdown();
+    }
+
+    /**
+     * This method adds a new rung with the given configuration to the top of the ladder.
+     * @param config The configuration of the new rung.
+     */
+    private void addRung(JobConfiguration config){
+        rungs.add(new Rung(factory.createRunner(config, parent.randomizer.generator.nextLong())));
+    }
+
+    /**
+     * @return The largest rung that is not terminated, or null if all rungs are terminated.
+     */
+    private Rung getLargestActiveRung(){
+        for(int i = rungs.size() - 1; i >= 0; i--){
+            if(!rungs.get(i).terminated){
+                return rungs.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This function returns whether or not the rung at the given index may execute its next generation, being the case
+     * if the nearest smaller active rung has executed interleavingRatio times as many generations, or if there is no such rung.
+     * @param index The index of the rung.
+     * @return True iff the rung may execute its next generation.
+     */
+    private boolean mayProceed(int index){
+        Rung rung = rungs.get(index);
+        if(!rung.initialized){
+            return true;
+        }
+        for(int i = index - 1; i >= 0; i--){
+            Rung smaller = rungs.get(i);
+            if(!smaller.terminated){
+                return smaller.getNumberOfGenerations() >= interleavingRatio * (rung.getNumberOfGenerations() + 1);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method terminates all rungs smaller than the rung at the given index whose average objective value is exceeded
+     * by the average objective value of that rung, together with all rungs that are smaller than a terminated rung.
+     * @param index The index of the rung that may dominate smaller rungs.
+     */
+    private void terminateDominatedRungs(int index){
+        double average = rungs.get(index).runner.population.getAverageObjectiveValue();
+        for(int i = index - 1; i >= 0; i--){
+            Rung smaller = rungs.get(i);
+            if(!smaller.terminated && smaller.initialized && !smaller.running
+                    && average > smaller.runner.population.getAverageObjectiveValue()){
+                for(int j = i; j >= 0; j--){
+                    rungs.get(j).terminated = true;
+                    rungs.get(j).runner.cancel();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return The configuration of the largest rung that was added to the ladder.
+     */
+    public JobConfiguration getLargestConfig(){
+        return largestConfig;
+    }
+}
@@ -14,41 +14,51 @@ import com.rdebokx.ltga.config.problems.ProblemConfiguration;
 public class ProblemEvaluator {
 
 	public static final int MAX_POPSIZE = 100000;
+	
+	private static final EvaluationFunction ONEMAX_FUNCTION = new OneMaxEvaluationFunction();
+	private static final DeceptiveTrapEvaluationFunction DECEPTIVE_TRAP_4_TIGHT_FUNCTION = new DeceptiveTrapEvaluationFunction(4, true);
+	private static final DeceptiveTrapEvaluationFunction DECEPTIVE_TRAP_4_LOOSE_FUNCTION = new DeceptiveTrapEvaluationFunction(4, false);
+	private static final DeceptiveTrapEvaluationFunction DECEPTIVE_TRAP_5_TIGHT_FUNCTION = new DeceptiveTrapEvaluationFunction(5, true);
+	private static final DeceptiveTrapEvaluationFunction DECEPTIVE_TRAP_5_LOOSE_FUNCTION = new DeceptiveTrapEvaluationFunction(5, false);
+	
     /**
      * Computes the value of the single objective
      * and the sum of all constraint violations
      * function.
      */
     public static double installedProblemEvaluation(ProblemConfiguration problemConfig, boolean[] solution, JobState jobState){
+        return installedProblemEvaluation(problemConfig, BitString.pack(solution), solution.length, jobState);
+    }
+    
+    /**
+     * Computes the value of the single objective
+     * and the sum of all constraint violations
+     * function for a solution that is packed into 64-bit words.
+     */
+    public static double installedProblemEvaluation(ProblemConfiguration problemConfig, long[] solution, int numberOfParameters, JobState jobState){
         //long timeStart = System.currentTimeMillis();
         
         double result = 0;
         
         try{
         	if(problemConfig instanceof InstancesConfiguration){
-        		result = UniformProblemEvaluation((InstancesConfiguration) problemConfig, solution);
+        		result = UniformProblemEvaluation((InstancesConfiguration) problemConfig, solution, numberOfParameters);
         	} else {
 	            switch(problemConfig.PROBLEM){
 	            case ONEMAX:
-	                result = onemaxFunctionProblemEvaluation(solution);
+	                result = ONEMAX_FUNCTION.evaluate(solution, numberOfParameters);
 	                break;
 	            case DECEPTIVE_TRAP_4_TIGHT_ENCODING:
-	                result = deceptiveTrapKFunctionProblemEvaluation(solution, 4, true);
-	                break;
 	            case DECEPTIVE_TRAP_4_LOOSE_ENCODING:
-	                result = deceptiveTrapKFunctionProblemEvaluation(solution, 4, false);
-	                break;
 	            case DECEPTIVE_TRAP_5_TIGHT_ENCODING:
-	                result = deceptiveTrapKFunctionProblemEvaluation(solution, 5, true);
-	                break;
 	            case DECEPTIVE_TRAP_5_LOOSE_ENCODING:
-	                result = deceptiveTrapKFunctionProblemEvaluation(solution, 5, false);
+	                result = deceptiveTrapKFunctionProblemEvaluation(solution, numberOfParameters, (DeceptiveTrapEvaluationFunction) getEvaluationFunction(problemConfig));
 	                break;
 	            case MAXCUT:
-            		result = ((MaxCutConfiguration) problemConfig).WEIGHTS_FUNCTION.evaluate(solution);
+            		result = ((MaxCutConfiguration) problemConfig).WEIGHTS_FUNCTION.evaluate(solution, numberOfParameters);
 	            	break;
                 case OPTIMAL_FIXED_FOS:
-                    result = OptimalFixedFOSFunctionProblemEvaluation((OptimalFixedFOSConfiguration) problemConfig, solution);
+                    result = OptimalFixedFOSFunctionProblemEvaluation((OptimalFixedFOSConfiguration) problemConfig, BitString.unpack(solution, numberOfParameters));
                     break;
                 default:
                     break;
@@ -67,91 +77,95 @@ public class ProblemEvaluator {
     }
     
     /**
-     * This function calculates the score of the given solution, evaluated against the ONEMAX problem.
-     * This comes down to the sum of the given array, where true is mapped to 1 and false to 0.
-     * @param solution The solution which has to be evaluated.
-     * @return The score of the given solution against the ONEMAX problem.
+     * Computes the value of the single objective for a packed solution that differs from an already evaluated
+     * base solution only at (a subset of) the given changed indices. If the installed problem supports delta evaluation,
+     * only the parts of the problem affected by these indices are re-evaluated. Otherwise, a full evaluation is performed.
+     * Either way, this counts as a single evaluation.
+     * @param problemConfig The problem against which the solution has to be evaluated.
+     * @param solution The solution that has to be evaluated, packed into 64-bit words.
+     * @param numberOfParameters The number of parameters stored in the given solution.
+     * @param base The base solution, which was evaluated before.
+     * @param baseObjective The objective value of the base solution.
+     * @param changed Array containing the distinct indices at which the solution may differ from the base solution.
+     * @param from The position in the changed array of the first changed index, inclusive.
+     * @param to The position in the changed array of the last changed index, exclusive.
+     * @param jobState The jobState in which the evaluation has to be counted.
+     * @return The objective value of the given solution.
      */
-    private static double onemaxFunctionProblemEvaluation(boolean[] solution){
-        double result = 0;
-        for(int i = 0; i < solution.length; i++){
-            result += solution[i] ? 1 : 0;
+    public static double installedProblemEvaluation(ProblemConfiguration problemConfig, long[] solution, int numberOfParameters, 
+            long[] base, double baseObjective, int[] changed, int from, int to, JobState jobState){
+        EvaluationFunction function = getEvaluationFunction(problemConfig);
+        if(function == null || !function.supportsDeltaEvaluation() 
+                || function instanceof DeceptiveTrapEvaluationFunction && numberOfParameters % ((DeceptiveTrapEvaluationFunction) function).getK() != 0){
+            return installedProblemEvaluation(problemConfig, solution, numberOfParameters, jobState);
         }
+        
+        double result = function.evaluateDelta(solution, numberOfParameters, base, baseObjective, changed, from, to);
+        jobState.incrementNumberOfEvaluations();
         return result;
     }
     
     /**
-     * This function is a wrapper function for evaluating a given problem against the Deceptive Trap problem.
-     * @param solution The solution which has to be evaluated against the deceptive k-trap function
-     * @param k The value of k for the k-trap problem.
-     * @param tightEncoding True iff the solutions are tightly encoded. False if they are loosly encoded.
-     * @return The score of the given solution for the k-trap function.
-     * @throws ProblemEvaluationException
+     * This function returns the EvaluationFunction that evaluates the given problem as a whole, if such a function exists.
+     * @param problemConfig The problem for which the EvaluationFunction has to be returned.
+     * @return The EvaluationFunction for the given problem, or null if the problem is not evaluated by a single function.
      */
-    private static double deceptiveTrapKFunctionProblemEvaluation(boolean[] solution, int k, boolean tightEncoding) throws ProblemEvaluationException{
-        double result = 0;
-        if(solution.length % k != 0){
-            throw new ProblemEvaluationException("Error in evaluating deceptive trap k: Number of parameters is not a multiple of " + k);
-        }
-        
-        int m = solution.length / k;
-        for(int i = 0; i < m; i++){
-            int u = tightEncoding ? getTightEncodingKTrapScore(solution, k, i) : getLooseEncondingKTrapScore(solution, k, m, i);
-            if(u == k){
-                result += 1;
-            } else {
-                result += (k-1-u) / (k * 1.0);
+    public static EvaluationFunction getEvaluationFunction(ProblemConfiguration problemConfig){
+        EvaluationFunction result = null;
+        if(problemConfig instanceof InstancesConfiguration){
+            result = ((InstancesConfiguration) problemConfig).COMPILED_FUNCTION;
+        } else {
+            switch(problemConfig.PROBLEM){
+            case ONEMAX:
+                result = ONEMAX_FUNCTION;
+                break;
+            case DECEPTIVE_TRAP_4_TIGHT_ENCODING:
+                result = DECEPTIVE_TRAP_4_TIGHT_FUNCTION;
+                break;
+            case DECEPTIVE_TRAP_4_LOOSE_ENCODING:
+                result = DECEPTIVE_TRAP_4_LOOSE_FUNCTION;
+                break;
+            case DECEPTIVE_TRAP_5_TIGHT_ENCODING:
+                result = DECEPTIVE_TRAP_5_TIGHT_FUNCTION;
+                break;
+            case DECEPTIVE_TRAP_5_LOOSE_ENCODING:
+                result = DECEPTIVE_TRAP_5_LOOSE_FUNCTION;
+                break;
+            case MAXCUT:
+                result = ((MaxCutConfiguration) problemConfig).WEIGHTS_FUNCTION;
+                break;
+            default:
+                break;
             }
         }
         return result;
     }
     
     /**
-     * This function counts the amount of 1's in the given solution for tightly encoded solutions.
-     * @param solution The solution for which the amount of 1's have to be counted at the i'th block.
-     * @param k The value of k in the k-trap problem.
-     * @param i The block in the solution for which the amount of 1's have to be counted.
-     * @return The amount of 1's encountered.
-     */
-    private static int getTightEncodingKTrapScore(boolean[] solution, int k, int i){
-        int u = 0;
-        for(int j = 0; j < k; j++){
-            u+= solution[i*k+j] ? 1 : 0;
-        }
-        return u;
-    }
-    
-    /**
-     * This function counts the amount 1's in the given solution for loosely encoded solutions.
-     * @param solution The loosely encoded solution for which 1's have to be counted.
-     * @param k The value of k in the k-trap problem.
-     * @param m The size of the blocks that have to be evaluated.
-     * @param i The position in the blocks of the solution for which the 1's have to be counted.
-     * @return
+     * This function is a wrapper function for evaluating a given problem against the Deceptive Trap problem.
+     * @param solution The solution which has to be evaluated against the deceptive k-trap function
+     * @param numberOfParameters The number of parameters stored in the given solution.
+     * @param function The deceptive k-trap function against which the solution has to be evaluated.
+     * @return The score of the given solution for the k-trap function.
+     * @throws ProblemEvaluationException
      */
-    private static int getLooseEncondingKTrapScore(boolean[] solution, int k, int m, int i){
-        int u = 0;
-        for(int j = 0; j < k; j++){
-            u+= solution[i+m*j] ? 1 : 0;
+    private static double deceptiveTrapKFunctionProblemEvaluation(long[] solution, int numberOfParameters, DeceptiveTrapEvaluationFunction function) throws ProblemEvaluationException{
+        if(numberOfParameters % function.getK() != 0){
+            throw new ProblemEvaluationException("Error in evaluating deceptive trap k: Number of parameters is not a multiple of " + function.getK());
         }
-        return u;
+        return function.evaluate(solution, numberOfParameters);
     }
     
     /**
      * This function evaluates the given solution against the given NK-Landscapes problem. This is done by summing
-     * the scores of all sub-functions.
+     * the scores of all sub-functions, which are compiled into a single function by the configuration.
      * @param problemConfig The ProblemConfiguration file containing the sub-functions.
      * @param solution The solution that should be evaluated against the known sub-functions.
+     * @param numberOfParameters The number of parameters stored in the given solution.
      * @return The sum of the sub-functions.
      */
-    private static double UniformProblemEvaluation(InstancesConfiguration problemConfig, boolean[] solution) {
-        double total = 0;
-        
-        for(EvaluationFunction function : problemConfig.SUB_FUNCTIONS){
-        	total += function.evaluate(solution);
-        }
-        
-        return total;
+    private static double UniformProblemEvaluation(InstancesConfiguration problemConfig, long[] solution, int numberOfParameters) {
+        return problemConfig.COMPILED_FUNCTION.evaluate(solution, numberOfParameters);
     }
     
     /**
@@ -188,7 +202,7 @@ public class ProblemEvaluator {
      * @return The average amount of evaluations that were needed when running the LTGA with the minimal required population size.
      */
     public static double OptimalFixedFOSFunctionProblemEvaluation(OptimalFixedFOSConfiguration problemConfig, LearningModel learningModel){
-        int evaluationSum = 0;
+        double evaluationSum = 0;
         
         int i = 0;
         while(i < OptimalFixedFOSConfiguration.RUNS){
@@ -202,7 +216,7 @@ public class ProblemEvaluator {
             dynamicRunner.run();
             
             double distanceToOptimum = problemConfig.EVALUATION_CONFIG.EXECUTION_CONFIG.VALUE_TO_REACH - dynamicRunner.getBestFound().getObjectiveValue();
-            int numberOfEvaluations = dynamicRunner.getJobState().getNumberOfEvaluations();
+            long numberOfEvaluations = dynamicRunner.getJobState().getNumberOfEvaluations();
             if((problemConfig.EVALUATION_CONFIG.EXECUTION_CONFIG.MAX_NUMBER_OF_EVALUATIONS < 0 || dynamicRunner.getJobState().getNumberOfEvaluations() < problemConfig.EVALUATION_CONFIG.EXECUTION_CONFIG.MAX_NUMBER_OF_EVALUATIONS) 
                     && distanceToOptimum < .0001){
                 evaluationSum += numberOfEvaluations;
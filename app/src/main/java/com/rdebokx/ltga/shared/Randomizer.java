@@ -5,29 +5,114 @@ import java.util.Random;
 
 public class Randomizer {
     
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    
     public Random generator;
+    private long seed;
+    private final boolean splittable;
     
     /**
-     * Constructor, constructing a new Randomizer based on a new Random object.
+     * Constructor, constructing a new Randomizer with a randomly chosen seed.
      */
     public Randomizer(){
-        this(new Random());
+        this(new Random().nextLong());
     }
     
     /**
-     * Constructor, constructing a new Randomizer that uses a new Random object with the given seed.
+     * Constructor, constructing a new Randomizer that uses a new Xoshiro256StarStar generator with the given seed.
      * @param seed The seed for the generator that should be used by this Randomizer.
      */
     public Randomizer(long seed){
-        this(new Random(seed));
+        this.generator = new Xoshiro256StarStar(seed);
+        this.seed = seed;
+        this.splittable = true;
     }
     
     /**
      * Constructor, constructing a new Randomizer that uses the given random object. Only for testing purposes.
+     * Note that such a Randomizer can not be split, as the state of the given generator is unknown.
      * @param generator The generator that should be used by this Randomizer.
      */
     public Randomizer(Random generator){
         this.generator = generator;
+        this.seed = 0;
+        this.splittable = false;
+    }
+    
+    /**
+     * @return True iff independent streams can be split off from this Randomizer.
+     */
+    public boolean isSplittable(){
+        return splittable;
+    }
+    
+    /**
+     * This function returns the Randomizer for the stream identified by the given generation and index. The stream only
+     * depends on the seed of this Randomizer and the given keys, and not on the state of this Randomizer, such that work
+     * that draws from the stream of its own generation and individual gives the same results regardless of the amount of
+     * threads and the order in which the work is executed.
+     * If this Randomizer is not splittable, this Randomizer itself is returned.
+     * @param generation The generation for which the stream is used.
+     * @param index The index of the individual or worker for which the stream is used.
+     * @return The Randomizer for the given stream.
+     */
+    public Randomizer split(long generation, long index){
+        if(!splittable){
+            return this;
+        }
+        return new Randomizer(getStreamSeed(generation, index));
+    }
+    
+    /**
+     * This function re-keys this Randomizer in place to the stream of the given parent identified by the given generation
+     * and index, such that it draws the same numbers as parent.split(generation, index) without allocating a new
+     * generator. Used to keep one Randomizer per worker for all the individuals that it processes.
+     * If either this Randomizer or the parent is not splittable, the parent itself is returned.
+     * @param parent The Randomizer of which the stream has to be drawn from.
+     * @param generation The generation for which the stream is used.
+     * @param index The index of the individual or worker for which the stream is used.
+     * @return This Randomizer, drawing from the given stream of the parent.
+     */
+    public Randomizer reseed(Randomizer parent, long generation, long index){
+        if(!splittable || !parent.splittable){
+            return parent;
+        }
+        seed = parent.getStreamSeed(generation, index);
+        generator.setSeed(seed);
+        return this;
+    }
+    
+    /**
+     * @param generation The generation for which the stream is used.
+     * @param index The index of the individual or worker for which the stream is used.
+     * @return The seed of the stream of this Randomizer that is identified by the given generation and index.
+     */
+    private long getStreamSeed(long generation, long index){
+        return mix(mix(mix(seed) + generation * GOLDEN_GAMMA) + index * GOLDEN_GAMMA);
+    }
+
+    /**
+     * This method fills the given packed bit string with numberOfBits random bits. For the Xoshiro256StarStar generator,
+     * every word is filled with a single call to the generator. Other generators are asked for one boolean per bit, in
+     * the order of the bits. The bits beyond numberOfBits are cleared.
+     * @param words The packed bit string that should be filled.
+     * @param numberOfBits The amount of bits that should be filled.
+     */
+    public void fillRandomBits(long[] words, int numberOfBits){
+        if(generator instanceof Xoshiro256StarStar){
+            int fullWords = numberOfBits / BitString.WORD_SIZE;
+            for(int w = 0; w < fullWords; w++){
+                words[w] = generator.nextLong();
+            }
+            int remainingBits = numberOfBits % BitString.WORD_SIZE;
+            if(remainingBits > 0){
+                words[fullWords] = generator.nextLong() & ((1L << remainingBits) - 1);
+            }
+        } else {
+            for(int i = 0; i < numberOfBits; i++){
+                BitString.set(words, i, generator.nextBoolean());
+            }
+        }
     }
 
     /**
@@ -38,11 +123,21 @@ public class Randomizer {
      */
     public int[] getRandomOrder(int size){
         int[] order = new int[size];
+        fillRandomOrder(order, size);
+        return order;
+    }
+    
+    /**
+     * This method fills the first size positions of the given array with a random order of the values between 0 and 
+     * the given size. The same random numbers are drawn as when calling getRandomOrder(size).
+     * @param order The array that should be filled. Should have a length of at least the given size.
+     * @param size The size of the random order.
+     */
+    public void fillRandomOrder(int[] order, int size){
         for(int i = 0; i < size; i++){
             order[i] = i;
         }
         this.shuffle(order, size);
-        return order;
     }
 
     /**
@@ -72,4 +167,15 @@ public class Randomizer {
             order.set(i, temp);
         }
     }
+    
+    /**
+     * This function scrambles the given value with the finalizer of the SplitMix64 generator.
+     * @param z The value that has to be scrambled.
+     * @return The scrambled value.
+     */
+    static long mix(long z){
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
 }
@@ -2,7 +2,8 @@ package com.rdebokx.ltga.shared;
 
 public class Solution {
     
-    private final boolean[] solution;
+    private final long[] solution;
+    private final int numberOfParameters;
     private double objectiveValue;
     private double constraintValue;
     
@@ -13,17 +14,44 @@ public class Solution {
      * @param constraintValue The constraint value of this solution.
      */
     public Solution(boolean[] solution, double objectiveValue, double constraintValue) {
+        this(BitString.pack(solution), solution.length, objectiveValue, constraintValue);
+    }
+    
+    /**
+     * Constructor, constructing a new Solution based on the given packed bits. Note that the given array is not copied.
+     * @param solution The solution as an array of 64-bit words.
+     * @param numberOfParameters The number of parameters stored in the given words.
+     * @param objectiveValue The objective value of this solution.
+     * @param constraintValue The constraint value of this solution.
+     */
+    public Solution(long[] solution, int numberOfParameters, double objectiveValue, double constraintValue) {
         this.solution = solution;
+        this.numberOfParameters = numberOfParameters;
         this.objectiveValue = objectiveValue;
         this.constraintValue = constraintValue;
     }
 
     /**
+     * Note that a new array is returned on every call, changing it will not affect this solution.
      * @return The solution as a boolean array.
      */
     public boolean[] getSolution() {
+        return BitString.unpack(solution, numberOfParameters);
+    }
+    
+    /**
+     * @return The solution as an array of 64-bit words.
+     */
+    public long[] getBits() {
         return solution;
     }
+    
+    /**
+     * @return The number of parameters of which this solution consists.
+     */
+    public int getNumberOfParameters() {
+        return numberOfParameters;
+    }
 
     /**
      * @return The objective value of this solution.
@@ -58,7 +86,7 @@ public class Solution {
     @Override
     public String toString(){
         String result = "Solution:\n\tobjectiveValue: " + objectiveValue + "\n\tconstraintValue: " + constraintValue + "\n\tsolution: {";
-        result += getStringRepresentation(solution) + "}";
+        result += BitString.toString(solution, numberOfParameters) + "}";
         return result;
     }
     
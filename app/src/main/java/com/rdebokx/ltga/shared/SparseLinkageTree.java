@@ -0,0 +1,526 @@
+package com.rdebokx.ltga.shared;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import com.rdebokx.ltga.config.ExecutionConfiguration;
+import com.rdebokx.ltga.config.LearningConfiguration;
+
+/**
+ * Approximate Linkage Tree for genomes for which the full MIMatrix does not fit in memory or takes too long to compute.
+ * Rather than the mutual information of all pairs of parameters, only the k most dependent partners of every parameter
+ * are kept, such that this tree is learned in O(l * k) memory. The partners are chosen from candidate pairs, which are
+ * the interactions that the problem reports, see EvaluationFunction.getInteractingParameters, and the pairs whose columns
+ * collide in a bit sampling Locality Sensitive Hashing scheme. The mutual information of every candidate pair is
+ * computed exactly from the columns of the population.
+ *
+ * The tree is learned by the same average linkage clustering as the Linkage Tree, in which the similarity of pairs that
+ * are not kept is taken to be 0. As merging two clusters only changes the similarities of the merged cluster, the pair
+ * with the highest similarity is maintained in a heap from which the pairs of merged clusters are discarded lazily.
+ * The clusters that are not connected by any kept pair are merged in a random order once the heap is exhausted.
+ * @author Rdebokx
+ *
+ */
+public class SparseLinkageTree extends LearningModel {
+
+    /**
+     * The amount of bands of the Locality Sensitive Hashing scheme per partner that is kept.
+     */
+    public static final int BANDS_PER_PARTNER = 16;
+
+    /**
+     * The expected size of the bucket of a parameter in a band if it is independent of all other parameters.
+     */
+    public static final int EXPECTED_BUCKET_SIZE = 8;
+
+    /**
+     * The maximum size of a bucket of which all pairs are candidates. Larger buckets consist of parameters that are
+     * nearly converged to the same value, of which the mutual information is negligible, and are skipped.
+     */
+    public static final int MAX_BUCKET_SIZE = 64;
+
+    private final int numberOfParameters;
+    private final int partners;
+    private final BitColumns columns;
+    private final double[] entropies;
+    private final int[] partnerIndices;
+    private final double[] partnerValues;
+    private final int[] partnerCounts;
+
+    /**
+     * Constructor, creating a new Sparse Linkage Tree that was learned from the given population.
+     * @param population The population from which a new Sparse Linkage Tree has to be learned.
+     * @param problemHints The EvaluationFunction of the problem at hand, which reports the interactions between the
+     * parameters, or null if these are unknown.
+     * @param randomizer The Randomizer object that should be used.
+     * @param execConfig The ExecutionConfiguration used for initializing the tree.
+     * @param learningConfig The LearningConfiguration, holding the amount of partners per parameter.
+     */
+    public SparseLinkageTree(Population population, EvaluationFunction problemHints, Randomizer randomizer, ExecutionConfiguration execConfig,
+            LearningConfiguration learningConfig){
+        //long timeStart = System.currentTimeMillis();
+
+        this.numberOfParameters = population.getNumberOfParameters();
+        this.partners = Math.max(1, Math.min(learningConfig.SPARSE_PARTNERS, numberOfParameters - 1));
+        this.columns = BitColumns.forLearning(population, learningConfig, randomizer);
+        this.entropies = new double[numberOfParameters];
+        for(int i = 0; i < numberOfParameters; i++){
+            entropies[i] = columns.getJointEntropy(i, i);
+        }
+        this.partnerIndices = new int[numberOfParameters * partners];
+        this.partnerValues = new double[numberOfParameters * partners];
+        this.partnerCounts = new int[numberOfParameters];
+
+        if(partners >= numberOfParameters - 1){
+            //All pairs fit in the given budget, such that no candidates have to be generated.
+            for(int i = 0; i < numberOfParameters; i++){
+                for(int j = i + 1; j < numberOfParameters; j++){
+                    offer(i, j);
+                }
+            }
+        } else {
+            if(problemHints != null){
+                addProblemHints(problemHints);
+            }
+            addBitSamplingCandidates(randomizer);
+        }
+        model = learnStructure(randomizer, execConfig.USE_LOCAL_SEARCH);
+
+        //long timeEnd = System.currentTimeMillis();
+        //Profiler.recordExecution("SparseLinkageTree.learnStructure", timeEnd - timeStart);
+    }
+
+    /**
+     * This method offers the interactions reported by the given EvaluationFunction as candidate pairs.
+     * @param problemHints The EvaluationFunction of the problem at hand.
+     */
+    private void addProblemHints(EvaluationFunction problemHints){
+        for(int i = 0; i < numberOfParameters; i++){
+            for(int j : problemHints.getInteractingParameters(i, numberOfParameters)){
+                offer(i, j);
+            }
+        }
+    }
+
+    /**
+     * This method offers the pairs of parameters of which the columns collide in any band as candidate pairs. Every band
+     * samples a few individuals at random, of which the values of a parameter form its key, such that the probability
+     * that two parameters collide is the probability that they agree on an individual to the power of the amount of
+     * rows. Every parameter is hashed twice, by its values and by its negated values, such that both positively and
+     * negatively correlated parameters collide. As two independent parameters with frequency 1/2 agree on half of the
+     * individuals, every band consists of log_2(2l / EXPECTED_BUCKET_SIZE) rows, while dependent parameters agree on
+     * more individuals and are therefore much more likely to collide in at least one band.
+     * @param randomizer The Randomizer object that is used to sample the individuals.
+     */
+    private void addBitSamplingCandidates(Randomizer randomizer){
+        int populationSize = columns.getPopulationSize();
+        int[] entries = new int[2 * numberOfParameters];
+        int numberOfEntries = 0;
+        for(int i = 0; i < numberOfParameters; i++){
+            //Converged parameters have no mutual information with any other parameter.
+            if(columns.getOnes(i) > 0 && columns.getOnes(i) < populationSize){
+                entries[numberOfEntries++] = 2 * i;
+                entries[numberOfEntries++] = 2 * i + 1;
+            }
+        }
+        if(numberOfEntries == 0){
+            return;
+        }
+
+        //Every key holds the sampled values in its highest bits and the entry in its lowest bits.
+        int entryBits = 64 - Long.numberOfLeadingZeros(2 * numberOfParameters);
+        long entryMask = (1L << entryBits) - 1;
+        int rows = (int) Math.ceil(Math.log(numberOfEntries / (double) EXPECTED_BUCKET_SIZE) / Math.log(2));
+        rows = Math.max(1, Math.min(64 - entryBits, rows));
+        int bands = BANDS_PER_PARTNER * partners;
+        int[] individuals = new int[rows];
+        long[] keys = new long[numberOfEntries];
+
+        for(int band = 0; band < bands; band++){
+            for(int row = 0; row < rows; row++){
+                individuals[row] = randomizer.generator.nextInt(populationSize);
+            }
+            for(int e = 0; e < numberOfEntries; e++){
+                long[] column = columns.getColumn(entries[e] / 2);
+                long negate = entries[e] % 2;
+                long key = 0;
+                for(int row = 0; row < rows; row++){
+                    key = (key << 1) | ((column[BitString.wordIndex(individuals[row])] >>> individuals[row]) & 1L ^ negate);
+                }
+                keys[e] = (key << entryBits) | entries[e];
+            }
+
+            //Sort the entries by their key, such that every bucket is a run of equal keys.
+            Arrays.sort(keys);
+            int start = 0;
+            while(start < numberOfEntries){
+                int end = start + 1;
+                while(end < numberOfEntries && (keys[end] & ~entryMask) == (keys[start] & ~entryMask)){
+                    end++;
+                }
+                if(end - start <= MAX_BUCKET_SIZE){
+                    for(int a = start; a < end; a++){
+                        for(int b = a + 1; b < end; b++){
+                            offer((int) (keys[a] & entryMask) / 2, (int) (keys[b] & entryMask) / 2);
+                        }
+                    }
+                }
+                start = end;
+            }
+        }
+    }
+
+    /**
+     * This method computes the mutual information of the given pair of parameters and adds the pair to the partners of
+     * both parameters, if it is among their most dependent partners so far. Pairs that are already kept are ignored.
+     * @param param1 The first parameter.
+     * @param param2 The second parameter.
+     */
+    private void offer(int param1, int param2){
+        if(param1 == param2 || isPartner(param1, param2) || isPartner(param2, param1)){
+            return;
+        }
+        double mutualInformation = entropies[param1] + entropies[param2] - columns.getJointEntropy(param1, param2);
+        if(mutualInformation > 0){
+            addPartner(param1, param2, mutualInformation);
+            addPartner(param2, param1, mutualInformation);
+        }
+    }
+
+    /**
+     * @param parameter The parameter.
+     * @param partner The possible partner.
+     * @return True iff the given partner is kept as one of the partners of the given parameter.
+     */
+    private boolean isPartner(int parameter, int partner){
+        int offset = parameter * partners;
+        for(int p = 0; p < partnerCounts[parameter]; p++){
+            if(partnerIndices[offset + p] == partner){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method adds the given partner to the partners of the given parameter, replacing the least dependent partner
+     * if the given parameter already has the maximum amount of partners.
+     * @param parameter The parameter.
+     * @param partner The partner that has to be added.
+     * @param mutualInformation The mutual information of the parameter and the partner.
+     */
+    private void addPartner(int parameter, int partner, double mutualInformation){
+        int offset = parameter * partners;
+        int position = partnerCounts[parameter];
+        if(position == partners){
+            position = 0;
+            for(int p = 1; p < partners; p++){
+                if(partnerValues[offset + p] < partnerValues[offset + position]){
+                    position = p;
+                }
+            }
+            if(partnerValues[offset + position] >= mutualInformation){
+                return;
+            }
+        } else {
+            partnerCounts[parameter]++;
+        }
+        partnerIndices[offset + position] = partner;
+        partnerValues[offset + position] = mutualInformation;
+    }
+
+    /**
+     * This function learns the structure of this tree from the kept partners by average linkage clustering.
+     * @param randomizer The Randomizer object that is used to merge the clusters that are not connected.
+     * @param useLocalSearch Boolean indicating whether local search is used. If local search is not used, all singleton
+     * sets will be added to the bottom of the tree.
+     * @return The ParameterSets of the learned tree, from the bottom to the top of the tree.
+     */
+    private ArrayList<ParameterSet> learnStructure(Randomizer randomizer, boolean useLocalSearch){
+        ArrayList<ParameterSet> result = new ArrayList<ParameterSet>(2 * numberOfParameters);
+        Clusters clusters = new Clusters();
+        if(!useLocalSearch){
+            for(int i = 0; i < numberOfParameters; i++){
+                result.add(clusters.sets[i]);
+            }
+        }
+
+        int activeClusters = numberOfParameters;
+        while(activeClusters > 1 && clusters.heap.size > 0){
+            int cluster1 = clusters.heap.getCluster1();
+            int cluster2 = clusters.heap.getCluster2();
+            clusters.heap.pop();
+            if(clusters.isActive(cluster1) && clusters.isActive(cluster2)){
+                addMergedSet(result, clusters.sets[clusters.merge(cluster1, cluster2)]);
+                activeClusters--;
+            }
+        }
+
+        //Merge the clusters that are not connected pairwise in a random order, such that the top of the tree is balanced.
+        int[] queue = new int[activeClusters];
+        int size = 0;
+        for(int c = 0; c < clusters.numberOfClusters; c++){
+            if(clusters.isActive(c)){
+                queue[size++] = c;
+            }
+        }
+        randomizer.shuffle(queue, size);
+        int head = 0;
+        while(size > 1){
+            int cluster = clusters.merge(queue[head], queue[(head + 1) % queue.length]);
+            addMergedSet(result, clusters.sets[cluster]);
+            queue[(head + size) % queue.length] = cluster;
+            head = (head + 2) % queue.length;
+            size--;
+        }
+
+        return result;
+    }
+
+    /**
+     * This method adds the ParameterSet of the given merged cluster to the given tree, unless it holds all parameters.
+     * @param tree The tree to which the set has to be added.
+     * @param set The merged ParameterSet.
+     */
+    private void addMergedSet(ArrayList<ParameterSet> tree, ParameterSet set){
+        //avoid adding the full set
+        if(set.size() < numberOfParameters){
+            tree.add(set);
+        }
+    }
+
+    /**
+     * The clusters of the average linkage clustering, of which cluster i holds parameter i for i below the number of
+     * parameters and merged clusters are numbered in order of creation. Every active cluster keeps its similarity to the
+     * active clusters it is connected to, and every connected pair of active clusters is held in the heap.
+     */
+    private class Clusters {
+
+        private final ParameterSet[] sets;
+        private final int[][] neighbors;
+        private final double[][] similarities;
+        private final int[] degrees;
+        private final double[] merged;
+        private final int[] mergedNeighbors;
+        private final Heap heap;
+        private int numberOfClusters;
+
+        /**
+         * Constructor, constructing a singleton cluster for every parameter, connected to its kept partners.
+         */
+        private Clusters(){
+            int maxClusters = 2 * numberOfParameters - 1;
+            sets = new ParameterSet[maxClusters];
+            neighbors = new int[maxClusters][];
+            similarities = new double[maxClusters][];
+            degrees = new int[maxClusters];
+            merged = new double[maxClusters];
+            mergedNeighbors = new int[maxClusters];
+            heap = new Heap(numberOfParameters * partners);
+            numberOfClusters = numberOfParameters;
+
+            //A pair that is kept by both parameters is only connected once, from the lowest parameter.
+            int[] counts = new int[numberOfParameters];
+            for(int i = 0; i < numberOfParameters; i++){
+                for(int p = 0; p < partnerCounts[i]; p++){
+                    int j = partnerIndices[i * partners + p];
+                    if(j > i || !isPartner(j, i)){
+                        counts[i]++;
+                        counts[j]++;
+                    }
+                }
+            }
+            for(int i = 0; i < numberOfParameters; i++){
+                sets[i] = new ParameterSet(i, i);
+                neighbors[i] = new int[counts[i]];
+                similarities[i] = new double[counts[i]];
+            }
+            for(int i = 0; i < numberOfParameters; i++){
+                for(int p = 0; p < partnerCounts[i]; p++){
+                    int j = partnerIndices[i * partners + p];
+                    if(j > i || !isPartner(j, i)){
+                        connect(i, j, partnerValues[i * partners + p]);
+                        connect(j, i, partnerValues[i * partners + p]);
+                        heap.push(partnerValues[i * partners + p], i, j);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @param cluster The cluster.
+         * @return True iff the given cluster has not been merged yet.
+         */
+        private boolean isActive(int cluster){
+            return neighbors[cluster] != null;
+        }
+
+        /**
+         * This method adds the given neighbor to the neighbors of the given cluster, growing its arrays if needed.
+         * @param cluster The cluster.
+         * @param neighbor The neighboring cluster.
+         * @param similarity The similarity of the cluster and its neighbor.
+         */
+        private void connect(int cluster, int neighbor, double similarity){
+            if(degrees[cluster] == neighbors[cluster].length){
+                neighbors[cluster] = Arrays.copyOf(neighbors[cluster], Math.max(4, 2 * degrees[cluster]));
+                similarities[cluster] = Arrays.copyOf(similarities[cluster], neighbors[cluster].length);
+            }
+            neighbors[cluster][degrees[cluster]] = neighbor;
+            similarities[cluster][degrees[cluster]] = similarity;
+            degrees[cluster]++;
+        }
+
+        /**
+         * This method removes the given merged clusters from the neighbors of the given cluster.
+         * @param cluster The cluster.
+         * @param cluster1 The first merged cluster.
+         * @param cluster2 The second merged cluster.
+         */
+        private void disconnect(int cluster, int cluster1, int cluster2){
+            int[] clusterNeighbors = neighbors[cluster];
+            for(int n = degrees[cluster] - 1; n >= 0; n--){
+                if(clusterNeighbors[n] == cluster1 || clusterNeighbors[n] == cluster2){
+                    degrees[cluster]--;
+                    clusterNeighbors[n] = clusterNeighbors[degrees[cluster]];
+                    similarities[cluster][n] = similarities[cluster][degrees[cluster]];
+                }
+            }
+        }
+
+        /**
+         * This function merges the given active clusters into a new cluster, of which the similarity to every other
+         * cluster is the average of the similarities of the merged clusters, weighted by their size.
+         * @param cluster1 The first cluster.
+         * @param cluster2 The second cluster.
+         * @return The new cluster.
+         */
+        private int merge(int cluster1, int cluster2){
+            int cluster = numberOfClusters++;
+            double mul1 = sets[cluster1].size() / ((sets[cluster1].size() + sets[cluster2].size()) * 1.0);
+            double mul2 = sets[cluster2].size() / ((sets[cluster1].size() + sets[cluster2].size()) * 1.0);
+            sets[cluster] = new ParameterSet(-1, sets[cluster1], sets[cluster2]);
+
+            int count = 0;
+            count = collect(cluster1, cluster2, mul1, count);
+            count = collect(cluster2, cluster1, mul2, count);
+            neighbors[cluster] = new int[count];
+            similarities[cluster] = new double[count];
+            for(int n = 0; n < count; n++){
+                int neighbor = mergedNeighbors[n];
+                disconnect(neighbor, cluster1, cluster2);
+                connect(neighbor, cluster, merged[neighbor]);
+                connect(cluster, neighbor, merged[neighbor]);
+                heap.push(merged[neighbor], cluster, neighbor);
+                merged[neighbor] = 0;
+            }
+
+            neighbors[cluster1] = null;
+            neighbors[cluster2] = null;
+            similarities[cluster1] = null;
+            similarities[cluster2] = null;
+            return cluster;
+        }
+
+        /**
+         * This function adds the weighted similarities of the given merged cluster to the similarities of the new
+         * cluster, collecting the neighbors that were not collected before.
+         * @param cluster The merged cluster.
+         * @param other The cluster it is merged with.
+         * @param weight The weight of the given cluster.
+         * @param count The amount of neighbors collected so far.
+         * @return The amount of neighbors collected.
+         */
+        private int collect(int cluster, int other, double weight, int count){
+            for(int n = 0; n < degrees[cluster]; n++){
+                int neighbor = neighbors[cluster][n];
+                if(neighbor != other){
+                    if(merged[neighbor] == 0){
+                        mergedNeighbors[count++] = neighbor;
+                    }
+                    merged[neighbor] += weight * similarities[cluster][n];
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Binary max-heap of pairs of clusters, ordered by their similarity.
+     */
+    private static class Heap {
+
+        private double[] values;
+        private long[] pairs;
+        private int size;
+
+        /**
+         * Constructor, constructing an empty heap with the given initial capacity.
+         * @param capacity The initial capacity.
+         */
+        private Heap(int capacity){
+            values = new double[Math.max(1, capacity)];
+            pairs = new long[values.length];
+        }
+
+        /**
+         * This method adds the given pair to this heap.
+         * @param value The similarity of the pair.
+         * @param cluster1 The first cluster.
+         * @param cluster2 The second cluster.
+         */
+        private void push(double value, int cluster1, int cluster2){
+            if(size == values.length){
+                values = Arrays.copyOf(values, 2 * size);
+                pairs = Arrays.copyOf(pairs, 2 * size);
+            }
+            long pair = ((long) cluster1 << 32) | cluster2;
+            int position = size++;
+            while(position > 0 && values[(position - 1) / 2] < value){
+                values[position] = values[(position - 1) / 2];
+                pairs[position] = pairs[(position - 1) / 2];
+                position = (position - 1) / 2;
+            }
+            values[position] = value;
+            pairs[position] = pair;
+        }
+
+        /**
+         * This method removes the pair with the highest similarity from this heap.
+         */
+        private void pop(){
+            size--;
+            double value = values[size];
+            long pair = pairs[size];
+            int position = 0;
+            while(2 * position + 1 < size){
+                int child = 2 * position + 1;
+                if(child + 1 < size && values[child + 1] > values[child]){
+                    child++;
+                }
+                if(values[child] <= value){
+                    break;
+                }
+                values[position] = values[child];
+                pairs[position] = pairs[child];
+                position = child;
+            }
+            values[position] = value;
+            pairs[position] = pair;
+        }
+
+        /**
+         * @return The first cluster of the pair with the highest similarity.
+         */
+        private int getCluster1(){
+            return (int) (pairs[0] >>> 32);
+        }
+
+        /**
+         * @return The second cluster of the pair with the highest similarity.
+         */
+        private int getCluster2(){
+            return (int) pairs[0];
+        }
+    }
+}
@@ -23,6 +23,20 @@ public class UniformEvaluationFunction implements EvaluationFunction {
 		}
 	}
 	
+	/**
+	 * @return The parameters considered by this function. The first parameter is the most significant bit of the lookup key.
+	 */
+	public int[] getParameters(){
+		return params;
+	}
+	
+	/**
+	 * @return The lookup table of this function.
+	 */
+	public double[] getTable(){
+		return table;
+	}
+	
 	/**
      * @see EvaluationFunction#evaluate(boolean[])
      */
@@ -34,4 +48,16 @@ public class UniformEvaluationFunction implements EvaluationFunction {
 		}
 		return table[key];
 	}
+	
+	/**
+	 * @see EvaluationFunction#evaluate(long[], int)
+	 */
+	@Override
+	public double evaluate(long[] solution, int numberOfParameters){
+		int key = 0;
+		for(int i = 0; i < params.length; i++){
+			key += BitString.get(solution, params[i]) ? powers[params.length - i - 1] : 0;
+		}
+		return table[key];
+	}
 }
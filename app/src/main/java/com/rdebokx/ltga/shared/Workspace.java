@@ -0,0 +1,133 @@
+package com.rdebokx.ltga.shared;
+
+/**
+ * Scratch buffers that are used while generating new solutions. A Workspace is owned by a single worker, so that
+ * no genomes or permutation arrays have to be allocated per generated solution.
+ */
+public class Workspace {
+
+    final long[] result;
+    final long[] backup;
+    final int[] changedIndex = new int[1];
+    private int[] order;
+    private int[] donors;
+    private long[][] candidates;
+    private double[] candidateObjectiveValues;
+    private boolean[] candidateEvaluated;
+    private JobState speculativeJobState;
+    private Randomizer stream;
+
+    double objectiveValue;
+    double constraintValue;
+
+    /**
+     * Constructor, constructing a new Workspace for solutions with the given amount of parameters.
+     * @param numberOfParameters The number of parameters of the solutions that are to be generated.
+     */
+    public Workspace(int numberOfParameters){
+        result = new long[BitString.numberOfWords(numberOfParameters)];
+        backup = new long[result.length];
+        order = new int[numberOfParameters];
+    }
+
+    /**
+     * @return The buffer holding the last accepted solution while a new solution is generated.
+     */
+    public long[] getBackup(){
+        return backup;
+    }
+
+    /**
+     * This function returns a buffer that can hold a random order of the given size. The buffer is only reallocated
+     * when it is too small.
+     * @param size The size of the order that has to be stored.
+     * @return A buffer of at least the given size.
+     */
+    public int[] getOrder(int size){
+        if(order.length < size){
+            order = new int[size];
+        }
+        return order;
+    }
+
+    /**
+     * This function returns a buffer that can hold the indices of the donors for the given amount of FOS elements. The
+     * buffer is only reallocated when it is too small.
+     * @param size The amount of donor indices that have to be stored.
+     * @return A buffer of at least the given size.
+     */
+    public int[] getDonors(int size){
+        if(donors == null || donors.length < size){
+            donors = new int[size];
+        }
+        return donors;
+    }
+
+    /**
+     * This function returns the buffers for evaluating the given amount of candidate solutions speculatively, being the
+     * candidates themselves, their objective values and whether or not they were evaluated. The buffers are only
+     * reallocated when they are too small.
+     * @param window The amount of candidates that are evaluated concurrently.
+     * @return A buffer of at least window candidates of the same length as the result buffer.
+     */
+    public long[][] getCandidates(int window){
+        if(candidates == null || candidates.length < window){
+            candidates = new long[window][result.length];
+            candidateObjectiveValues = new double[window];
+            candidateEvaluated = new boolean[window];
+            speculativeJobState = new JobState();
+        }
+        return candidates;
+    }
+
+    /**
+     * @return The objective values of the candidates returned by getCandidates.
+     */
+    public double[] getCandidateObjectiveValues(){
+        return candidateObjectiveValues;
+    }
+
+    /**
+     * @return For every candidate returned by getCandidates, whether or not it was evaluated.
+     */
+    public boolean[] getCandidateEvaluated(){
+        return candidateEvaluated;
+    }
+
+    /**
+     * @return The JobState that counts the speculative evaluations, which are only counted in the JobState of the job
+     * once their results are committed.
+     */
+    JobState getSpeculativeJobState(){
+        return speculativeJobState;
+    }
+
+    /**
+     * This function returns the Randomizer of this workspace, re-keyed to the stream of the given parent that is identified
+     * by the given generation and index, see Randomizer.reseed. The Randomizer is allocated on first use.
+     * @param parent The Randomizer of which the stream has to be drawn from.
+     * @param generation The generation for which the stream is used.
+     * @param index The index of the individual for which the stream is used.
+     * @return A Randomizer that draws the same numbers as parent.split(generation, index).
+     */
+    public Randomizer getStream(Randomizer parent, long generation, long index){
+        if(stream == null){
+            stream = new Randomizer(0);
+        }
+        return stream.reseed(parent, generation, index);
+    }
+
+    /**
+     * @return The objective value of the solution that was last generated with this workspace.
+     */
+    public double getObjectiveValue(){
+        return objectiveValue;
+    }
+
+    /**
+     * @return The constraint value of the solution that was last generated with this workspace.
+     */
+    public double getConstraintValue(){
+        return constraintValue;
+    }
+}
@@ -0,0 +1,104 @@
+package com.rdebokx.ltga.shared;
+
+import java.util.Random;
+
+/**
+ * Implementation of the xoshiro256** generator of Blackman and Vigna. It extends Random such that it can be used
+ * wherever a Random is expected, but unlike Random it is not synchronized and produces 64 random bits per step.
+ * Instances should therefore not be shared between threads; use Randomizer.split to obtain a generator per thread.
+ */
+public class Xoshiro256StarStar extends Random {
+
+    private static final long serialVersionUID = 1L;
+
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    /**
+     * Constructor, constructing a new Xoshiro256StarStar generator with the given seed.
+     * @param seed The seed for this generator.
+     */
+    public Xoshiro256StarStar(long seed){
+        super(seed);
+    }
+
+    /**
+     * This method sets the state of this generator, which is derived from the given seed with the SplitMix64 generator
+     * such that the state is never all zeroes.
+     * Note that this method is called by the constructor of Random, hence the state must not have an initializer.
+     * @param seed The seed for this generator.
+     */
+    @Override
+    public void setSeed(long seed){
+        long x = seed;
+        x += 0x9e3779b97f4a7c15L;
+        s0 = Randomizer.mix(x);
+        x += 0x9e3779b97f4a7c15L;
+        s1 = Randomizer.mix(x);
+        x += 0x9e3779b97f4a7c15L;
+        s2 = Randomizer.mix(x);
+        x += 0x9e3779b97f4a7c15L;
+        s3 = Randomizer.mix(x);
+    }
+
+    /**
+     * @return The next 64 random bits of this generator.
+     */
+    @Override
+    public long nextLong(){
+        long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+
+    /**
+     * This function returns the given amount of random bits from the upper bits of the next output, which are the
+     * strongest bits of this generator. All other methods of Random are based on this function.
+     * @param bits The amount of random bits, at most 32.
+     * @return An int of which the lower given amount of bits are random.
+     */
+    @Override
+    protected int next(int bits){
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public boolean nextBoolean(){
+        return nextLong() < 0;
+    }
+
+    @Override
+    public double nextDouble(){
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * This function returns a uniformly distributed int between 0 (inclusive) and bound (exclusive) using the
+     * multiply-and-shift method of Lemire, which avoids the division of Random.nextInt in almost all cases.
+     * @param bound The upper bound (exclusive), which should be positive.
+     * @return A random int between 0 (inclusive) and bound (exclusive).
+     */
+    @Override
+    public int nextInt(int bound){
+        if(bound <= 0){
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        long product = (nextLong() >>> 32) * bound;
+        if((product & 0xffffffffL) < bound){
+            //Reject the values that would make the result biased. The threshold is 2^32 mod bound.
+            long threshold = (0x100000000L - bound) % bound;
+            while((product & 0xffffffffL) < threshold){
+                product = (nextLong() >>> 32) * bound;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+}
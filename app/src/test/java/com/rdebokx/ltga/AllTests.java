@@ -1,31 +1,57 @@
 package com.rdebokx.ltga;
 
-import com.rdebokx.ltga.parallel.EntropyWorkerTest;
+import com.rdebokx.ltga.parallel.HybridJobRunnerTest;
+import com.rdebokx.ltga.parallel.ParallelJobRunnerTest;
+import com.rdebokx.ltga.parallel.SchedulerTest;
 import com.rdebokx.ltga.sequential.LinkageTreeTest;
 import com.rdebokx.ltga.sequential.MIMatrixTest;
 import com.rdebokx.ltga.sequential.NearestNeighborChainTest;
 import com.rdebokx.ltga.sequential.PopulationTest;
+import com.rdebokx.ltga.shared.AgglomerativeClusteringTest;
+import com.rdebokx.ltga.shared.BitColumnsTest;
+import com.rdebokx.ltga.shared.BitStringTest;
 import com.rdebokx.ltga.shared.DistributionTest;
 import com.rdebokx.ltga.shared.FitnessComparatorTest;
+import com.rdebokx.ltga.shared.IslandTest;
+import com.rdebokx.ltga.shared.JobStateTest;
+import com.rdebokx.ltga.shared.JointFrequenciesTest;
+import com.rdebokx.ltga.shared.LinkageModelReuseTest;
+import com.rdebokx.ltga.shared.ParameterSetTest;
+import com.rdebokx.ltga.shared.PopulationSizeLadderTest;
 import com.rdebokx.ltga.shared.ProblemEvaluatorTest;
+import com.rdebokx.ltga.shared.RandomizerTest;
+import com.rdebokx.ltga.shared.SparseLinkageTreeTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({
-    EntropyWorkerTest.class,
+    HybridJobRunnerTest.class,
     com.rdebokx.ltga.parallel.MIMatrixTest.class,
     com.rdebokx.ltga.parallel.PopulationTest.class,
+    ParallelJobRunnerTest.class,
+    SchedulerTest.class,
     
     LinkageTreeTest.class,
     PopulationTest.class,
     MIMatrixTest.class,
     NearestNeighborChainTest.class,
     
+    AgglomerativeClusteringTest.class,
+    BitColumnsTest.class,
+    BitStringTest.class,
     DistributionTest.class,
     FitnessComparatorTest.class,
-    ProblemEvaluatorTest.class
+    IslandTest.class,
+    JobStateTest.class,
+    JointFrequenciesTest.class,
+    LinkageModelReuseTest.class,
+    ParameterSetTest.class,
+    PopulationSizeLadderTest.class,
+    ProblemEvaluatorTest.class,
+    RandomizerTest.class,
+    SparseLinkageTreeTest.class
 })
 
 public class AllTests {
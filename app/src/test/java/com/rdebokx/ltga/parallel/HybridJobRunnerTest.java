@@ -0,0 +1,44 @@
+package com.rdebokx.ltga.parallel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.rdebokx.ltga.config.ExecutionConfiguration;
+import com.rdebokx.ltga.config.GeneticConfiguration;
+import com.rdebokx.ltga.config.JobConfiguration;
+import com.rdebokx.ltga.config.LearningConfiguration;
+import com.rdebokx.ltga.config.ParallelConfiguration;
+import com.rdebokx.ltga.config.problems.ProblemConfiguration;
+import com.rdebokx.ltga.shared.Problem;
+
+import org.junit.Test;
+
+public class HybridJobRunnerTest {
+
+    @Test
+    public void testDetermineNumberOfPopulations() {
+        //300 solutions allow for 18 threads per population, hence 64 threads are split into 4 populations of 16 threads.
+        assertEquals(4, HybridJobRunner.determineNumberOfPopulations(64, 300));
+        assertEquals(4, HybridJobRunner.determineNumberOfPopulations(4, 20));
+        assertEquals(1, HybridJobRunner.determineNumberOfPopulations(4, 1000));
+        assertEquals(1, HybridJobRunner.determineNumberOfPopulations(1, 10));
+    }
+
+    @Test
+    public void testRun() {
+        int numberOfParameters = 40;
+        GeneticConfiguration genConfig = new GeneticConfiguration(40, 2, 40, numberOfParameters);
+        ExecutionConfiguration execConfig = new ExecutionConfiguration(4, -1, 200000, true, numberOfParameters, -1);
+        JobConfiguration config = new JobConfiguration(genConfig, execConfig, new ProblemConfiguration(Problem.ONEMAX),
+                LearningConfiguration.DEFAULT, new ParallelConfiguration(ParallelConfiguration.Mode.GENERATIONAL, 2));
+
+        HybridJobRunner runner = new HybridJobRunner(config, false, null, 42);
+        assertEquals(2, runner.getNumberOfPopulations());
+        assertEquals(2, runner.getThreadsPerPopulation());
+        runner.run();
+
+        assertEquals(numberOfParameters, runner.getBestFound().getObjectiveValue(), .0001);
+        assertTrue(runner.getNumberOfGenerations() > 0);
+        assertEquals(runner.getNumberOfEvaluations(), runner.getJobState().getNumberOfEvaluations());
+    }
+}
@@ -1,14 +1,31 @@
 package com.rdebokx.ltga.parallel;
 
 import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
 import com.rdebokx.ltga.config.ExecutionConfiguration;
 import com.rdebokx.ltga.config.JobConfiguration;
 import com.rdebokx.ltga.shared.JobState;
 import com.rdebokx.ltga.shared.ParameterSet;
 
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 
 public class MIMatrixTest {
+    
+    private Scheduler scheduler;
+    
+    @Before
+    public void setUp() {
+        scheduler = new Scheduler(4);
+    }
+    
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+    }
 
     public static double entropy(double frequency){
         return -frequency * Math.log(frequency) / Math.log(2); 
@@ -40,6 +57,7 @@ public class MIMatrixTest {
         
         //Check values
         Population population = new Population(pop, new double[]{}, new double[]{}, new JobState());
+        population.setScheduler(scheduler);
         
         //initialize mpm, LT and SMatrix
         ParameterSet[] mpm = new ParameterSet[numberOfParameters];
@@ -93,6 +111,7 @@ public class MIMatrixTest {
         
         //Check values
         Population population = new Population(pop, new double[]{}, new double[]{}, new JobState());
+        population.setScheduler(scheduler);
         
         //initialize mpm, LT and SMatrix
         ParameterSet[] mpm = new ParameterSet[numberOfParameters];
@@ -146,6 +165,7 @@ public class MIMatrixTest {
         
         //Check values
         Population population = new Population(pop, new double[]{}, new double[]{}, new JobState());
+        population.setScheduler(scheduler);
         
         //initialize mpm, LT and SMatrix
         ParameterSet[] mpm = new ParameterSet[numberOfParameters];
@@ -212,6 +232,7 @@ public class MIMatrixTest {
         
         //Check values
         Population population = new Population(pop, new double[]{}, new double[]{}, new JobState());
+        population.setScheduler(scheduler);
         
         //initialize mpm, LT and SMatrix
         ParameterSet[] mpm = new ParameterSet[numberOfParameters];
@@ -353,6 +374,7 @@ public class MIMatrixTest {
         };
         
         Population population = new Population(pop, new double[]{}, new double[]{}, new JobState());
+        population.setScheduler(scheduler);
         ParameterSet[] mpm = new ParameterSet[numberOfParameters];
         for(int i = 0; i < numberOfParameters; i++){
             mpm[i] = new ParameterSet(i, i);
@@ -404,6 +426,7 @@ public class MIMatrixTest {
         };
         
         Population population = new Population(pop, new double[]{}, new double[]{}, new JobState());
+        population.setScheduler(scheduler);
         ParameterSet[] mpm = new ParameterSet[numberOfParameters];
         for(int i = 0; i < numberOfParameters; i++){
             mpm[i] = new ParameterSet(i, i);
@@ -455,6 +478,7 @@ public class MIMatrixTest {
         };
         
         Population population = new Population(pop, new double[]{}, new double[]{}, new JobState());
+        population.setScheduler(scheduler);
         ParameterSet[] mpm = new ParameterSet[numberOfParameters];
         for(int i = 0; i < numberOfParameters; i++){
             mpm[i] = new ParameterSet(i, i);
@@ -493,5 +517,40 @@ public class MIMatrixTest {
         assertEquals(mi21, matrix.get(2, 1), .0001);
         assertEquals(mi22, matrix.get(2, 2), .0001);
     }
+    
+    @Test
+    public void testTiledMatchesSequential() {
+        final int numberOfParameters = 150;
+        Random random = new Random(42);
+        boolean[][] pop = new boolean[100][numberOfParameters];
+        for(boolean[] solution : pop){
+            for(int i = 0; i < numberOfParameters; i++){
+                solution[i] = random.nextBoolean();
+            }
+        }
+        
+        ParameterSet[] mpm = new ParameterSet[numberOfParameters];
+        for(int i = 0; i < numberOfParameters; i++){
+            mpm[i] = new ParameterSet(i, i);
+        }
+        com.rdebokx.ltga.sequential.MIMatrix expected = new com.rdebokx.ltga.sequential.MIMatrix(mpm,
+            new com.rdebokx.ltga.sequential.Population(pop, new double[]{}, new double[]{}, new JobState()));
+        
+        //The entropy values are filled on the Scheduler of the population, hence every amount of threads gets its own Scheduler.
+        Population population = new Population(pop, new double[]{}, new double[]{}, new JobState());
+        for(int threads : new int[]{1, 3, 8}){
+            Scheduler threadsScheduler = new Scheduler(threads);
+            try {
+                population.setScheduler(threadsScheduler);
+                ExecutionConfiguration execConfig = new ExecutionConfiguration(threads, -1, -1, false, -1, .00001);
+                MIMatrix miMatrix = new MIMatrix(numberOfParameters);
+                miMatrix.fillWithEntropyValues(mpm, population, execConfig);
+                miMatrix.calculateMIValues(numberOfParameters, execConfig);
+                assertEquals(expected, miMatrix);
+            } finally {
+                threadsScheduler.shutdown();
+            }
+        }
+    }
 
 }
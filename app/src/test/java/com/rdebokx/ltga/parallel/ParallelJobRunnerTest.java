@@ -0,0 +1,109 @@
+package com.rdebokx.ltga.parallel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import com.rdebokx.ltga.config.ExecutionConfiguration;
+import com.rdebokx.ltga.config.GeneticConfiguration;
+import com.rdebokx.ltga.config.JobConfiguration;
+import com.rdebokx.ltga.config.LearningConfiguration;
+import com.rdebokx.ltga.config.ParallelConfiguration;
+import com.rdebokx.ltga.config.problems.ProblemConfiguration;
+import com.rdebokx.ltga.shared.MIMatrix.Storage;
+import com.rdebokx.ltga.shared.Problem;
+
+import org.junit.Test;
+
+public class ParallelJobRunnerTest {
+
+    @Test
+    public void testSteadyState() {
+        int numberOfParameters = 40;
+        GeneticConfiguration genConfig = new GeneticConfiguration(40, 2, 40, numberOfParameters);
+        ExecutionConfiguration execConfig = new ExecutionConfiguration(4, -1, 200000, true, numberOfParameters, -1);
+        JobConfiguration config = new JobConfiguration(genConfig, execConfig, new ProblemConfiguration(Problem.ONEMAX),
+                LearningConfiguration.DEFAULT, new ParallelConfiguration(ParallelConfiguration.Mode.STEADY_STATE));
+
+        ParallelJobRunner runner = new ParallelJobRunner(config, false, null, 42);
+        runner.run();
+
+        assertEquals(numberOfParameters, runner.getBestFound().getObjectiveValue(), .0001);
+        assertTrue(runner.getJobState().getNumberOfGenerations() > 0);
+        assertTrue(runner.getJobState().getNumberOfEvaluations() < 200000);
+    }
+
+    @Test
+    public void testCancel() {
+        int numberOfParameters = 40;
+        GeneticConfiguration genConfig = new GeneticConfiguration(40, 2, 40, numberOfParameters);
+        ExecutionConfiguration execConfig = new ExecutionConfiguration(4, -1, -1, true, numberOfParameters, -1);
+        JobConfiguration config = new JobConfiguration(genConfig, execConfig, new ProblemConfiguration(Problem.DECEPTIVE_TRAP_4_TIGHT_ENCODING));
+
+        //A job that is cancelled before it runs stops right after the initialization.
+        ParallelJobRunner runner = new ParallelJobRunner(config, false, null, 42);
+        runner.cancel();
+        runner.run();
+        assertEquals(0, runner.getJobState().getNumberOfGenerations());
+        assertEquals(40, runner.getJobState().getNumberOfEvaluations());
+    }
+
+    @Test
+    public void testSpeculativeIdenticalToGenerational() {
+        int numberOfParameters = 30;
+        GeneticConfiguration genConfig = new GeneticConfiguration(10, 2, 10, numberOfParameters);
+        ProblemConfiguration problemConfig = new ProblemConfiguration(Problem.DECEPTIVE_TRAP_5_TIGHT_ENCODING);
+        
+        //Solutions are only mixed speculatively if there are fewer solutions than threads, otherwise generationally.
+        for(int threads : new int[]{4, 12}){
+            ExecutionConfiguration execConfig = new ExecutionConfiguration(threads, 20, 50000, true, 6, -1);
+            ParallelJobRunner generational = new ParallelJobRunner(new JobConfiguration(genConfig, execConfig, problemConfig, 
+                    LearningConfiguration.DEFAULT, new ParallelConfiguration(ParallelConfiguration.Mode.GENERATIONAL)), false, null, 7);
+            generational.run();
+            ParallelJobRunner speculative = new ParallelJobRunner(new JobConfiguration(genConfig, execConfig, problemConfig, 
+                    LearningConfiguration.DEFAULT, new ParallelConfiguration(ParallelConfiguration.Mode.SPECULATIVE)), false, null, 7);
+            speculative.run();
+            
+            assertTrue(Arrays.equals(generational.getBestFound().getSolution(), speculative.getBestFound().getSolution()));
+            assertEquals(generational.getBestFound().getObjectiveValue(), speculative.getBestFound().getObjectiveValue(), 0);
+            assertEquals(generational.getJobState().getNumberOfGenerations(), speculative.getJobState().getNumberOfGenerations());
+            assertEquals(generational.getJobState().getNumberOfEvaluations(), speculative.getJobState().getNumberOfEvaluations());
+        }
+    }
+    
+    @Test
+    public void testIncrementalLinkageStatistics() {
+        int numberOfParameters = 30;
+        GeneticConfiguration genConfig = new GeneticConfiguration(30, 2, 30, numberOfParameters);
+        ExecutionConfiguration execConfig = new ExecutionConfiguration(4, 20, 50000, true, 6, -1);
+        ProblemConfiguration problemConfig = new ProblemConfiguration(Problem.DECEPTIVE_TRAP_5_TIGHT_ENCODING);
+        
+        //The incrementally maintained statistics are verified every generation and result in the same linkage trees.
+        ParallelJobRunner rebuild = new ParallelJobRunner(new JobConfiguration(genConfig, execConfig, problemConfig), false, null, 11);
+        rebuild.run();
+        ParallelJobRunner incremental = new ParallelJobRunner(new JobConfiguration(genConfig, execConfig, problemConfig, 
+                new LearningConfiguration(Storage.FULL, LearningConfiguration.LinkageStatistics.VERIFIED_INCREMENTAL)), false, null, 11);
+        incremental.run();
+        
+        assertTrue(Arrays.equals(rebuild.getBestFound().getSolution(), incremental.getBestFound().getSolution()));
+        assertEquals(rebuild.getJobState().getNumberOfGenerations(), incremental.getJobState().getNumberOfGenerations());
+        assertEquals(rebuild.getJobState().getNumberOfEvaluations(), incremental.getJobState().getNumberOfEvaluations());
+    }
+    
+    @Test
+    public void testSparseLinkage() {
+        int numberOfParameters = 50;
+        GeneticConfiguration genConfig = new GeneticConfiguration(100, 2, 100, numberOfParameters);
+        ExecutionConfiguration execConfig = new ExecutionConfiguration(4, 20, 500000, true, 10, -1);
+        ProblemConfiguration problemConfig = new ProblemConfiguration(Problem.DECEPTIVE_TRAP_5_TIGHT_ENCODING);
+        
+        //The sparse linkage trees, of which the candidate partners include the blocks of the trap function, solve the problem.
+        ParallelJobRunner sparse = new ParallelJobRunner(new JobConfiguration(genConfig, execConfig, problemConfig, 
+                new LearningConfiguration(Storage.FULL, LearningConfiguration.LinkageStatistics.REBUILD, LearningConfiguration.DriftMeasure.UNIVARIATE_FREQUENCY,
+                        LearningConfiguration.NO_REUSE, 1, LearningConfiguration.NO_SAMPLING, 4)), false, null, 11);
+        sparse.run();
+        
+        assertEquals(10, sparse.getBestFound().getObjectiveValue(), 0);
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -19,11 +20,24 @@ import com.rdebokx.ltga.shared.ProblemEvaluator;
 import com.rdebokx.ltga.shared.Randomizer;
 import com.rdebokx.ltga.shared.Solution;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 public class PopulationTest {
     
+    private Scheduler scheduler;
+    
+    @Before
+    public void setUp() {
+        scheduler = new Scheduler(4);
+    }
+    
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+    
     @Test
     public void testInitialize() {
         //check manually for random numbers:
@@ -43,6 +57,7 @@ public class PopulationTest {
         Randomizer randomizer = new Randomizer(generator);
         
         Population population = new Population(populationSize, numberOfParameters, js);
+        population.setScheduler(scheduler);
         ProblemConfiguration problemConfig = new ProblemConfiguration(Problem.ONEMAX);
         ExecutionConfiguration execConfig = new ExecutionConfiguration(4, -1, -1, false, -1, .0001);
         JobConfiguration jobConfig = new JobConfiguration(null, execConfig, problemConfig);
@@ -66,6 +81,41 @@ public class PopulationTest {
         }
     }
     
+    @Test
+    public void testInitializeFrom(){
+        JobState js = new JobState();
+        boolean[][] pop = {
+            {true, true, true, false},
+            {false, true, false, false}
+        };
+        //The objective values of the carried solutions are deliberately off, showing that they are not evaluated again.
+        double[] objectiveValues = {10, 20};
+        Population previous = new Population(pop, objectiveValues, new double[2], new JobState());
+        
+        NotRandom generator = new NotRandom();
+        boolean[] popSequence = {
+            true, true, true, true,
+            true, false, false, true
+        };
+        generator.setSequence(popSequence);
+        
+        Population population = new Population(4, 4, js);
+        population.setScheduler(scheduler);
+        ExecutionConfiguration execConfig = new ExecutionConfiguration(4, -1, -1, false, -1, .0001);
+        population.initializeFrom(previous, new JobConfiguration(null, execConfig, new ProblemConfiguration(Problem.ONEMAX)), new Randomizer(generator));
+        
+        //Only the added solutions are evaluated.
+        assertEquals(2, js.getNumberOfEvaluations());
+        assertTrue(Arrays.equals(pop[0], population.getPopulation()[0]));
+        assertTrue(Arrays.equals(pop[1], population.getPopulation()[1]));
+        assertEquals(10, population.getObjectiveValue(0), .0001);
+        assertEquals(20, population.getObjectiveValue(1), .0001);
+        assertTrue(Arrays.equals(new boolean[]{true, true, true, true}, population.getPopulation()[2]));
+        assertTrue(Arrays.equals(new boolean[]{true, false, false, true}, population.getPopulation()[3]));
+        assertEquals(4, population.getObjectiveValue(2), .0001);
+        assertEquals(2, population.getObjectiveValue(3), .0001);
+    }
+    
     @Test
     public void testBestSoFar(){
         //perform tests with known population
@@ -82,6 +132,7 @@ public class PopulationTest {
         
         //Check with no previously best solution
         Population population = new Population(pop, objectiveValues, constraintValues, js);
+        population.setScheduler(scheduler);
         js.incrementNumberOfGenerations();
         
         Solution best = population.determineBestSoFar(null);
@@ -119,6 +170,7 @@ public class PopulationTest {
         
         //Test for fresh job (first evaluation):
         population = new Population(pop, objectiveValues, constraintValues, new JobState());
+        population.setScheduler(scheduler);
         best = population.determineBestSoFar(betterSol);
         assertNotNull(best);
         assertEquals(4, best.getObjectiveValue(), .001);
@@ -145,6 +197,7 @@ public class PopulationTest {
         Randomizer randomizer = new Randomizer(generator);
         
         Population population = new Population(populationSize, numberOfParameters, js);
+        population.setScheduler(scheduler);
         ProblemConfiguration problemConfig = new ProblemConfiguration(Problem.ONEMAX);
         ExecutionConfiguration execConfig = new ExecutionConfiguration(4, -1, -1, false, -1, .0001);
         JobConfiguration jobConfig = new JobConfiguration(null, execConfig, problemConfig);
@@ -255,6 +308,7 @@ public class PopulationTest {
         Randomizer randomizer = new Randomizer(generator);
         
         Population population = new Population(populationSize, numberOfParameters, js);
+        population.setScheduler(scheduler);
         ProblemConfiguration problemConfig = new ProblemConfiguration(Problem.ONEMAX);
         ExecutionConfiguration execConfig = new ExecutionConfiguration(4, -1, -1, false, -1, .0001);
         JobConfiguration jobConfig = new JobConfiguration(null, execConfig, problemConfig);
@@ -283,10 +337,61 @@ public class PopulationTest {
         assertEquals(fakeBest.getConstraintValue(), offspring.getConstraintValue(), .0001);
     }
     
+    @Test
+    public void testThreadIndependence(){
+        ProblemConfiguration problemConfig = new ProblemConfiguration(Problem.DECEPTIVE_TRAP_4_TIGHT_ENCODING);
+        boolean[][] expected = null;
+        double[] expectedObjectiveValues = null;
+        for(int threads : new int[]{1, 2, 4}){
+            JobState js = new JobState();
+            ExecutionConfiguration execConfig = new ExecutionConfiguration(threads, 10, -1, false, -1, .0001);
+            JobConfiguration jobConfig = new JobConfiguration(null, execConfig, problemConfig);
+            Randomizer randomizer = new Randomizer(1234);
+            
+            Population population = new Population(60, 20, js);
+            population.setScheduler(scheduler);
+            population.initialize(jobConfig, randomizer);
+            Solution bestSoFar = population.determineBestSoFar(null);
+            for(int generation = 0; generation < 3; generation++){
+                LinkageTree lt = new LinkageTree(population, jobConfig, randomizer, execConfig);
+                population = population.makeOffspring(bestSoFar, jobConfig, lt, randomizer);
+                bestSoFar = population.determineBestSoFar(bestSoFar);
+                js.incrementNumberOfGenerations();
+            }
+            
+            double[] objectiveValues = new double[population.getPopulationSize()];
+            for(int i = 0; i < objectiveValues.length; i++){
+                objectiveValues[i] = population.getObjectiveValue(i);
+            }
+            if(expected == null){
+                expected = population.getPopulation();
+                expectedObjectiveValues = objectiveValues;
+            } else {
+                boolean[][] pop = population.getPopulation();
+                for(int i = 0; i < expected.length; i++){
+                    assertTrue("Solution " + i + " differs for " + threads + " threads.", Arrays.equals(expected[i], pop[i]));
+                }
+                assertTrue(Arrays.equals(expectedObjectiveValues, objectiveValues));
+            }
+        }
+    }
+    
     @Test
     public void testShuffle(){
         Randomizer randomizer = new Randomizer(42);
         int[] order = randomizer.getRandomOrder(10);
-        assertTrue(Arrays.equals(order, new int[]{4, 6, 2, 1, 7, 9, 8, 5, 3, 0}));
+        assertTrue(Arrays.equals(order, new int[]{9, 1, 4, 2, 8, 7, 6, 5, 3, 0}));
+    }
+    
+    @Test
+    public void testNoScheduler() {
+        //A population does not create a Scheduler of its own, as nothing would shut it down.
+        Population population = new Population(4, 4, new JobState());
+        try {
+            population.getScheduler();
+            fail("A population without Scheduler should not provide one.");
+        } catch (IllegalStateException e) {
+            //expected
+        }
     }
 }
@@ -0,0 +1,34 @@
+package com.rdebokx.ltga.parallel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.Test;
+
+public class SchedulerTest {
+    
+    @Test
+    public void testForEach() {
+        Scheduler scheduler = new Scheduler(4);
+        assertEquals(4, scheduler.getThreads());
+        
+        for(int size : new int[]{0, 1, 7, 1000}){
+            for(int workers : new int[]{1, 3, 8}){
+                AtomicIntegerArray visits = new AtomicIntegerArray(Math.max(size, 1));
+                scheduler.forEach(workers, size, (worker, from, to) -> {
+                    assertTrue(worker >= 0 && worker < workers);
+                    assertTrue(from < to && to <= size);
+                    for(int i = from; i < to; i++){
+                        visits.incrementAndGet(i);
+                    }
+                });
+                for(int i = 0; i < size; i++){
+                    assertEquals(1, visits.get(i));
+                }
+            }
+        }
+        scheduler.shutdown();
+    }
+}
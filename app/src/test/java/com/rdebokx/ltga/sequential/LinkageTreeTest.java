@@ -3,9 +3,12 @@ package com.rdebokx.ltga.sequential;
 import static org.junit.Assert.assertEquals;
 
 import java.util.ArrayList;
+import java.util.Random;
 
 import com.rdebokx.ltga.config.ExecutionConfiguration;
+import com.rdebokx.ltga.config.LearningConfiguration;
 import com.rdebokx.ltga.shared.JobState;
+import com.rdebokx.ltga.shared.MIMatrix.Storage;
 import com.rdebokx.ltga.shared.NotRandom;
 import com.rdebokx.ltga.shared.ParameterSet;
 import com.rdebokx.ltga.shared.Randomizer;
@@ -256,4 +259,24 @@ public class LinkageTreeTest {
         
         assertEquals(oldMatrix, matrix);
     }
+    
+    @Test
+    public void testPackedStorage(){
+        ExecutionConfiguration execConfig = new ExecutionConfiguration(1, -1, -1, false, -1, -1);
+        Random random = new Random(42);
+        boolean[][] pop = new boolean[50][40];
+        for(boolean[] solution : pop){
+            for(int i = 0; i < solution.length; i++){
+                solution[i] = random.nextBoolean();
+            }
+        }
+        Population population = new Population(pop, new double[]{}, new double[]{}, new JobState());
+        
+        LinkageTree expected = new LinkageTree(population, new Randomizer(7), execConfig);
+        LinkageTree packed = new LinkageTree(population, new Randomizer(7), execConfig, new LearningConfiguration(Storage.PACKED_DOUBLE));
+        assertEquals(expected.toString(), packed.toString());
+        
+        LinkageTree packedFloat = new LinkageTree(population, new Randomizer(7), execConfig, new LearningConfiguration(Storage.PACKED_FLOAT));
+        assertEquals(2 * 40 - 2, packedFloat.size());
+    }
 }
@@ -1,7 +1,12 @@
 package com.rdebokx.ltga.sequential;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Random;
+
 import com.rdebokx.ltga.shared.JobState;
+import com.rdebokx.ltga.shared.MIMatrix.Storage;
 import com.rdebokx.ltga.shared.ParameterSet;
 import com.rdebokx.ltga.shared.Randomizer;
 
@@ -122,5 +127,43 @@ public class MIMatrixTest {
         assertEquals(mi21, matrix.get(2, 1), .0001);
         assertEquals(mi22, matrix.get(2, 2), .0001);
     }
+    
+    @Test
+    public void testPackedStorage(){
+        final int numberOfParameters = 20;
+        Random random = new Random(42);
+        boolean[][] pop = new boolean[30][numberOfParameters];
+        for(boolean[] solution : pop){
+            for(int i = 0; i < numberOfParameters; i++){
+                solution[i] = random.nextBoolean();
+            }
+        }
+        Population population = new Population(pop, new double[]{}, new double[]{}, new JobState());
+        ParameterSet[] mpm = new ParameterSet[numberOfParameters];
+        for(int i = 0; i < numberOfParameters; i++){
+            mpm[i] = new ParameterSet(i, i);
+        }
+        
+        MIMatrix full = new MIMatrix(mpm, population);
+        MIMatrix packed = new MIMatrix(mpm, population, Storage.PACKED_DOUBLE);
+        MIMatrix packedFloat = new MIMatrix(mpm, population, Storage.PACKED_FLOAT);
+        assertEquals(full, packed);
+        for(int i = 0; i < numberOfParameters; i++){
+            for(int j = 0; j < numberOfParameters; j++){
+                assertEquals(full.get(i, j), packedFloat.get(i, j), .00001);
+            }
+        }
+        
+        full.updateSMatrix(mpm[3], mpm[5]);
+        packed.updateSMatrix(mpm[3], mpm[5]);
+        assertEquals(full, packed);
+        
+        MIMatrix clone = packed.clone();
+        assertEquals(Storage.PACKED_DOUBLE, clone.getStorage());
+        assertEquals(packed, clone);
+        clone.set(4, 2, -1);
+        assertEquals(-1, clone.get(2, 4), 0);
+        assertFalse(packed.equals(clone));
+    }
 
 }
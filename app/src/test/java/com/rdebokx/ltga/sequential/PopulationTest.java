@@ -5,6 +5,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 
 import com.rdebokx.ltga.config.ExecutionConfiguration;
@@ -62,6 +63,40 @@ public class PopulationTest {
         }
     }
     
+    @Test
+    public void testInitializeFrom(){
+        JobState js = new JobState();
+        boolean[][] pop = {
+            {true, true, true, false},
+            {false, true, false, false}
+        };
+        //The objective values of the carried solutions are deliberately off, showing that they are not evaluated again.
+        double[] objectiveValues = {10, 20};
+        Population previous = new Population(pop, objectiveValues, new double[2], new JobState());
+        
+        NotRandom generator = new NotRandom();
+        boolean[] popSequence = {
+            true, true, true, true,
+            true, false, false, true
+        };
+        generator.setSequence(popSequence);
+        
+        Population population = new Population(4, 4, js);
+        ExecutionConfiguration execConfig = new ExecutionConfiguration(1, -1, -1, false, -1, .0001);
+        population.initializeFrom(previous, new JobConfiguration(null, execConfig, new ProblemConfiguration(Problem.ONEMAX)), new Randomizer(generator));
+        
+        //Only the added solutions are evaluated.
+        assertEquals(2, js.getNumberOfEvaluations());
+        assertTrue(Arrays.equals(pop[0], population.getPopulation()[0]));
+        assertTrue(Arrays.equals(pop[1], population.getPopulation()[1]));
+        assertEquals(10, population.getObjectiveValue(0), .0001);
+        assertEquals(20, population.getObjectiveValue(1), .0001);
+        assertTrue(Arrays.equals(new boolean[]{true, true, true, true}, population.getPopulation()[2]));
+        assertTrue(Arrays.equals(new boolean[]{true, false, false, true}, population.getPopulation()[3]));
+        assertEquals(4, population.getObjectiveValue(2), .0001);
+        assertEquals(2, population.getObjectiveValue(3), .0001);
+    }
+    
     @Test
     public void testBestSoFar(){
         //perform tests with known population
@@ -121,4 +156,31 @@ public class PopulationTest {
         assertEquals(0, best.getConstraintValue(), .001);
         assertTrue(Arrays.equals(new boolean[]{true, true, true, true}, best.getSolution()));
     }
+    
+    @Test
+    public void testCancelledOffspring(){
+        JobState js = new JobState();
+        boolean[][] pop = {
+            {true, true, true, false},
+            {true, true, true, true},
+            {false, true, false, false},
+            {false, true, true, true}
+        };
+        double[] objectiveValues = {3, 4, 2, 3};
+        double[] constraintValues = {0, 0, 0, 0};
+        Population population = new Population(pop, objectiveValues, constraintValues, js);
+        ExecutionConfiguration execConfig = new ExecutionConfiguration(1, -1, -1, false, -1, .0001);
+        JobConfiguration jobConfig = new JobConfiguration(null, execConfig, new ProblemConfiguration(Problem.ONEMAX));
+        ArrayList<ParameterSet> tree = new ArrayList<ParameterSet>();
+        tree.add(new ParameterSet(-1, 0));
+        
+        //A cancelled job carries all solutions over unaltered, without evaluating anything.
+        js.cancel();
+        Population offspring = population.makeOffspring(population.determineBestSoFar(null), jobConfig, new LinkageTree(tree), new Randomizer(42));
+        assertEquals(0, js.getNumberOfEvaluations());
+        for(int i = 0; i < pop.length; i++){
+            assertTrue(Arrays.equals(pop[i], offspring.getPopulation()[i]));
+            assertEquals(objectiveValues[i], offspring.getObjectiveValue(i), .0001);
+        }
+    }
 }
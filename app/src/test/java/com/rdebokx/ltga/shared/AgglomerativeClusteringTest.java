@@ -0,0 +1,101 @@
+package com.rdebokx.ltga.shared;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import com.rdebokx.ltga.sequential.MIMatrix;
+
+import org.junit.Test;
+
+public class AgglomerativeClusteringTest {
+
+    @Test
+    public void testMerge() {
+        final int numberOfParameters = 4;
+        ParameterSet[] mpm = new ParameterSet[numberOfParameters];
+        MIMatrix matrix = new MIMatrix(numberOfParameters);
+        for(int i = 0; i < numberOfParameters; i++){
+            mpm[i] = new ParameterSet(i, i);
+            for(int j = i; j < numberOfParameters; j++){
+                matrix.setSymmetric(i, j, 10 * i + j);
+            }
+        }
+        ParameterSet last = mpm[3];
+        ParameterSet newSet = new ParameterSet(-1, mpm[0], mpm[1]);
+
+        int activeClusters = AgglomerativeClustering.merge(mpm, numberOfParameters, matrix, mpm[0], mpm[1], newSet);
+
+        //The merged set replaces r0, the last set is swapped into the position of r1.
+        assertEquals(3, activeClusters);
+        assertSame(newSet, mpm[0]);
+        assertEquals(0, newSet.getIndex());
+        assertSame(last, mpm[1]);
+        assertEquals(1, last.getIndex());
+        assertNull(mpm[3]);
+        assertEquals(3, matrix.get(0, 1), .0001);
+        assertEquals(23, matrix.get(1, 2), .0001);
+        assertEquals(33, matrix.get(1, 1), .0001);
+
+        //Merging with the last active set does not move any set.
+        newSet = new ParameterSet(-1, mpm[1], mpm[2]);
+        activeClusters = AgglomerativeClustering.merge(mpm, activeClusters, matrix, mpm[1], mpm[2], newSet);
+        assertEquals(2, activeClusters);
+        assertSame(newSet, mpm[1]);
+        assertEquals(1, newSet.getIndex());
+        assertNull(mpm[2]);
+    }
+
+    @Test
+    public void testLearnLinkageTree() {
+        final int numberOfParameters = 30;
+        Random random = new Random(42);
+        ParameterSet[] mpm = new ParameterSet[numberOfParameters];
+        MIMatrix matrix = new MIMatrix(numberOfParameters);
+        for(int i = 0; i < numberOfParameters; i++){
+            mpm[i] = new ParameterSet(i, i);
+            for(int j = i + 1; j < numberOfParameters; j++){
+                matrix.setSymmetric(i, j, random.nextDouble());
+            }
+        }
+
+        ArrayList<ParameterSet> tree = AgglomerativeClustering.learnLinkageTree(numberOfParameters, matrix, mpm, new Randomizer(7), false);
+
+        //All singletons and all merged sets except for the full set.
+        assertEquals(2 * numberOfParameters - 2, tree.size());
+        for(int i = 0; i < numberOfParameters; i++){
+            assertEquals(1, tree.get(i).size());
+        }
+        //Every merged set is the union of two disjoint sets that occur earlier in the tree.
+        for(int i = numberOfParameters; i < tree.size(); i++){
+            ParameterSet merged = tree.get(i);
+            int children = 0;
+            int covered = 0;
+            for(int j = 0; j < i; j++){
+                if(merged.containsAll(tree.get(j)) && !containedByLaterSubset(tree, j, i)){
+                    children++;
+                    covered += tree.get(j).size();
+                }
+            }
+            assertEquals(2, children);
+            assertEquals(merged.size(), covered);
+        }
+        //The single remaining active set is the full set.
+        assertEquals(numberOfParameters, mpm[0].size());
+    }
+
+    /**
+     * @return True iff the set at index j is contained by a set of the tree between j and i, that is contained by the set at index i.
+     */
+    private static boolean containedByLaterSubset(ArrayList<ParameterSet> tree, int j, int i){
+        for(int k = j + 1; k < i; k++){
+            if(tree.get(k).size() > tree.get(j).size() && tree.get(k).containsAll(tree.get(j)) && tree.get(i).containsAll(tree.get(k))){
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,102 @@
+package com.rdebokx.ltga.shared;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import com.rdebokx.ltga.config.LearningConfiguration;
+import com.rdebokx.ltga.config.LearningConfiguration.DriftMeasure;
+import com.rdebokx.ltga.config.LearningConfiguration.LinkageStatistics;
+import com.rdebokx.ltga.sequential.Population;
+
+import org.junit.Test;
+
+public class BitColumnsTest {
+    
+    @Test
+    public void testJointEntropy() {
+        Random random = new Random(42);
+        int populationSize = 150;
+        int numberOfParameters = 70;
+        boolean[][] pop = new boolean[populationSize][numberOfParameters];
+        for(int k = 0; k < populationSize; k++){
+            for(int i = 0; i < numberOfParameters; i++){
+                pop[k][i] = random.nextInt(4) == 0;
+            }
+        }
+        Population population = new Population(pop, new double[]{}, new double[]{}, new JobState());
+        
+        BitColumns columns = new BitColumns(population);
+        assertEquals(populationSize, columns.getPopulationSize());
+        for(int i = 0; i < numberOfParameters; i++){
+            for(int j = i; j < numberOfParameters; j++){
+                Distribution dist = new Distribution(population, i, j);
+                assertEquals(dist.getFrequencies()[1][1], columns.getJointOnes(i, j));
+                assertEquals(dist.getJointEntropy(), columns.getJointEntropy(i, j), 0);
+                assertEquals(dist.getJointEntropy(), columns.getJointEntropy(j, i), .000000000001);
+            }
+        }
+    }
+    
+    @Test
+    public void testEntropyTable() {
+        double[] table = BitColumns.getEntropyTable(4);
+        assertEquals(5, table.length);
+        assertEquals(0, table[0], 0);
+        assertEquals(0, table[4], 0);
+        assertEquals(.5, table[2], .000001);
+    }
+    
+    @Test
+    public void testSample() {
+        //Individual k only has value 1 for parameter k, such that the ones of a sample show which individuals it holds.
+        int populationSize = 40;
+        boolean[][] pop = new boolean[populationSize][populationSize];
+        for(int k = 0; k < populationSize; k++){
+            pop[k][k] = true;
+        }
+        Population population = new Population(pop, new double[]{}, new double[]{}, new JobState());
+        
+        Randomizer randomizer = new Randomizer(3);
+        int[] selected = new int[populationSize];
+        int samples = 2000;
+        for(int s = 0; s < samples; s++){
+            BitColumns sample = BitColumns.sample(population, 10, randomizer);
+            assertEquals(10, sample.getPopulationSize());
+            int sampled = 0;
+            for(int k = 0; k < populationSize; k++){
+                assertTrue(sample.getOnes(k) <= 1);
+                sampled += sample.getOnes(k);
+                selected[k] += sample.getOnes(k);
+            }
+            assertEquals(10, sampled);
+        }
+        //Every individual is sampled with probability 10 / 40.
+        for(int k = 0; k < populationSize; k++){
+            assertEquals(.25, selected[k] / (samples * 1.0), .05);
+        }
+        
+        //A sample that is not smaller than the population holds the whole population.
+        BitColumns whole = BitColumns.sample(population, populationSize, randomizer);
+        assertEquals(populationSize, whole.getPopulationSize());
+        for(int k = 0; k < populationSize; k++){
+            assertEquals(1, whole.getOnes(k));
+        }
+    }
+    
+    @Test
+    public void testSampleSize() {
+        //ceil(ln(2 * 4 * 100^2 / .05) / (2 * .05^2))
+        assertEquals(2858, BitColumns.getSampleSize(100, .05));
+        assertTrue(BitColumns.getSampleSize(100, .01) > BitColumns.getSampleSize(100, .05));
+        assertTrue(BitColumns.getSampleSize(1000, .05) < 2 * BitColumns.getSampleSize(100, .05));
+        
+        boolean[][] pop = new boolean[3000][100];
+        Population population = new Population(pop, new double[]{}, new double[]{}, new JobState());
+        assertEquals(3000, BitColumns.forLearning(population, LearningConfiguration.DEFAULT, new Randomizer(1)).getPopulationSize());
+        LearningConfiguration learningConfig = new LearningConfiguration(MIMatrix.Storage.FULL, LinkageStatistics.REBUILD,
+                DriftMeasure.UNIVARIATE_FREQUENCY, LearningConfiguration.NO_REUSE, 1, .05);
+        assertEquals(2858, BitColumns.forLearning(population, learningConfig, new Randomizer(1)).getPopulationSize());
+    }
+}
@@ -0,0 +1,62 @@
+package com.rdebokx.ltga.shared;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class BitStringTest {
+
+    @Test
+    public void testPackAndUnpack(){
+        assertEquals(0, BitString.numberOfWords(0));
+        assertEquals(1, BitString.numberOfWords(1));
+        assertEquals(1, BitString.numberOfWords(64));
+        assertEquals(2, BitString.numberOfWords(65));
+
+        boolean[] bits = new boolean[70];
+        bits[0] = true;
+        bits[3] = true;
+        bits[63] = true;
+        bits[64] = true;
+        bits[69] = true;
+
+        long[] packed = BitString.pack(bits);
+        assertEquals(2, packed.length);
+        assertEquals(0x8000000000000009L, packed[0]);
+        assertEquals(0x21L, packed[1]);
+        assertTrue(Arrays.equals(bits, BitString.unpack(packed, bits.length)));
+        assertEquals(5, BitString.cardinality(packed));
+    }
+
+    @Test
+    public void testBitOperations(){
+        long[] words = new long[2];
+        BitString.set(words, 65, true);
+        assertTrue(BitString.get(words, 65));
+        assertFalse(BitString.get(words, 1));
+
+        BitString.flip(words, 65);
+        BitString.flip(words, 1);
+        assertArrayEquals(new long[]{2, 0}, words);
+
+        BitString.set(words, 1, false);
+        assertArrayEquals(new long[]{0, 0}, words);
+
+        long[] source = new long[]{-1L, -1L};
+        BitString.copyBit(source, words, 70);
+        assertArrayEquals(new long[]{0, 1L << 6}, words);
+
+        BitString.copyMasked(source, words, 0, 0xF0L);
+        assertArrayEquals(new long[]{0xF0L, 1L << 6}, words);
+        assertTrue(BitString.equalsMasked(source, words, 0, 0xF0L));
+        assertFalse(BitString.equalsMasked(source, words, 0, 0x1F0L));
+        assertFalse(BitString.equals(source, words));
+
+        assertEquals("0000111100", BitString.toString(words, 10));
+    }
+}
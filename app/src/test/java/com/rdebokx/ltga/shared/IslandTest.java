@@ -0,0 +1,92 @@
+package com.rdebokx.ltga.shared;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.rdebokx.ltga.config.ExecutionConfiguration;
+import com.rdebokx.ltga.config.GeneticConfiguration;
+import com.rdebokx.ltga.config.JobConfiguration;
+import com.rdebokx.ltga.config.LearningConfiguration;
+import com.rdebokx.ltga.config.ParallelConfiguration;
+import com.rdebokx.ltga.config.problems.ProblemConfiguration;
+import com.rdebokx.ltga.parallel.EPJobRunner;
+import com.rdebokx.ltga.sequential.Population;
+
+import org.junit.Test;
+
+public class IslandTest {
+
+    @Test
+    public void testMailbox() {
+        Mailbox mailbox = new Mailbox(2);
+        Solution a = new Solution(new boolean[]{true}, 1, 0);
+        Solution b = new Solution(new boolean[]{false}, 0, 0);
+        assertTrue(mailbox.offer(a));
+        assertTrue(mailbox.offer(b));
+        assertFalse(mailbox.offer(a));
+        assertEquals(2, mailbox.size());
+        assertEquals(a, mailbox.poll());
+        assertEquals(b, mailbox.poll());
+        assertNull(mailbox.poll());
+        assertEquals(0, mailbox.size());
+    }
+
+    @Test
+    public void testRingMigration() {
+        ParallelConfiguration config = new ParallelConfiguration(ParallelConfiguration.Mode.GENERATIONAL, 
+                ParallelConfiguration.Topology.RING, 2, 1, ParallelConfiguration.MigrantSelection.BEST);
+        Island[] islands = Island.createIslands(2, config, new Randomizer(42));
+        
+        Population first = new Population(new boolean[][]{{true, true, false}, {true, false, false}, {true, true, true}}, 
+                new double[]{2, 1, 3}, new double[3], new JobState());
+        Population second = new Population(new boolean[][]{{false, false, false}, {false, true, false}, {false, false, true}}, 
+                new double[]{0, 1, 1}, new double[3], new JobState());
+        
+        //No migrants are sent outside of the migration interval.
+        islands[0].migrate(first, 1);
+        assertEquals(0, islands[1].getMailbox().size());
+        
+        //The best solution of the first island replaces the worst solution of the second island.
+        islands[0].migrate(first, 2);
+        assertEquals(1, islands[1].getMailbox().size());
+        assertEquals(0, islands[0].getMailbox().size());
+        islands[1].migrate(second, 1);
+        assertEquals(0, islands[1].getMailbox().size());
+        assertEquals(3, second.getObjectiveValue(0), .0001);
+        assertTrue(second.get(0).getSolution()[0] && second.get(0).getSolution()[1] && second.get(0).getSolution()[2]);
+        assertEquals(1, second.getObjectiveValue(1), .0001);
+        assertEquals(1, second.getObjectiveValue(2), .0001);
+        
+        //The migrant is a copy, which is not altered when the population of the first island changes.
+        first.getPackedPopulation()[2][0] = 0;
+        assertEquals(7, second.getPackedPopulation()[0][0]);
+    }
+
+    @Test
+    public void testReplaceWorstOnlyWhenBetter() {
+        Population population = new Population(new boolean[][]{{true, true}, {true, false}}, 
+                new double[]{2, 1}, new double[2], new JobState());
+        assertFalse(population.replaceWorst(new Solution(new boolean[]{false, false}, 0, 0)));
+        assertEquals(1, population.getObjectiveValue(1), .0001);
+        assertTrue(population.replaceWorst(new Solution(new boolean[]{true, true}, 2, 0)));
+        assertEquals(2, population.getObjectiveValue(1), .0001);
+    }
+
+    @Test
+    public void testIslandModel() {
+        int numberOfParameters = 40;
+        GeneticConfiguration genConfig = new GeneticConfiguration(20, 2, 20, numberOfParameters);
+        ExecutionConfiguration execConfig = new ExecutionConfiguration(4, -1, 200000, true, numberOfParameters, -1);
+        ParallelConfiguration parallelConfig = new ParallelConfiguration(ParallelConfiguration.Mode.GENERATIONAL, 
+                ParallelConfiguration.Topology.FULL, 1, 2, ParallelConfiguration.MigrantSelection.BEST);
+        JobConfiguration config = new JobConfiguration(genConfig, execConfig, 
+                new ProblemConfiguration(Problem.ONEMAX), 
+                LearningConfiguration.DEFAULT, parallelConfig);
+        
+        EPJobRunner runner = new EPJobRunner(config, false, null, 42);
+        runner.run();
+        assertEquals(numberOfParameters, runner.getBestFound().getObjectiveValue(), .0001);
+    }
+}
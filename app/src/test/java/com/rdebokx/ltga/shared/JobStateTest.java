@@ -0,0 +1,35 @@
+package com.rdebokx.ltga.shared;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class JobStateTest {
+
+    @Test
+    public void testConcurrentEvaluations() throws InterruptedException {
+        JobState jobState = new JobState();
+        Thread[] threads = new Thread[4];
+        for(int t = 0; t < threads.length; t++){
+            threads[t] = new Thread(() -> {
+                for(int i = 0; i < 100000; i++){
+                    jobState.incrementNumberOfEvaluations();
+                }
+            });
+            threads[t].start();
+        }
+        for(Thread thread : threads){
+            thread.join();
+        }
+        assertEquals(400000, jobState.getNumberOfEvaluations());
+    }
+
+    @Test
+    public void testLargeNumberOfEvaluations() {
+        JobState jobState = new JobState();
+        jobState.incrementNumberOfEvaluations(Integer.MAX_VALUE);
+        jobState.incrementNumberOfEvaluations(Integer.MAX_VALUE);
+        jobState.incrementNumberOfEvaluations();
+        assertEquals(2L * Integer.MAX_VALUE + 1, jobState.getNumberOfEvaluations());
+    }
+}
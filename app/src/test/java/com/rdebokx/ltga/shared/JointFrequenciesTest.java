@@ -0,0 +1,84 @@
+package com.rdebokx.ltga.shared;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import com.rdebokx.ltga.sequential.Population;
+
+import org.junit.Test;
+
+public class JointFrequenciesTest {
+
+    @Test
+    public void testUpdate() {
+        Random random = new Random(42);
+        int populationSize = 90;
+        int numberOfParameters = 150;
+        Population population = new Population(getRandomPopulation(random, populationSize, numberOfParameters), new double[]{}, new double[]{}, new JobState());
+        JointFrequencies frequencies = new JointFrequencies(population);
+
+        for(int generation = 0; generation < 5; generation++){
+            //Flip a few bits of some solutions, such that some solutions have several changed bits in the same word. In
+            //the last generation, so many bits are flipped that the frequencies are recounted.
+            long changedBits = 0;
+            for(long[] solution : population.getPackedPopulation()){
+                long[] parent = solution.clone();
+                int flips = generation == 4 ? random.nextInt(6) : (random.nextInt(10) == 0 ? 1 + random.nextInt(4) : 0);
+                for(; flips > 0; flips--){
+                    BitString.flip(solution, random.nextInt(numberOfParameters));
+                }
+                for(int w = 0; w < solution.length; w++){
+                    changedBits += Long.bitCount(parent[w] ^ solution[w]);
+                }
+            }
+
+            assertEquals(generation == 4, changedBits * JointFrequencies.RECOUNT_RATIO > populationSize * numberOfParameters);
+            assertEquals(changedBits, frequencies.update(population));
+            frequencies.verify(population);
+
+            BitColumns columns = new BitColumns(population);
+            for(int i = 0; i < numberOfParameters; i++){
+                assertEquals(columns.getOnes(i), frequencies.getOnes(i));
+                for(int j = i; j < numberOfParameters; j++){
+                    assertEquals(columns.getJointOnes(i, j), frequencies.getJointOnes(j, i));
+                    assertEquals(columns.getJointEntropy(i, j), frequencies.getJointEntropy(i, j), .000000000001);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testVerify() {
+        Random random = new Random(7);
+        Population population = new Population(getRandomPopulation(random, 20, 30), new double[]{}, new double[]{}, new JobState());
+        JointFrequencies frequencies = new JointFrequencies(population);
+        frequencies.verify(population);
+
+        //Altering the population without updating the frequencies is detected.
+        BitString.flip(population.getPackedPopulation()[3], 12);
+        try {
+            frequencies.verify(population);
+            fail("The frequencies should not match the altered population.");
+        } catch (IllegalStateException e) {
+            //expected
+        }
+
+        frequencies.update(population);
+        frequencies.verify(population);
+    }
+
+    /**
+     * @return A random population of the given size.
+     */
+    private static boolean[][] getRandomPopulation(Random random, int populationSize, int numberOfParameters){
+        boolean[][] pop = new boolean[populationSize][numberOfParameters];
+        for(int k = 0; k < populationSize; k++){
+            for(int i = 0; i < numberOfParameters; i++){
+                pop[k][i] = random.nextInt(3) == 0;
+            }
+        }
+        return pop;
+    }
+}
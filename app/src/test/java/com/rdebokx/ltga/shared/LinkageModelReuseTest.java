@@ -0,0 +1,95 @@
+package com.rdebokx.ltga.shared;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import com.rdebokx.ltga.config.LearningConfiguration;
+import com.rdebokx.ltga.config.LearningConfiguration.DriftMeasure;
+import com.rdebokx.ltga.config.LearningConfiguration.LinkageStatistics;
+import com.rdebokx.ltga.sequential.Population;
+
+import org.junit.Test;
+
+public class LinkageModelReuseTest {
+
+    @Test
+    public void testMaxModelAge() {
+        Population population = getRandomPopulation(new Random(42), 20, 10);
+        LinkageModelReuse reuse = new LinkageModelReuse(new LearningConfiguration(MIMatrix.Storage.FULL, LinkageStatistics.REBUILD,
+                DriftMeasure.UNIVARIATE_FREQUENCY, .1, 3));
+
+        //An unchanged population reuses the model until it has been used for 3 generations.
+        LearningModel first = reuse.getModel(population, () -> new LearningModel(new ArrayList<ParameterSet>()));
+        assertSame(first, reuse.getModel(population, () -> new LearningModel(new ArrayList<ParameterSet>())));
+        assertSame(first, reuse.getModel(population, () -> new LearningModel(new ArrayList<ParameterSet>())));
+        LearningModel second = reuse.getModel(population, () -> new LearningModel(new ArrayList<ParameterSet>()));
+        assertNotSame(first, second);
+        assertSame(second, reuse.getModel(population, () -> new LearningModel(new ArrayList<ParameterSet>())));
+        assertEquals(3, reuse.getNumberOfReuses());
+    }
+
+    @Test
+    public void testUnivariateFrequency() {
+        Population population = getRandomPopulation(new Random(42), 20, 10);
+        long[][] solutions = population.getPackedPopulation();
+        for(long[] solution : solutions){
+            BitString.set(solution, 3, false);
+        }
+        LinkageModelReuse reuse = new LinkageModelReuse(new LearningConfiguration(MIMatrix.Storage.FULL, LinkageStatistics.REBUILD,
+                DriftMeasure.UNIVARIATE_FREQUENCY, .1, 10));
+        LearningModel first = reuse.getModel(population, () -> new LearningModel(new ArrayList<ParameterSet>()));
+
+        //Setting parameter 3 in one individual changes its frequency by .05.
+        BitString.set(solutions[0], 3, true);
+        assertEquals(.05, reuse.getDrift(population), .0001);
+        assertSame(first, reuse.getModel(population, () -> new LearningModel(new ArrayList<ParameterSet>())));
+
+        //The drift accumulates with respect to the population from which the model was learned.
+        BitString.set(solutions[1], 3, true);
+        assertEquals(.1, reuse.getDrift(population), .0001);
+        LearningModel second = reuse.getModel(population, () -> new LearningModel(new ArrayList<ParameterSet>()));
+        assertNotSame(first, second);
+        assertEquals(0, reuse.getDrift(population), 0);
+    }
+
+    @Test
+    public void testChangedIndividuals() {
+        Population population = getRandomPopulation(new Random(7), 20, 100);
+        LinkageModelReuse reuse = new LinkageModelReuse(new LearningConfiguration(MIMatrix.Storage.FULL, LinkageStatistics.REBUILD,
+                DriftMeasure.CHANGED_INDIVIDUALS, .2, 10));
+        LearningModel first = reuse.getModel(population, () -> new LearningModel(new ArrayList<ParameterSet>()));
+
+        //Changing 3 out of 20 individuals stays below the threshold, changing a fourth one does not.
+        long[][] solutions = population.getPackedPopulation();
+        for(int k = 0; k < 3; k++){
+            BitString.flip(solutions[k], 70);
+        }
+        assertEquals(.15, reuse.getDrift(population), .0001);
+        assertSame(first, reuse.getModel(population, () -> new LearningModel(new ArrayList<ParameterSet>())));
+        BitString.flip(solutions[3], 5);
+        assertEquals(.2, reuse.getDrift(population), .0001);
+        LearningModel second = reuse.getModel(population, () -> new LearningModel(new ArrayList<ParameterSet>()));
+        assertNotSame(first, second);
+        assertEquals(0, reuse.getDrift(population), 0);
+    }
+
+    /**
+     * @param random The random generator.
+     * @param populationSize The size of the population.
+     * @param numberOfParameters The number of parameters of every solution.
+     * @return A random population of the given size.
+     */
+    private static Population getRandomPopulation(Random random, int populationSize, int numberOfParameters){
+        boolean[][] pop = new boolean[populationSize][numberOfParameters];
+        for(int k = 0; k < populationSize; k++){
+            for(int i = 0; i < numberOfParameters; i++){
+                pop[k][i] = random.nextBoolean();
+            }
+        }
+        return new Population(pop, new double[]{}, new double[]{}, new JobState());
+    }
+}
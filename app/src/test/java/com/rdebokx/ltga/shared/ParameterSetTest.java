@@ -0,0 +1,90 @@
+package com.rdebokx.ltga.shared;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+
+import org.junit.Test;
+
+public class ParameterSetTest {
+
+    @Test
+    public void testConstructAndMerge(){
+        ParameterSet set1 = new ParameterSet(0, 70, 3);
+        assertArrayEquals(new int[]{3, 70}, set1.getParameters());
+        assertArrayEquals(new int[]{0, 1}, set1.getWordIndices());
+        assertArrayEquals(new long[]{1L << 3, 1L << 6}, set1.getWordMasks());
+
+        ArrayList<Integer> values = new ArrayList<Integer>();
+        values.add(5);
+        values.add(3);
+        values.add(5);
+        ParameterSet set2 = new ParameterSet(1, values);
+        assertArrayEquals(new int[]{3, 5}, set2.getParameters());
+
+        ParameterSet merged = new ParameterSet(-1, set1, set2);
+        assertArrayEquals(new int[]{3, 5, 70}, merged.getParameters());
+        assertArrayEquals(new long[]{(1L << 3) | (1L << 5), 1L << 6}, merged.getWordMasks());
+        assertEquals(-1, merged.getIndex());
+        assertEquals("[3, 5, 70]", merged.toString());
+        assertEquals(merged, ParameterSet.parse("[70, 5, 3]"));
+    }
+
+    @Test
+    public void testSetView(){
+        ParameterSet set = new ParameterSet(-1, 4);
+        assertTrue(set.add(2));
+        assertFalse(set.add(4));
+        assertTrue(set.contains(2));
+        assertFalse(set.contains(3));
+        assertArrayEquals(new int[]{2, 4}, set.getParameters());
+
+        HashSet<Integer> hashSet = new HashSet<Integer>();
+        hashSet.add(2);
+        hashSet.add(4);
+        assertEquals(hashSet, set);
+        assertEquals(set, hashSet);
+        assertEquals(hashSet.hashCode(), set.hashCode());
+
+        Iterator<Integer> iterator = set.iterator();
+        assertEquals(2, (int) iterator.next());
+        iterator.remove();
+        assertArrayEquals(new int[]{4}, set.getParameters());
+        assertArrayEquals(new long[]{1L << 4}, set.getWordMasks());
+
+        assertTrue(set.remove(4));
+        assertTrue(set.isEmpty());
+        assertEquals(0, set.getWordIndices().length);
+    }
+
+    @Test
+    public void testLayout(){
+        ArrayList<ParameterSet> tree = new ArrayList<ParameterSet>();
+        tree.add(new ParameterSet(-1, 1));
+        tree.add(new ParameterSet(-1, 0, 65));
+        LearningModel lm = new LearningModel(tree);
+
+        LearningModel.Layout layout = lm.getLayout();
+        assertEquals(2, layout.size());
+        assertArrayEquals(new int[]{0, 1, 3}, layout.getOffsets());
+        assertArrayEquals(new int[]{1, 0, 65}, layout.getParameters());
+        assertEquals(2, layout.getElementSize(1));
+
+        long[] source = new long[]{-1L, -1L};
+        long[] dest = new long[2];
+        assertTrue(layout.differs(1, source, dest));
+        layout.copy(1, source, dest);
+        assertArrayEquals(new long[]{1L, 2L}, dest);
+        assertFalse(layout.differs(1, source, dest));
+        assertTrue(layout.differs(0, source, dest));
+
+        //Changing the backing list should lead to a new layout.
+        tree.remove(0);
+        assertEquals(1, lm.getLayout().size());
+    }
+}
@@ -0,0 +1,78 @@
+package com.rdebokx.ltga.shared;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.rdebokx.ltga.config.ExecutionConfiguration;
+import com.rdebokx.ltga.config.GeneticConfiguration;
+import com.rdebokx.ltga.config.JobConfiguration;
+import com.rdebokx.ltga.config.LearningConfiguration;
+import com.rdebokx.ltga.config.ParallelConfiguration;
+import com.rdebokx.ltga.config.problems.ProblemConfiguration;
+import com.rdebokx.ltga.sequential.DynamicJobRunner;
+import com.rdebokx.ltga.sequential.SequentialJobRunner;
+
+import org.junit.Test;
+
+public class PopulationSizeLadderTest {
+
+    private static JobConfiguration getConfig(int threads, int maxEvaluations, boolean useValueToReach){
+        int numberOfParameters = 40;
+        GeneticConfiguration genConfig = new GeneticConfiguration(4, 2, 4, numberOfParameters);
+        ExecutionConfiguration execConfig = new ExecutionConfiguration(threads, -1, maxEvaluations, useValueToReach, 8, 0);
+        ParallelConfiguration parallelConfig = new ParallelConfiguration(ParallelConfiguration.Mode.GENERATIONAL, 
+                ParallelConfiguration.Topology.ISOLATED, 0, 0, ParallelConfiguration.MigrantSelection.BEST, 
+                ParallelConfiguration.AUTO_SPLIT, 4);
+        return new JobConfiguration(genConfig, execConfig, new ProblemConfiguration(Problem.DECEPTIVE_TRAP_5_TIGHT_ENCODING),
+                LearningConfiguration.DEFAULT, parallelConfig);
+    }
+
+    @Test
+    public void testSequentialLadder() {
+        DynamicJobRunner runner = new DynamicJobRunner(getConfig(2, 1000000, true), false, 42);
+        runner.run();
+        assertEquals(8, runner.getBestFound().getObjectiveValue(), .0001);
+        assertTrue(runner.getConfig().GENETIC_CONFIG.POPULATION_SIZE > 4);
+        assertTrue(runner.getJobState().getNumberOfEvaluations() > 0);
+    }
+
+    @Test
+    public void testParallelLadder() {
+        JobConfiguration config = getConfig(4, 1000000, true);
+        com.rdebokx.ltga.parallel.DynamicJobRunner runner = new com.rdebokx.ltga.parallel.DynamicJobRunner(config, config, false, 42);
+        runner.run();
+        assertEquals(8, runner.getBestFound().getObjectiveValue(), .0001);
+    }
+
+    @Test
+    public void testEvaluationAccounting() {
+        //The ladder stops on the maximum number of evaluations of the parent, counting the evaluations of all rungs.
+        JobConfiguration config = getConfig(2, 5000, false);
+        DynamicJobRunner parent = new DynamicJobRunner(config, false, 42);
+        final long[] rungEvaluations = new long[1];
+        PopulationSizeLadder ladder = new PopulationSizeLadder(parent, config, 4, 2, (rungConfig, seed) -> {
+            return new SequentialJobRunner(rungConfig, false, seed){
+                @Override
+                public void runGeneration(){
+                    long before = jobState.getNumberOfEvaluations();
+                    super.runGeneration();
+                    synchronized(rungEvaluations){
+                        rungEvaluations[0] += jobState.getNumberOfEvaluations() - before;
+                    }
+                }
+                
+                @Override
+                public void initializeRun(){
+                    super.initializeRun();
+                    synchronized(rungEvaluations){
+                        rungEvaluations[0] += jobState.getNumberOfEvaluations();
+                    }
+                }
+            };
+        });
+        ladder.run();
+        assertTrue(parent.getJobState().getNumberOfEvaluations() >= 5000);
+        assertEquals(rungEvaluations[0], parent.getJobState().getNumberOfEvaluations());
+        assertTrue(ladder.getLargestConfig().GENETIC_CONFIG.POPULATION_SIZE >= 16);
+    }
+}
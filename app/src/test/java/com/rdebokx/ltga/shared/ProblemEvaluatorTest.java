@@ -1,6 +1,10 @@
 package com.rdebokx.ltga.shared;
 
 import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
 import com.rdebokx.ltga.config.problems.MaxCutConfiguration;
 import com.rdebokx.ltga.config.problems.InstancesConfiguration;
 import com.rdebokx.ltga.config.problems.ProblemConfiguration;
@@ -143,7 +147,7 @@ public class ProblemEvaluatorTest {
     }
     
     private void test4Tight(double score, boolean[] solution, JobState jobState){
-        int evalNum = jobState.getNumberOfEvaluations();
+        long evalNum = jobState.getNumberOfEvaluations();
         double result = ProblemEvaluator.installedProblemEvaluation(new ProblemConfiguration(Problem.DECEPTIVE_TRAP_4_TIGHT_ENCODING), solution, jobState);
         assertEquals(score, result, .0001);
         assertEquals(evalNum + 1, jobState.getNumberOfEvaluations());
@@ -211,7 +215,7 @@ public class ProblemEvaluatorTest {
     }
     
     private void test5Loose(double score, boolean[] solution, JobState jobState){
-        int evalNum = jobState.getNumberOfEvaluations();
+        long evalNum = jobState.getNumberOfEvaluations();
         double result = ProblemEvaluator.installedProblemEvaluation(new ProblemConfiguration(Problem.DECEPTIVE_TRAP_5_LOOSE_ENCODING), solution, jobState);
         assertEquals(score, result, .0001);
         assertEquals(evalNum + 1, jobState.getNumberOfEvaluations());
@@ -415,4 +419,153 @@ public class ProblemEvaluatorTest {
     	assertEquals(9+5, ProblemEvaluator.installedProblemEvaluation(problemConfig, Solution.parseSolution("111000"), js), .00001);
     	assertEquals(6+5+9, ProblemEvaluator.installedProblemEvaluation(problemConfig, Solution.parseSolution("010100"), js), .00001);
     }
+    
+    @Test
+    public void testDeltaEvaluation(){
+        Problem[] problems = {Problem.ONEMAX, Problem.DECEPTIVE_TRAP_4_TIGHT_ENCODING, Problem.DECEPTIVE_TRAP_4_LOOSE_ENCODING,
+            Problem.DECEPTIVE_TRAP_5_TIGHT_ENCODING, Problem.DECEPTIVE_TRAP_5_LOOSE_ENCODING};
+        Random random = new Random(42);
+        int numberOfParameters = 100;
+        
+        for(Problem problem : problems){
+            ProblemConfiguration problemConfig = new ProblemConfiguration(problem);
+            JobState js = new JobState();
+            long[] base = new long[BitString.numberOfWords(numberOfParameters)];
+            for(int i = 0; i < numberOfParameters; i++){
+                BitString.set(base, i, random.nextBoolean());
+            }
+            double baseObjective = ProblemEvaluator.installedProblemEvaluation(problemConfig, base, numberOfParameters, js);
+            
+            for(int t = 0; t < 50; t++){
+                int[] changed = new int[1 + random.nextInt(8)];
+                int[] order = new Randomizer(random).getRandomOrder(numberOfParameters);
+                long[] solution = base.clone();
+                for(int c = 0; c < changed.length; c++){
+                    changed[c] = order[c];
+                    BitString.set(solution, changed[c], random.nextBoolean());
+                }
+                
+                double delta = ProblemEvaluator.installedProblemEvaluation(problemConfig, solution, numberOfParameters, base, baseObjective, changed, 0, changed.length, js);
+                double full = ProblemEvaluator.installedProblemEvaluation(problemConfig, solution, numberOfParameters, js);
+                assertEquals(full, delta, 0);
+                
+                base = solution;
+                baseObjective = delta;
+            }
+            assertEquals(101, js.getNumberOfEvaluations());
+        }
+    }
+    
+    @Test
+    public void testCompiledUniformEvaluation(){
+        Random random = new Random(42);
+        int numberOfParameters = 30;
+        int k = 4;
+        UniformEvaluationFunction[] functions = new UniformEvaluationFunction[numberOfParameters];
+        for(int f = 0; f < numberOfParameters; f++){
+            int[] params = new int[k];
+            for(int i = 0; i < k; i++){
+                params[i] = (f + i) % numberOfParameters;
+            }
+            double[] table = new double[1 << k];
+            for(int i = 0; i < table.length; i++){
+                table[i] = random.nextDouble();
+            }
+            functions[f] = new UniformEvaluationFunction(params, table);
+        }
+        CompiledUniformEvaluationFunction compiled = new CompiledUniformEvaluationFunction(functions);
+        
+        //A delta evaluation is identical to a full evaluation, unless both are worse than the base solution.
+        long[] base = new long[BitString.numberOfWords(numberOfParameters)];
+        double baseObjective = compiled.evaluate(base, numberOfParameters);
+        int worse = 0;
+        for(int t = 0; t < 10000; t++){
+            long[] solution = base.clone();
+            int[] changed = new int[]{random.nextInt(numberOfParameters)};
+            BitString.flip(solution, changed[0]);
+            
+            double expected = 0;
+            for(UniformEvaluationFunction function : functions){
+                expected += function.evaluate(BitString.unpack(solution, numberOfParameters));
+            }
+            assertEquals(expected, compiled.evaluate(solution, numberOfParameters), 0);
+            assertEquals(expected, compiled.evaluate(BitString.unpack(solution, numberOfParameters)), 0);
+            
+            double delta = compiled.evaluateDelta(solution, numberOfParameters, base, baseObjective, changed, 0, 1);
+            if(expected < baseObjective){
+                assertTrue(delta < baseObjective);
+                worse++;
+            } else {
+                assertEquals(expected, delta, 0);
+            }
+            base = solution;
+            baseObjective = expected;
+        }
+        assertTrue(worse > 0 && worse < 10000);
+    }
+    
+    @Test
+    public void testMaxCutDeltaEvaluation(){
+        Random random = new Random(42);
+        int numberOfVertices = 100;
+        int numberOfEdges = 300;
+        int[] sources = new int[numberOfEdges];
+        int[] targets = new int[numberOfEdges];
+        int[] edgeWeights = new int[numberOfEdges];
+        int[][] weights = new int[numberOfVertices][numberOfVertices];
+        for(int e = 0; e < numberOfEdges; e++){
+            do{
+                sources[e] = random.nextInt(numberOfVertices);
+                targets[e] = random.nextInt(numberOfVertices);
+            } while(sources[e] == targets[e] || weights[sources[e]][targets[e]] != 0);
+            edgeWeights[e] = 1 + random.nextInt(10);
+            weights[sources[e]][targets[e]] = weights[targets[e]][sources[e]] = edgeWeights[e];
+        }
+        MaxCutEvaluationFunction sparse = new MaxCutEvaluationFunction(numberOfVertices, sources, targets, edgeWeights, numberOfEdges);
+        MaxCutEvaluationFunction dense = new MaxCutEvaluationFunction(numberOfVertices, weights);
+        int[][] sparseWeights = sparse.getWeights();
+        for(int i = 0; i < numberOfVertices; i++){
+            assertArrayEquals(weights[i], sparseWeights[i]);
+        }
+        assertEquals(weights[sources[0]][targets[0]], sparse.getWeight(targets[0], sources[0]));
+        
+        long[] base = new long[BitString.numberOfWords(numberOfVertices)];
+        double baseObjective = sparse.evaluate(base, numberOfVertices);
+        assertEquals(0, baseObjective, 0);
+        for(int t = 0; t < 50; t++){
+            int[] changed = new int[1 + random.nextInt(8)];
+            int[] order = new Randomizer(random).getRandomOrder(numberOfVertices);
+            long[] solution = base.clone();
+            for(int c = 0; c < changed.length; c++){
+                changed[c] = order[c];
+                BitString.set(solution, changed[c], random.nextBoolean());
+            }
+            
+            double expected = dense.evaluate(BitString.unpack(solution, numberOfVertices));
+            assertEquals(expected, sparse.evaluate(solution, numberOfVertices), 0);
+            double delta = sparse.evaluateDelta(solution, numberOfVertices, base, baseObjective, changed, 0, changed.length);
+            assertEquals(expected, delta, 0);
+            base = solution;
+            baseObjective = delta;
+        }
+    }
+    
+    @Test
+    public void testInteractingParameters(){
+        final int numberOfVertices = 6;
+        final int[][] weights = new int[numberOfVertices][numberOfVertices];
+        weights[0][1] = weights[1][0] = 6;
+        weights[0][2] = weights[2][0] = 2;
+        weights[2][3] = weights[3][2] = 9;
+        MaxCutEvaluationFunction weightsFunction = new MaxCutEvaluationFunction(numberOfVertices, weights);
+        int[] neighbors = weightsFunction.getInteractingParameters(0, numberOfVertices);
+        Arrays.sort(neighbors);
+        assertArrayEquals(new int[]{1, 2}, neighbors);
+        assertArrayEquals(new int[]{}, weightsFunction.getInteractingParameters(4, numberOfVertices));
+        
+        assertArrayEquals(new int[]{5, 6, 8, 9}, new DeceptiveTrapEvaluationFunction(5, true).getInteractingParameters(7, 15));
+        assertArrayEquals(new int[]{1, 4, 10, 13}, new DeceptiveTrapEvaluationFunction(5, false).getInteractingParameters(7, 15));
+        assertArrayEquals(new int[]{}, new DeceptiveTrapEvaluationFunction(5, true).getInteractingParameters(7, 16));
+        assertArrayEquals(new int[]{}, new OneMaxEvaluationFunction().getInteractingParameters(7, 15));
+    }
 }
@@ -0,0 +1,80 @@
+package com.rdebokx.ltga.shared;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class RandomizerTest {
+
+    @Test
+    public void testFillRandomBits() {
+        Randomizer randomizer = new Randomizer(42);
+        int numberOfParameters = 150;
+        long[] words = new long[BitString.numberOfWords(numberOfParameters)];
+        Arrays.fill(words, -1L);
+        randomizer.fillRandomBits(words, numberOfParameters);
+
+        //Bits beyond the amount of parameters have to be cleared.
+        assertEquals(0, words[2] >>> (numberOfParameters % BitString.WORD_SIZE));
+        int ones = BitString.cardinality(words);
+        assertTrue(ones > 40 && ones < 110);
+
+        //The same seed gives the same bits.
+        long[] other = new long[words.length];
+        new Randomizer(42).fillRandomBits(other, numberOfParameters);
+        assertTrue(Arrays.equals(words, other));
+    }
+
+    @Test
+    public void testFillRandomBitsFallback() {
+        NotRandom generator = new NotRandom();
+        boolean[] sequence = {true, false, false, true, true};
+        generator.setSequence(sequence);
+        Randomizer randomizer = new Randomizer(generator);
+
+        long[] words = new long[1];
+        randomizer.fillRandomBits(words, sequence.length);
+        assertTrue(Arrays.equals(sequence, BitString.unpack(words, sequence.length)));
+    }
+
+    @Test
+    public void testNextInt() {
+        Xoshiro256StarStar generator = new Xoshiro256StarStar(7);
+        int[] counts = new int[5];
+        for(int i = 0; i < 50000; i++){
+            counts[generator.nextInt(5)]++;
+        }
+        for(int count : counts){
+            assertEquals(10000, count, 500);
+        }
+
+        int[] order = new Randomizer(7).getRandomOrder(100);
+        Arrays.sort(order);
+        for(int i = 0; i < order.length; i++){
+            assertEquals(i, order[i]);
+        }
+    }
+
+    @Test
+    public void testReseed() {
+        //A re-keyed Randomizer draws the same numbers as the split off Randomizer, regardless of what it drew before.
+        Randomizer parent = new Randomizer(42);
+        Randomizer stream = new Randomizer(0);
+        for(long generation = 0; generation < 3; generation++){
+            for(long index = 0; index < 5; index++){
+                Randomizer expected = parent.split(generation, index);
+                assertTrue(stream.reseed(parent, generation, index) == stream);
+                for(int i = 0; i < 10; i++){
+                    assertEquals(expected.generator.nextLong(), stream.generator.nextLong());
+                }
+            }
+        }
+
+        //A Randomizer that can not be split only hands out itself.
+        Randomizer unsplittable = new Randomizer(new NotRandom());
+        assertTrue(stream.reseed(unsplittable, 1, 1) == unsplittable);
+    }
+}
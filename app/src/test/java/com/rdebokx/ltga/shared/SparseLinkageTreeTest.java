@@ -0,0 +1,114 @@
+package com.rdebokx.ltga.shared;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import com.rdebokx.ltga.config.ExecutionConfiguration;
+import com.rdebokx.ltga.config.LearningConfiguration;
+import com.rdebokx.ltga.config.LearningConfiguration.DriftMeasure;
+import com.rdebokx.ltga.config.LearningConfiguration.LinkageStatistics;
+import com.rdebokx.ltga.sequential.LinkageTree;
+import com.rdebokx.ltga.sequential.Population;
+
+import org.junit.Test;
+
+public class SparseLinkageTreeTest {
+
+    @Test
+    public void testAllPairs() {
+        //If all pairs fit in the amount of partners, the tree equals the Linkage Tree, as long as there are no ties.
+        final int numberOfParameters = 30;
+        Random random = new Random(3);
+        int[] sources = new int[numberOfParameters];
+        double[] strengths = new double[numberOfParameters];
+        for(int i = 1; i < numberOfParameters; i++){
+            sources[i] = random.nextInt(i);
+            strengths[i] = random.nextDouble();
+        }
+        boolean[][] pop = new boolean[3000][numberOfParameters];
+        for(boolean[] solution : pop){
+            for(int i = 0; i < numberOfParameters; i++){
+                solution[i] = random.nextDouble() < strengths[i] ? solution[sources[i]] : random.nextDouble() < .3 + .4 * strengths[(i + 7) % numberOfParameters];
+            }
+        }
+        Population population = new Population(pop, new double[]{}, new double[]{}, new JobState());
+        ExecutionConfiguration execConfig = new ExecutionConfiguration(1, -1, -1, false, numberOfParameters, -1);
+
+        LearningModel expected = new LinkageTree(population, new Randomizer(1), execConfig);
+        LearningModel tree = new SparseLinkageTree(population, null, new Randomizer(1), execConfig, getLearningConfig(numberOfParameters));
+        assertEquals(getSets(expected), getSets(tree));
+        assertEquals(expected.size(), tree.size());
+    }
+
+    @Test
+    public void testBlocks() {
+        //Every block of 5 parameters is either all ones or biased towards zeros, such that the parameters of a block are dependent.
+        final int numberOfParameters = 1000;
+        Random random = new Random(42);
+        boolean[][] pop = new boolean[300][numberOfParameters];
+        for(boolean[] solution : pop){
+            for(int block = 0; block < numberOfParameters / 5; block++){
+                boolean ones = random.nextDouble() < .3;
+                for(int i = 5 * block; i < 5 * block + 5; i++){
+                    solution[i] = ones || random.nextDouble() < .35;
+                }
+            }
+        }
+        Population population = new Population(pop, new double[]{}, new double[]{}, new JobState());
+        ExecutionConfiguration execConfig = new ExecutionConfiguration(1, -1, -1, false, numberOfParameters, -1);
+
+        for(EvaluationFunction problemHints : new EvaluationFunction[]{null, new DeceptiveTrapEvaluationFunction(5, true)}){
+            LearningModel tree = new SparseLinkageTree(population, problemHints, new Randomizer(1), execConfig, getLearningConfig(4));
+
+            //All singletons and all merged sets except for the full set.
+            assertEquals(2 * numberOfParameters - 2, tree.size());
+            HashSet<String> sets = getSets(tree);
+            for(int block = 0; block < numberOfParameters / 5; block++){
+                assertTrue(sets.contains(Arrays.toString(new int[]{5 * block, 5 * block + 1, 5 * block + 2, 5 * block + 3, 5 * block + 4})));
+            }
+        }
+    }
+
+    @Test
+    public void testConverged() {
+        //A converged population has no dependent parameters, such that all sets are merged in a random order.
+        final int numberOfParameters = 50;
+        Population population = new Population(new boolean[20][numberOfParameters], new double[]{}, new double[]{}, new JobState());
+        ExecutionConfiguration execConfig = new ExecutionConfiguration(1, -1, -1, false, numberOfParameters, -1);
+        LearningModel tree = new SparseLinkageTree(population, null, new Randomizer(1), execConfig, getLearningConfig(4));
+
+        //All singletons and all merged sets except for the full set, of which the two largest sets cover all parameters.
+        assertEquals(2 * numberOfParameters - 2, tree.size());
+        assertEquals(numberOfParameters, tree.get(tree.size() - 1).size() + tree.get(tree.size() - 2).size());
+        for(int i = 0; i < tree.size(); i++){
+            assertTrue(tree.get(i).size() < numberOfParameters);
+        }
+    }
+
+    /**
+     * @param partners The amount of partners per parameter.
+     * @return A LearningConfiguration that learns a SparseLinkageTree with the given amount of partners.
+     */
+    private static LearningConfiguration getLearningConfig(int partners){
+        return new LearningConfiguration(MIMatrix.Storage.FULL, LinkageStatistics.REBUILD, DriftMeasure.UNIVARIATE_FREQUENCY,
+                LearningConfiguration.NO_REUSE, 1, LearningConfiguration.NO_SAMPLING, partners);
+    }
+
+    /**
+     * @param model The learning model.
+     * @return The sorted parameters of every set of the given model.
+     */
+    private static HashSet<String> getSets(LearningModel model){
+        HashSet<String> result = new HashSet<String>();
+        for(int i = 0; i < model.size(); i++){
+            int[] parameters = model.get(i).getParameters().clone();
+            Arrays.sort(parameters);
+            result.add(Arrays.toString(parameters));
+        }
+        return result;
+    }
+}